@@ -0,0 +1,41 @@
+-- Statements are designed for and tested with Postgres only!
+
+CREATE TABLE IF NOT EXISTS edc_ionos_transfer_object
+(
+    process_id  VARCHAR NOT NULL,
+    object_name VARCHAR NOT NULL,
+    updated_at  BIGINT  NOT NULL,
+    PRIMARY KEY (process_id, object_name)
+);
+
+COMMENT ON TABLE edc_ionos_transfer_object IS 'objects transferred by the data flows not completed yet';
+
+CREATE TABLE IF NOT EXISTS edc_ionos_transfer_upload
+(
+    process_id  VARCHAR NOT NULL,
+    object_name VARCHAR NOT NULL,
+    upload_id   VARCHAR NOT NULL,
+    part_size   BIGINT  NOT NULL,
+    source_etag VARCHAR NOT NULL,
+    source_size BIGINT  NOT NULL,
+    updated_at  BIGINT  NOT NULL,
+    PRIMARY KEY (process_id, object_name)
+);
+
+COMMENT ON TABLE edc_ionos_transfer_upload IS 'multipart uploads of the objects being transferred';
+
+CREATE TABLE IF NOT EXISTS edc_ionos_transfer_part
+(
+    process_id  VARCHAR NOT NULL,
+    object_name VARCHAR NOT NULL,
+    part_number INTEGER NOT NULL,
+    etag        VARCHAR NOT NULL,
+    updated_at  BIGINT  NOT NULL,
+    PRIMARY KEY (process_id, object_name, part_number),
+    CONSTRAINT transfer_part_upload_fk
+        FOREIGN KEY (process_id, object_name)
+            REFERENCES edc_ionos_transfer_upload
+            ON DELETE CASCADE
+);
+
+COMMENT ON TABLE edc_ionos_transfer_part IS 'parts uploaded by the multipart uploads';
@@ -0,0 +1,81 @@
+plugins {
+	`java-library`
+	`maven-publish`
+}
+
+val edcGroup: String by project
+val edcVersion: String by project
+val metaModelVersion: String by project
+val extensionsGroup: String by project
+val extensionsVersion: String by project
+val junitVersion: String by project
+val mockitoVersion: String by project
+val postgresVersion: String by project
+
+val gitHubPkgsName: String by project
+val gitHubPkgsUrl: String by project
+val gitHubUser: String? by project
+val gitHubToken: String? by project
+
+dependencies {
+	api("${edcGroup}:runtime-metamodel:${metaModelVersion}")
+
+	implementation("${edcGroup}:sql-core:${edcVersion}")
+	implementation("${edcGroup}:transaction-spi:${edcVersion}")
+	implementation("${edcGroup}:transaction-datasource-spi:${edcVersion}")
+
+	implementation(project(":extensions:core-ionos-s3"))
+	implementation(project(":extensions:data-plane-ionos-s3"))
+
+	testImplementation("${edcGroup}:junit:${edcVersion}")
+	testImplementation("${edcGroup}:sql-test-fixtures:${edcVersion}")
+	testImplementation("org.postgresql:postgresql:${postgresVersion}")
+	testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
+	testImplementation("org.junit.jupiter:junit-jupiter-engine:${junitVersion}")
+	testImplementation("org.mockito:mockito-core:${mockitoVersion}")
+}
+
+java {
+	withJavadocJar()
+	withSourcesJar()
+}
+
+tasks.test {
+	useJUnitPlatform {
+		// The store tests need a PostgreSQL database on localhost:5432, run them with -DincludeTags=PostgresqlIntegrationTest
+		val includeTags = System.getProperty("includeTags")
+		if (includeTags != null) {
+			includeTags(includeTags)
+		} else {
+			excludeTags("PostgresqlIntegrationTest")
+		}
+	}
+}
+
+publishing {
+	publications {
+		create<MavenPublication>("maven") {
+			groupId = extensionsGroup
+			artifactId = "checkpoint-store-sql-ionos-s3"
+			version = extensionsVersion
+
+			from(components["java"])
+
+			pom {
+				name.set("checkpoint-store-sql-ionos-s3")
+				description.set("Extension persisting the checkpoints of the transfers to IONOS Cloud S3 storages in a SQL database")
+			}
+		}
+	}
+	repositories {
+		maven {
+			name = gitHubPkgsName
+			url = uri("https://maven.pkg.github.com/${project.properties["github_owner"]}/${project.properties["github_repo"]}")
+                
+			credentials {
+				username = gitHubUser
+				password = gitHubToken
+			}
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import com.ionos.edc.extension.s3.connector.UploadCheckpoint;
+import org.eclipse.edc.spi.persistence.EdcPersistenceException;
+import org.eclipse.edc.sql.QueryExecutor;
+import org.eclipse.edc.sql.store.AbstractSqlStore;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the checkpoints in the tables created by the {@code ionos-transfer-checkpoint-store/schema.sql} script, so
+ * data flows are resumed by any data plane sharing the database, also after a restart.
+ * <p>
+ * Only PostgreSQL is supported, the statements use {@code ON CONFLICT}. The tests of this store need a PostgreSQL
+ * database on {@code localhost:5432} and are only run with {@code -DincludeTags=PostgresqlIntegrationTest}.
+ */
+public class SqlTransferCheckpointStore extends AbstractSqlStore implements TransferCheckpointStore {
+
+    private static final String OBJECT_TABLE = "edc_ionos_transfer_object";
+    private static final String UPLOAD_TABLE = "edc_ionos_transfer_upload";
+    private static final String PART_TABLE = "edc_ionos_transfer_part";
+
+    private static final String SELECT_OBJECTS = "SELECT object_name FROM " + OBJECT_TABLE + " WHERE process_id = ?";
+    private static final String INSERT_OBJECT = "INSERT INTO " + OBJECT_TABLE + " (process_id, object_name, updated_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+    private static final String DELETE_OBJECTS = "DELETE FROM " + OBJECT_TABLE + " WHERE process_id = ?";
+    private static final String SELECT_UPLOAD = "SELECT upload_id, part_size, source_etag, source_size FROM " + UPLOAD_TABLE +
+            " WHERE process_id = ? AND object_name = ?";
+    private static final String INSERT_UPLOAD = "INSERT INTO " + UPLOAD_TABLE +
+            " (process_id, object_name, upload_id, part_size, source_etag, source_size, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // The parts are deleted with their upload
+    private static final String DELETE_UPLOAD = "DELETE FROM " + UPLOAD_TABLE + " WHERE process_id = ? AND object_name = ?";
+    private static final String DELETE_UPLOADS = "DELETE FROM " + UPLOAD_TABLE + " WHERE process_id = ?";
+    private static final String SELECT_UPLOADS = "SELECT object_name, upload_id FROM " + UPLOAD_TABLE + " WHERE process_id = ?";
+    private static final String SELECT_PARTS = "SELECT part_number, etag FROM " + PART_TABLE + " WHERE process_id = ? AND object_name = ?";
+    private static final String UPSERT_PART = "INSERT INTO " + PART_TABLE + " (process_id, object_name, part_number, etag, updated_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (process_id, object_name, part_number) DO UPDATE SET etag = EXCLUDED.etag, updated_at = EXCLUDED.updated_at";
+    // Data flows whose rows were all updated before the given time
+    private static final String SELECT_EXPIRED_PROCESSES = "SELECT process_id FROM (" +
+            "SELECT process_id, updated_at FROM " + OBJECT_TABLE + " UNION ALL " +
+            "SELECT process_id, updated_at FROM " + UPLOAD_TABLE + " UNION ALL " +
+            "SELECT process_id, updated_at FROM " + PART_TABLE +
+            ") AS checkpoint GROUP BY process_id HAVING MAX(updated_at) < ?";
+
+    private record StartedUpload(String uploadId, long partSize, String sourceEtag, long sourceSize) {}
+
+    private record UploadedPart(int partNumber, String etag) {}
+
+    private final Clock clock;
+
+    public SqlTransferCheckpointStore(DataSourceRegistry dataSourceRegistry, String dataSourceName, TransactionContext transactionContext,
+                                      ObjectMapper objectMapper, QueryExecutor queryExecutor, Clock clock) {
+        super(dataSourceRegistry, dataSourceName, transactionContext, objectMapper, queryExecutor);
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public Set<String> completedObjects(String processId) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection();
+                 var objectNames = queryExecutor.query(connection, false, resultSet -> resultSet.getString("object_name"), SELECT_OBJECTS, processId)) {
+                return objectNames.collect(Collectors.toSet());
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public void objectCompleted(String processId, String objectName) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                queryExecutor.execute(connection, INSERT_OBJECT, processId, objectName, clock.millis());
+                queryExecutor.execute(connection, DELETE_UPLOAD, processId, objectName);
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public UploadCheckpoint.Upload findUpload(String processId, String objectName) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                var upload = queryExecutor.single(connection, false,
+                        resultSet -> new StartedUpload(resultSet.getString("upload_id"), resultSet.getLong("part_size"),
+                                resultSet.getString("source_etag"), resultSet.getLong("source_size")),
+                        SELECT_UPLOAD, processId, objectName);
+                if (upload == null) {
+                    return null;
+                }
+                try (var parts = queryExecutor.query(connection, false,
+                        resultSet -> new UploadedPart(resultSet.getInt("part_number"), resultSet.getString("etag")),
+                        SELECT_PARTS, processId, objectName)) {
+                    Map<Integer, String> etags = parts.collect(Collectors.toMap(UploadedPart::partNumber, UploadedPart::etag));
+                    return new UploadCheckpoint.Upload(upload.uploadId(), upload.partSize(), upload.sourceEtag(), upload.sourceSize(), etags);
+                }
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public void uploadStarted(String processId, String objectName, String uploadId, long partSize, String sourceEtag, long sourceSize) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                queryExecutor.execute(connection, DELETE_UPLOAD, processId, objectName);
+                queryExecutor.execute(connection, INSERT_UPLOAD, processId, objectName, uploadId, partSize, sourceEtag, sourceSize, clock.millis());
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    /**
+     * Fails on the foreign key when the upload is not recorded.
+     */
+    @Override
+    public void partUploaded(String processId, String objectName, int partNumber, String etag) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                queryExecutor.execute(connection, UPSERT_PART, processId, objectName, partNumber, etag, clock.millis());
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public void deleteUpload(String processId, String objectName) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                queryExecutor.execute(connection, DELETE_UPLOAD, processId, objectName);
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public void delete(String processId) {
+        transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                queryExecutor.execute(connection, DELETE_UPLOADS, processId);
+                queryExecutor.execute(connection, DELETE_OBJECTS, processId);
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+
+    @Override
+    public List<ExpiredUpload> deleteExpired(long before) {
+        return transactionContext.execute(() -> {
+            try (var connection = getConnection()) {
+                List<String> processIds;
+                try (var expired = queryExecutor.query(connection, false, resultSet -> resultSet.getString("process_id"), SELECT_EXPIRED_PROCESSES, before)) {
+                    processIds = expired.collect(Collectors.toList());
+                }
+
+                var expiredUploads = new ArrayList<ExpiredUpload>();
+                for (var processId : processIds) {
+                    try (var uploads = queryExecutor.query(connection, false,
+                            resultSet -> new ExpiredUpload(processId, resultSet.getString("object_name"), resultSet.getString("upload_id")),
+                            SELECT_UPLOADS, processId)) {
+                        uploads.forEach(expiredUploads::add);
+                    }
+                    queryExecutor.execute(connection, DELETE_UPLOADS, processId);
+                    queryExecutor.execute(connection, DELETE_OBJECTS, processId);
+                }
+                return expiredUploads;
+            } catch (SQLException e) {
+                throw new EdcPersistenceException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint.sql;
+
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.spi.system.ServiceExtension;
+import org.eclipse.edc.spi.system.ServiceExtensionContext;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.sql.QueryExecutor;
+import org.eclipse.edc.transaction.datasource.spi.DataSourceRegistry;
+import org.eclipse.edc.transaction.spi.TransactionContext;
+
+import java.time.Clock;
+
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_DATASOURCE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_DATASOURCE_DEFAULT;
+
+@Provides(TransferCheckpointStore.class)
+@Extension(value = SqlTransferCheckpointStoreExtension.NAME)
+public class SqlTransferCheckpointStoreExtension implements ServiceExtension {
+
+    public static final String NAME = "SQL Ionos S3 Transfer Checkpoint Store";
+
+    @Inject
+    private DataSourceRegistry dataSourceRegistry;
+
+    @Inject
+    private TransactionContext transactionContext;
+
+    @Inject
+    private QueryExecutor queryExecutor;
+
+    @Inject
+    private TypeManager typeManager;
+
+    @Inject
+    private Clock clock;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize(ServiceExtensionContext context) {
+        var dataSourceName = context.getSetting(IONOS_CHECKPOINT_DATASOURCE, IONOS_CHECKPOINT_DATASOURCE_DEFAULT);
+        var store = new SqlTransferCheckpointStore(dataSourceRegistry, dataSourceName, transactionContext, typeManager.getMapper(), queryExecutor, clock);
+        context.registerService(TransferCheckpointStore.class, store);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ionos.edc.dataplane.ionos.s3.checkpoint.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import org.eclipse.edc.junit.annotations.PostgresqlIntegrationTest;
+import org.eclipse.edc.spi.persistence.EdcPersistenceException;
+import org.eclipse.edc.sql.SqlQueryExecutor;
+import org.eclipse.edc.sql.testfixtures.PostgresqlStoreSetupExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@PostgresqlIntegrationTest
+@ExtendWith(PostgresqlStoreSetupExtension.class)
+public class SqlTransferCheckpointStoreTest {
+
+    private static final String SCHEMA = "../../deployment/terraform/db-scripts/ionos-transfer-checkpoint-store/schema.sql";
+
+    private final Clock clock = mock(Clock.class);
+    private SqlTransferCheckpointStore store;
+
+    @BeforeEach
+    public void setup(PostgresqlStoreSetupExtension extension) throws IOException {
+        when(clock.millis()).thenReturn(1000L);
+        store = new SqlTransferCheckpointStore(extension.getDataSourceRegistry(), extension.getDatasourceName(),
+                extension.getTransactionContext(), new ObjectMapper(), new SqlQueryExecutor(), clock);
+        extension.runQuery(Files.readString(Paths.get(SCHEMA)));
+    }
+
+    @AfterEach
+    public void tearDown(PostgresqlStoreSetupExtension extension) {
+        extension.runQuery("DROP TABLE edc_ionos_transfer_part, edc_ionos_transfer_upload, edc_ionos_transfer_object CASCADE");
+    }
+
+    @Test
+    public void findUpload_returnsUploadedParts() {
+        assertNull(store.findUpload("process", "object"));
+
+        store.uploadStarted("process", "object", "upload", 100, "source-etag", 1000);
+        store.partUploaded("process", "object", 2, "etag2");
+        store.partUploaded("process", "object", 1, "etag1");
+        // Uploaded again
+        store.partUploaded("process", "object", 1, "etag1b");
+
+        var upload = store.findUpload("process", "object");
+        assertEquals("upload", upload.uploadId());
+        assertEquals(100, upload.partSize());
+        assertEquals("source-etag", upload.sourceEtag());
+        assertEquals(1000, upload.sourceSize());
+        assertEquals(Map.of(1, "etag1b", 2, "etag2"), upload.parts());
+    }
+
+    @Test
+    public void uploadStarted_replacesPreviousUpload() {
+        store.uploadStarted("process", "object", "upload1", 100, "source-etag", 1000);
+        store.partUploaded("process", "object", 1, "etag1");
+
+        store.uploadStarted("process", "object", "upload2", 200, "source-etag2", 2000);
+
+        var upload = store.findUpload("process", "object");
+        assertEquals("upload2", upload.uploadId());
+        assertTrue(upload.parts().isEmpty());
+    }
+
+    @Test
+    public void partUploaded_uploadDeleted_fails() {
+        store.uploadStarted("process", "object", "upload", 100, "source-etag", 1000);
+        store.deleteUpload("process", "object");
+
+        assertThrows(EdcPersistenceException.class, () -> store.partUploaded("process", "object", 1, "etag1"));
+        assertNull(store.findUpload("process", "object"));
+    }
+
+    @Test
+    public void objectCompleted_dropsUpload() {
+        store.uploadStarted("process", "object", "upload", 100, "source-etag", 1000);
+        store.partUploaded("process", "object", 1, "etag1");
+        store.objectCompleted("process", "object");
+        // Completed again by a restarted data flow
+        store.objectCompleted("process", "object");
+        store.objectCompleted("other", "object2");
+
+        assertNull(store.findUpload("process", "object"));
+        assertEquals(Set.of("object"), store.completedObjects("process"));
+
+        store.delete("process");
+        assertTrue(store.completedObjects("process").isEmpty());
+        assertEquals(Set.of("object2"), store.completedObjects("other"));
+    }
+
+    @Test
+    public void deleteExpired_deletesCheckpointsWithoutProgress() {
+        store.uploadStarted("process1", "object", "upload1", 100, "source-etag", 1000);
+        store.objectCompleted("process2", "object1");
+        store.uploadStarted("process3", "object", "upload3", 100, "source-etag", 1000);
+
+        when(clock.millis()).thenReturn(5000L);
+        store.objectCompleted("process2", "object2");
+        store.partUploaded("process3", "object", 1, "etag1");
+
+        var expiredUploads = store.deleteExpired(3000);
+
+        assertEquals(List.of(new TransferCheckpointStore.ExpiredUpload("process1", "object", "upload1")), expiredUploads);
+        assertNull(store.findUpload("process1", "object"));
+        assertEquals(Set.of("object1", "object2"), store.completedObjects("process2"));
+        assertEquals(Map.of(1, "etag1"), store.findUpload("process3", "object").parts());
+    }
+}
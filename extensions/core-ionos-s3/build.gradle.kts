@@ -7,9 +7,10 @@ val edcGroup: String by project
 val edcVersion: String by project
 val metaModelVersion: String by project
 val minIOVersion: String by project
-val commonsCollectionsVersion: String by project
 val extensionsGroup: String by project
 val extensionsVersion: String by project
+val junitVersion: String by project
+val mockitoVersion: String by project
 
 val gitHubPkgsName: String by project
 val gitHubPkgsUrl: String by project
@@ -23,7 +24,10 @@ dependencies {
 	implementation("${edcGroup}:validator-spi:${edcVersion}")
 
 	implementation("io.minio:minio:${minIOVersion}")
-	implementation("org.apache.commons:commons-collections4:${commonsCollectionsVersion}")
+
+	testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
+	testImplementation("org.junit.jupiter:junit-jupiter-engine:${junitVersion}")
+	testImplementation("org.mockito:mockito-core:${mockitoVersion}")
 }
 
 java {
@@ -31,6 +35,18 @@ java {
 	withSourcesJar()
 }
 
+tasks.test {
+	useJUnitPlatform()
+}
+
+tasks.register<JavaExec>("bufferPoolBenchmark") {
+	description = "Compares the allocations and garbage collections of the upload parts with and without the buffer pool"
+	classpath = sourceSets["test"].runtimeClasspath
+	mainClass.set("com.ionos.edc.extension.s3.connector.BufferPoolBenchmark")
+	jvmArgs("-Xmx512m", "-XX:+UseG1GC")
+	args = (project.findProperty("benchmarkArgs") as String?)?.split(" ") ?: emptyList()
+}
+
 publishing {
 	publications {
 		create<MavenPublication>("maven") {
@@ -14,28 +14,82 @@
 
 package com.ionos.edc.extension.s3;
 
+import com.ionos.edc.extension.s3.api.ApiCircuitBreaker;
+import com.ionos.edc.extension.s3.api.ApiRateLimiter;
+import com.ionos.edc.extension.s3.api.S3ApiClient;
+import com.ionos.edc.extension.s3.api.S3ApiMetrics;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.DiskStaging;
+import com.ionos.edc.extension.s3.connector.FileRegionSnapshotStore;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import com.ionos.edc.extension.s3.connector.MinioClientRegistry;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import com.ionos.edc.extension.s3.connector.S3ConnectorImpl;
+import com.ionos.edc.extension.s3.connector.VaultRegionSnapshotStore;
 import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
 import com.ionos.edc.extension.s3.validators.IonosDataAddressValidator;
 import com.ionos.edc.extension.s3.validators.IonosDataDestinationValidator;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.runtime.metamodel.annotation.Provides;
+import org.eclipse.edc.spi.monitor.Monitor;
 import org.eclipse.edc.spi.security.Vault;
 import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.validator.spi.DataAddressValidatorRegistry;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_ACCESS_KEY;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_BURST;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_BURST_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CIRCUIT_FAILURE_THRESHOLD;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CIRCUIT_FAILURE_THRESHOLD_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CIRCUIT_OPEN_DURATION;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CIRCUIT_OPEN_DURATION_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CONNECT_TIMEOUT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_CONNECT_TIMEOUT_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_KEEP_ALIVE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_KEEP_ALIVE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_MAX_IDLE_CONNECTIONS;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_MAX_IDLE_CONNECTIONS_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_RATE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_RATE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_READ_TIMEOUT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_API_READ_TIMEOUT_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_BUFFER_POOL_SIZE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_BUFFER_POOL_SIZE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_IDLE_TIMEOUT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_IDLE_TIMEOUT_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_KEEP_ALIVE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_KEEP_ALIVE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_MAX_IDLE_CONNECTIONS;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_MAX_IDLE_CONNECTIONS_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_MAX_REQUESTS_PER_HOST;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_MAX_REQUESTS_PER_HOST_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_WARM_CONNECTIONS;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CLIENT_WARM_CONNECTIONS_DEFAULT;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_MAX_FILES;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_MAX_FILES_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_MEMORY_BUDGET;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_REGION;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_REGION_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_REGION_SNAPSHOT_PATH;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_SECRET_KEY;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_STAGING_DIRECTORY;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_STAGING_ENABLED;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_STAGING_ENABLED_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_STAGING_THRESHOLD;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_STAGING_THRESHOLD_DEFAULT;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_TOKEN;
 
-@Provides(S3Connector.class)
+@Provides({ S3Connector.class, MinioClientRegistry.class, S3ApiClient.class, S3ApiMetrics.class, MemoryBudget.class, BufferPool.class, DiskStaging.class })
 @Extension(value = IonosS3CoreExtension.NAME)
 public class IonosS3CoreExtension implements ServiceExtension {
 
@@ -47,6 +101,13 @@ public class IonosS3CoreExtension implements ServiceExtension {
     @Inject
     private DataAddressValidatorRegistry dataAddressValidatorRegistry;
 
+    private Monitor contextMonitor;
+    private MinioClientRegistry clientRegistry;
+    private OkHttpClient apiHttpClient;
+    private S3ConnectorImpl s3Connector;
+    private String defaultRegion;
+    private int warmConnections;
+
     @Override
     public String name() {
         return NAME;
@@ -55,7 +116,7 @@ public class IonosS3CoreExtension implements ServiceExtension {
     @Override
     public void initialize(ServiceExtensionContext context) {
         var monitor = context.getMonitor();
-        var contextMonitor = monitor.withPrefix("IonosS3CoreExtension");
+        contextMonitor = monitor.withPrefix("IonosS3CoreExtension");
 
         contextMonitor.debug("Loading configurations");
 
@@ -74,11 +135,60 @@ public class IonosS3CoreExtension implements ServiceExtension {
 
         var maxFiles =  Integer.valueOf(context.getSetting(IONOS_MAX_FILES, IONOS_MAX_FILES_DEFAULT));
 
+        contextMonitor.debug("Initializing S3 client registry");
+        clientRegistry = new MinioClientRegistry(
+                context.getSetting(IONOS_CLIENT_MAX_IDLE_CONNECTIONS, IONOS_CLIENT_MAX_IDLE_CONNECTIONS_DEFAULT),
+                context.getSetting(IONOS_CLIENT_KEEP_ALIVE, IONOS_CLIENT_KEEP_ALIVE_DEFAULT),
+                context.getSetting(IONOS_CLIENT_MAX_REQUESTS_PER_HOST, IONOS_CLIENT_MAX_REQUESTS_PER_HOST_DEFAULT),
+                context.getSetting(IONOS_CLIENT_IDLE_TIMEOUT, IONOS_CLIENT_IDLE_TIMEOUT_DEFAULT));
+        context.registerService(MinioClientRegistry.class, clientRegistry);
+
+        // A quarter of the heap unless configured, the remaining heap is left to the runtime itself
+        var memoryBudget = new MemoryBudget(context.getSetting(IONOS_MEMORY_BUDGET, Runtime.getRuntime().maxMemory() / 4));
+        context.registerService(MemoryBudget.class, memoryBudget);
+        var bufferPool = new BufferPool(context.getSetting(IONOS_BUFFER_POOL_SIZE, IONOS_BUFFER_POOL_SIZE_DEFAULT));
+        context.registerService(BufferPool.class, bufferPool);
+        DiskStaging diskStaging = null;
+        if (context.getSetting(IONOS_STAGING_ENABLED, IONOS_STAGING_ENABLED_DEFAULT)) {
+            diskStaging = new DiskStaging(Path.of(context.getSetting(IONOS_STAGING_DIRECTORY, System.getProperty("java.io.tmpdir"))),
+                    context.getSetting(IONOS_STAGING_THRESHOLD, IONOS_STAGING_THRESHOLD_DEFAULT));
+            context.registerService(DiskStaging.class, diskStaging);
+        }
+
+        contextMonitor.debug("Initializing IONOS API client");
+        var apiMetrics = new S3ApiMetrics();
+        apiHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        context.getSetting(IONOS_API_MAX_IDLE_CONNECTIONS, IONOS_API_MAX_IDLE_CONNECTIONS_DEFAULT),
+                        context.getSetting(IONOS_API_KEEP_ALIVE, IONOS_API_KEEP_ALIVE_DEFAULT), TimeUnit.MILLISECONDS))
+                .connectTimeout(context.getSetting(IONOS_API_CONNECT_TIMEOUT, IONOS_API_CONNECT_TIMEOUT_DEFAULT), TimeUnit.MILLISECONDS)
+                .readTimeout(context.getSetting(IONOS_API_READ_TIMEOUT, IONOS_API_READ_TIMEOUT_DEFAULT), TimeUnit.MILLISECONDS)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .addInterceptor(new ApiCircuitBreaker(contextMonitor,
+                        context.getSetting(IONOS_API_CIRCUIT_FAILURE_THRESHOLD, IONOS_API_CIRCUIT_FAILURE_THRESHOLD_DEFAULT),
+                        context.getSetting(IONOS_API_CIRCUIT_OPEN_DURATION, IONOS_API_CIRCUIT_OPEN_DURATION_DEFAULT),
+                        Clock.systemUTC()))
+                .addInterceptor(new ApiRateLimiter(
+                        context.getSetting(IONOS_API_RATE, IONOS_API_RATE_DEFAULT),
+                        context.getSetting(IONOS_API_BURST, IONOS_API_BURST_DEFAULT)))
+                .addInterceptor(apiMetrics)
+                .build();
+        var apiClient = new S3ApiClient(apiHttpClient);
+        context.registerService(S3ApiMetrics.class, apiMetrics);
+        context.registerService(S3ApiClient.class, apiClient);
+
         if (accessKey == null || secretKey == null || token == null) {
             contextMonitor.warning("IONOS token and S3 key are not set, disabling IONOS S3 Connector");
         } else {
             contextMonitor.debug("Initializing S3 Connector");
-            var s3Connector = new S3ConnectorImpl(region, accessKey, secretKey, token, maxFiles);
+            var snapshotPath = context.getSetting(IONOS_REGION_SNAPSHOT_PATH, null);
+            var regionSnapshotStore = (snapshotPath != null)
+                    ? new FileRegionSnapshotStore(Path.of(snapshotPath), monitor)
+                    : new VaultRegionSnapshotStore(vault, monitor);
+            s3Connector = new S3ConnectorImpl(region, accessKey, secretKey, token, maxFiles, clientRegistry, apiClient, regionSnapshotStore, memoryBudget,
+                    bufferPool, diskStaging);
+            defaultRegion = region;
+            warmConnections = context.getSetting(IONOS_CLIENT_WARM_CONNECTIONS, IONOS_CLIENT_WARM_CONNECTIONS_DEFAULT);
             context.registerService(S3Connector.class, s3Connector);
         }
 
@@ -88,4 +198,38 @@ public class IonosS3CoreExtension implements ServiceExtension {
 
         contextMonitor.debug("Core extension initialized !");
     }
+
+    @Override
+    public void start() {
+        if (s3Connector == null) {
+            return;
+        }
+
+        // The persisted snapshot, if any, keeps serving the endpoints until the API answers
+        s3Connector.refreshRegions().whenComplete((result, error) -> {
+            if (error != null) {
+                contextMonitor.warning("Error refreshing the S3 regions, using the persisted snapshot if any", error);
+            }
+        });
+
+        if (warmConnections > 0) {
+            s3Connector.async().getEndpoint(defaultRegion)
+                    .thenAccept(endpoint -> clientRegistry.warmUp(endpoint, warmConnections))
+                    .exceptionally(error -> {
+                        contextMonitor.debug("Skipping the connections warm up, the default region endpoint is unknown");
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (clientRegistry != null) {
+            clientRegistry.shutdown();
+        }
+        if (apiHttpClient != null) {
+            apiHttpClient.dispatcher().executorService().shutdown();
+            apiHttpClient.connectionPool().evictAll();
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/**
+ * Fails the requests to the IONOS management API right away once {@code failureThreshold} consecutive requests failed
+ * with a connection error or a 5xx response. After {@code openDuration} a single trial request is let through,
+ * closing the circuit again if it succeeds. Meanwhile the region endpoints are served from the cache.
+ */
+public class ApiCircuitBreaker implements Interceptor {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Monitor monitor;
+    private final int failureThreshold;
+    private final long openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openedAt;
+
+    public ApiCircuitBreaker(Monitor monitor, int failureThreshold, long openDuration, Clock clock) {
+        this.monitor = monitor;
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!allowRequest()) {
+            throw new IOException("IONOS API circuit breaker is open, failing fast");
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            throw e;
+        }
+
+        // A 429 shows the API is up, the rate limiter deals with it
+        if (response.code() >= 500) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+        return response;
+    }
+
+    private synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.millis() - openedAt >= openDuration) {
+                    // Let a single trial request through
+                    state = State.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            monitor.info("[IonosS3] IONOS API available again, closing circuit breaker");
+        }
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    private synchronized void onFailure() {
+        failures++;
+        if ((state == State.HALF_OPEN) || ((state == State.CLOSED) && (failures >= failureThreshold))) {
+            if (state == State.CLOSED) {
+                monitor.warning("[IonosS3] IONOS API failed " + failures + " consecutive times, opening circuit breaker for " + openDuration + " ms");
+            }
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+}
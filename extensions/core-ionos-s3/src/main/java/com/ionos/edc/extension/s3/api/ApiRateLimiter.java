@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the requests to the IONOS management API with a token bucket of {@code burst} tokens, refilled at
+ * {@code requestsPerSecond}. Requests tagged with {@link Priority#LOW} only take a token when no
+ * {@link Priority#HIGH} request is waiting. When the API answers 429, no token is handed out until the Retry-After
+ * delay has passed.
+ */
+public class ApiRateLimiter implements Interceptor {
+
+    public enum Priority { HIGH, LOW }
+
+    private static final long DEFAULT_RETRY_AFTER = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final double tokensPerNano;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+    private int highWaiting = 0;
+
+    public ApiRateLimiter(double requestsPerSecond, int burst) {
+        this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(burst, 1);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+        this.blockedUntil = lastRefill;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        acquire(Objects.requireNonNullElse(request.tag(Priority.class), Priority.HIGH));
+
+        var response = chain.proceed(request);
+        if (response.code() == 429) {
+            throttle(retryAfter(response));
+        }
+        return response;
+    }
+
+    synchronized void acquire(Priority priority) throws InterruptedIOException {
+        if (priority == Priority.HIGH) {
+            highWaiting++;
+        }
+        try {
+            while (true) {
+                var now = System.nanoTime();
+                refill(now);
+
+                var yielding = (priority == Priority.LOW) && (highWaiting > 0);
+                if ((now - blockedUntil >= 0) && (tokens >= 1) && !yielding) {
+                    tokens -= 1;
+                    return;
+                }
+
+                if (yielding) {
+                    // Woken up when a HIGH request got its token, the tokens are refilled meanwhile
+                    wait();
+                } else {
+                    var wait = (now - blockedUntil < 0) ? blockedUntil - now : (long) ((1 - Math.min(tokens, 1)) / tokensPerNano);
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(wait, MIN_WAIT));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the IONOS API rate limit");
+        } finally {
+            if (priority == Priority.HIGH) {
+                highWaiting--;
+                notifyAll();
+            }
+        }
+    }
+
+    private synchronized void throttle(long delay) {
+        var until = System.nanoTime() + delay;
+        if (until - blockedUntil > 0) {
+            blockedUntil = until;
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    private static long retryAfter(Response response) {
+        var header = response.header("Retry-After");
+        if (header != null) {
+            try {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                // HTTP dates are not used by the IONOS API, use the default delay
+            }
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+}
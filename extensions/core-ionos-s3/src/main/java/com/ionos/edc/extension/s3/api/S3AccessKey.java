@@ -16,6 +16,7 @@ package com.ionos.edc.extension.s3.api;
 
 public class S3AccessKey {
 	public static final String AVAILABLE_STATUS = "AVAILABLE";
+	public static final String TEMPORARY_KEY_DESCRIPTION = "EDC IONOS S3 temporary key";
 
     private String id;
     private Metadata metadata;
@@ -33,15 +34,20 @@ public class S3AccessKey {
 
 	public static class Metadata {
 		private String status;
+		private String createdDate;
 
 		public String getStatus() {
 			return status;
 		}
+		public String getCreatedDate() {
+			return createdDate;
+		}
 	}
 
 	public static class Properties {
 		private String accessKey;
 		private String secretKey;
+		private String description;
 
 		public String getAccessKey() {
 			return accessKey;
@@ -49,5 +55,8 @@ public class S3AccessKey {
 		public String getSecretKey() {
 			return secretKey;
 		}
+		public String getDescription() {
+			return description;
+		}
 	}
 }
\ No newline at end of file
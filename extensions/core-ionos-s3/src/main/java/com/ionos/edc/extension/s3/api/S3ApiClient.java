@@ -15,6 +15,7 @@
 package com.ionos.edc.extension.s3.api;
 
 import java.io.IOException;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -39,8 +40,8 @@ public class S3ApiClient {
     private final OkHttpClient client;
     private final ObjectMapper objectMapper;
 
-    public S3ApiClient() {
-        client = new OkHttpClient();
+    public S3ApiClient(OkHttpClient client) {
+        this.client = client;
         objectMapper = new ObjectMapper()
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
@@ -60,7 +61,7 @@ public class S3ApiClient {
             if (response.body() == null)
                 throw new IOException("Empty response body retrieving S3 regions");
             else
-                return objectMapper.readValue(response.body().string(), new TypeReference<>() {});
+                return objectMapper.readValue(response.body().byteStream(), new TypeReference<>() {});
 
         } catch (IOException e) {
             throw new EdcException("Error retrieving S3 accesskey", e);
@@ -68,13 +69,12 @@ public class S3ApiClient {
     }
 
     public S3AccessKey createAccessKey(String token) {
+        return createAccessKey(token, S3AccessKey.TEMPORARY_KEY_DESCRIPTION);
+    }
 
-        Request request = new Request.Builder().url(ACCESS_KEYS_ENDPOINT_URL)
-                .addHeader(AUTHORIZATION_HEADER, BEARER_TOKEN_PREFIX + token)
-                .post(RequestBody.create(new byte[0], MediaType.get(JSON_MEDIA_TYPE)))
-                .build();
+    public S3AccessKey createAccessKey(String token, String description) {
 
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = client.newCall(createAccessKeyRequest(token, description)).execute()) {
             if (!response.isSuccessful()) {
                 throw new EdcException("Unexpected code [" + response.code() + "] creating S3 accesskey");
             }
@@ -82,13 +82,46 @@ public class S3ApiClient {
             if (response.body() == null)
                 throw new IOException("Empty response body creating S3 accesskey");
             else
-                return objectMapper.readValue(response.body().string(), S3AccessKey.class);
+                return objectMapper.readValue(response.body().byteStream(), S3AccessKey.class);
 
         } catch (IOException e) {
             throw new EdcException("Error creating S3 accesskey", e);
         }
     }
 
+    private Request createAccessKeyRequest(String token, String description) throws IOException {
+        // Serialized with the mapper so the description is escaped
+        var body = objectMapper.writeValueAsString(Map.of("properties", Map.of("description", description)));
+        return new Request.Builder().url(ACCESS_KEYS_ENDPOINT_URL)
+                .addHeader(AUTHORIZATION_HEADER, BEARER_TOKEN_PREFIX + token)
+                .post(RequestBody.create(body, MediaType.get(JSON_MEDIA_TYPE)))
+                .build();
+    }
+
+    public S3AccessKeys listAccessKeys(String token, int offset, int limit) {
+        String url = ACCESS_KEYS_ENDPOINT_URL + "?depth=1&offset=" + offset + "&limit=" + limit;
+
+        Request request = new Request.Builder().url(url)
+                .addHeader(AUTHORIZATION_HEADER, BEARER_TOKEN_PREFIX + token)
+                .get()
+                .tag(ApiRateLimiter.Priority.class, ApiRateLimiter.Priority.LOW)
+                .build();
+
+        try (Response response = client.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new EdcException("Unexpected code [" + response.code() + "] listing S3 accesskeys");
+            }
+
+            if (response.body() == null)
+                throw new IOException("Empty response body listing S3 accesskeys");
+            else
+                return objectMapper.readValue(response.body().byteStream(), S3AccessKeys.class);
+
+        } catch (IOException e) {
+            throw new EdcException("Error listing S3 accesskeys", e);
+        }
+    }
+
     public S3AccessKey retrieveAccessKey(String token, String keyID) {
         String url = ACCESS_KEYS_ENDPOINT_URL + "/" + keyID;
 
@@ -105,7 +138,7 @@ public class S3ApiClient {
             if (response.body() == null)
                 throw new IOException("Empty response body retrieving S3 accesskey");
             else
-                return objectMapper.readValue(response.body().string(), S3AccessKey.class);
+                return objectMapper.readValue(response.body().byteStream(), S3AccessKey.class);
 
         } catch (IOException e) {
             throw new EdcException("Error retrieving S3 accesskey", e);
@@ -118,6 +151,7 @@ public class S3ApiClient {
         Request request = new Request.Builder().url(url)
                 .addHeader(AUTHORIZATION_HEADER, BEARER_TOKEN_PREFIX + token)
                 .delete()
+                .tag(ApiRateLimiter.Priority.class, ApiRateLimiter.Priority.LOW)
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
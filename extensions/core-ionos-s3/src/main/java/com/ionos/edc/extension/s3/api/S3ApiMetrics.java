@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Records the number of requests, errors and the latency until the response headers of each IONOS management API
+ * endpoint, such as {@code GET /accesskeys/{id}}.
+ */
+public class S3ApiMetrics implements Interceptor {
+
+    public record EndpointMetrics(long requests, long errors, long totalLatencyMillis, long maxLatencyMillis) {
+
+        public long averageLatencyMillis() {
+            return (requests == 0) ? 0 : totalLatencyMillis / requests;
+        }
+    }
+
+    private static class Recorder {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalLatency = new LongAdder();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        void record(long latencyMillis, boolean error) {
+            requests.increment();
+            if (error) {
+                errors.increment();
+            }
+            totalLatency.add(latencyMillis);
+            maxLatency.accumulateAndGet(latencyMillis, Math::max);
+        }
+
+        EndpointMetrics snapshot() {
+            return new EndpointMetrics(requests.sum(), errors.sum(), totalLatency.sum(), maxLatency.get());
+        }
+    }
+
+    private static final Pattern VERSION = Pattern.compile("v\\d+");
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var recorder = recorders.computeIfAbsent(endpoint(request), key -> new Recorder());
+
+        var start = System.nanoTime();
+        try {
+            var response = chain.proceed(request);
+            recorder.record(elapsedMillis(start), !response.isSuccessful());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            recorder.record(elapsedMillis(start), true);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the metrics recorded so far, by endpoint.
+     */
+    public Map<String, EndpointMetrics> snapshot() {
+        var snapshot = new TreeMap<String, EndpointMetrics>();
+        recorders.forEach((endpoint, recorder) -> snapshot.put(endpoint, recorder.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Returns the method and the path of the request, the resource ids replaced so there is one entry by endpoint: the
+     * paths alternate collections and ids, such as {@code /accesskeys/{id}}, after an optional version segment.
+     */
+    static String endpoint(Request request) {
+        var path = new StringBuilder();
+        var position = 0;
+        for (var segment : request.url().pathSegments()) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (path.isEmpty() && VERSION.matcher(segment).matches()) {
+                path.append('/').append(segment);
+                continue;
+            }
+            path.append('/').append((position++ % 2 == 1) ? "{id}" : segment);
+        }
+        return request.method() + " " + (path.isEmpty() ? "/" : path);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
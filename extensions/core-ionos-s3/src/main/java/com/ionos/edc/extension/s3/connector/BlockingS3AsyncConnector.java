@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.types.S3Object;
+import io.minio.messages.Part;
+import org.eclipse.edc.spi.EdcException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default {@link S3AsyncConnector} of the {@link S3Connector} implementations without a non-blocking variant. The
+ * operations run on the calling thread and return completed futures, the ones not available in {@link S3Connector}
+ * fail with an {@link EdcException} caused by an {@link UnsupportedOperationException}.
+ */
+class BlockingS3AsyncConnector implements S3AsyncConnector {
+
+    private final S3Connector connector;
+
+    BlockingS3AsyncConnector(S3Connector connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public CompletableFuture<String> getEndpoint(String regionId) {
+        return call(() -> connector.getEndpoint(regionId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> bucketExists(String bucketName, String regionId) {
+        return call(() -> connector.bucketExists(bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<Void> createBucket(String bucketName, String regionId) {
+        return call(() -> {
+            connector.createBucket(bucketName, regionId);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> uploadObject(String bucketName, String endpoint, String objectName, byte[] data) {
+        return call(() -> {
+            connector.uploadObject(bucketName, endpoint, objectName, new ByteArrayInputStream(data));
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String bucketName, String endpoint, String objectName, Map<String, String> userMetadata) {
+        return unsupported("createMultipartUpload");
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, byte[] data, int length) {
+        return unsupported("uploadPart");
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, Path file, long length) {
+        return unsupported("uploadPart");
+    }
+
+    @Override
+    public CompletableFuture<Void> copyObject(String sourceBucketName, String sourceObjectName, String bucketName, String endpoint, String objectName,
+                                              Map<String, String> userMetadata) {
+        return unsupported("copyObject");
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPartCopy(String sourceBucketName, String sourceObjectName, long offset, long length,
+                                                  String bucketName, String endpoint, String objectName, String uploadId, int partNumber) {
+        return unsupported("uploadPartCopy");
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId, Part[] parts) {
+        return unsupported("completeMultipartUpload");
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId) {
+        return unsupported("abortMultipartUpload");
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName) {
+        return call(() -> connector.streamObject(bucketName, regionId, objectName));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getUserMetadata(String bucketName, String endpoint, String objectName) {
+        return unsupported("getUserMetadata");
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(String bucketName, String endpoint, String objectName) {
+        return unsupported("deleteObject");
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName, long offset, long length) {
+        return call(() -> connector.streamObject(bucketName, regionId, objectName, offset, length));
+    }
+
+    @Override
+    public CompletableFuture<List<S3Object>> listObjects(String bucketName, String regionId, String objectName) {
+        return call(() -> connector.listObjects(bucketName, regionId, objectName));
+    }
+
+    @Override
+    public CompletableFuture<List<S3Object>> listEndpointObjects(String bucketName, String endpoint, String objectName) {
+        return unsupported("listEndpointObjects");
+    }
+
+    private static <T> CompletableFuture<T> call(Callable<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.call());
+        } catch (EdcException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new EdcException(e));
+        }
+    }
+
+    private <T> CompletableFuture<T> unsupported(String operation) {
+        return CompletableFuture.failedFuture(new EdcException(new UnsupportedOperationException(
+                operation + " not supported by " + connector.getClass().getName())));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reuses the byte arrays of the part and chunk buffers across objects and transfers, instead of allocating large
+ * arrays for every part. Arrays are rounded up to a multiple of 1 MB, so buffers of close sizes share them. Up to
+ * {@code maxPooledBytes} of released arrays are kept, the others are left to the garbage collector.
+ */
+public class BufferPool {
+
+    public record Statistics(long allocations, long reuses, long pooledBytes) {}
+
+    private static final int SIZE_CLASS = 1048576; // 1 MB
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // Largest array size supported by the JVMs
+
+    private final long maxPooledBytes;
+    private final Map<Integer, Deque<byte[]>> pooled = new ConcurrentHashMap<>();
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+
+    public BufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Returns an array of at least {@code size} bytes, whose content is undefined.
+     */
+    public byte[] acquire(int size) {
+        var capacity = capacity(size);
+        var buffers = pooled.get(capacity);
+        var buffer = (buffers != null) ? buffers.pollFirst() : null;
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.length);
+            reuses.increment();
+            return buffer;
+        }
+
+        allocations.increment();
+        return new byte[capacity];
+    }
+
+    /**
+     * Gives the array back to the pool. It must not be used afterwards.
+     */
+    public void release(byte[] buffer) {
+        if (pooledBytes.addAndGet(buffer.length) > maxPooledBytes) {
+            pooledBytes.addAndGet(-buffer.length);
+            return;
+        }
+        pooled.computeIfAbsent(buffer.length, key -> new ConcurrentLinkedDeque<>()).offerFirst(buffer);
+    }
+
+    public Statistics statistics() {
+        return new Statistics(allocations.sum(), reuses.sum(), pooledBytes.get());
+    }
+
+    private static int capacity(int size) {
+        var rounded = ((long) size + SIZE_CLASS - 1) / SIZE_CLASS * SIZE_CLASS;
+        return (int) Math.min(rounded, MAX_CAPACITY);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stages the upload parts in temporary files of a local directory, when the memory budget cannot buffer them. Parts
+ * are staged once more than {@code threshold} bytes of the memory budget are in use, or when it is exhausted.
+ */
+public class DiskStaging {
+
+    public record StagedFile(Path file, long length) {}
+
+    private static final String FILE_PREFIX = "ionos-part-";
+    private static final String FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long threshold;
+
+    public DiskStaging(Path directory, long threshold) {
+        this.directory = directory;
+        this.threshold = threshold;
+    }
+
+    public long threshold() {
+        return threshold;
+    }
+
+    /**
+     * Copies up to {@code maxLength} bytes of the stream to a new temporary file, to be deleted once uploaded.
+     */
+    public StagedFile stage(InputStream stream, long maxLength) throws IOException {
+        Files.createDirectories(directory);
+        var file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Not closed, it would close the stream being uploaded
+            var source = Channels.newChannel(stream);
+            var length = 0L;
+            while (length < maxLength) {
+                var transferred = channel.transferFrom(source, length, maxLength - length);
+                if (transferred <= 0) {
+                    break;
+                }
+                length += transferred;
+            }
+            return new StagedFile(file, length);
+        } catch (IOException e) {
+            delete(file);
+            throw e;
+        }
+    }
+
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left in the staging directory, the temporary files are never read again
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Keeps the region snapshot as a JSON file. The file is replaced atomically, so a crash while saving never leaves a
+ * partial snapshot behind.
+ */
+public class FileRegionSnapshotStore implements RegionSnapshotStore {
+
+    private final Path path;
+    private final Monitor monitor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FileRegionSnapshotStore(Path path, Monitor monitor) {
+        this.path = path;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Map<String, String> load() {
+        if (!Files.exists(path)) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(path.toFile(), new TypeReference<Map<String, String>>() {});
+        } catch (IOException e) {
+            monitor.warning("[IonosS3] Ignoring unreadable region snapshot " + path, e);
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void save(Map<String, String> endpoints) {
+        try {
+            var parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporary.toFile(), endpoints);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            monitor.warning("[IonosS3] Error saving region snapshot " + path, e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.google.common.collect.HashMultimap;
+import io.minio.ListObjectsV2Response;
+import io.minio.MinioAsyncClient;
+import io.minio.S3Escaper;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Part;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exposes the low level multipart, part copy and listing operations of the {@link MinioAsyncClient}.
+ */
+public class IonosMinioAsyncClient extends MinioAsyncClient {
+
+    private static final String USER_METADATA_PREFIX = "x-amz-meta-";
+
+    public IonosMinioAsyncClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    public CompletableFuture<String> createMultipartUpload(String bucketName, String objectName, Map<String, String> userMetadata) {
+        var headers = HashMultimap.<String, String>create();
+        userMetadata.forEach((key, value) -> headers.put(USER_METADATA_PREFIX + key, value));
+        try {
+            return createMultipartUploadAsync(bucketName, null, objectName, headers, HashMultimap.create())
+                    .thenApply(response -> response.result().uploadId());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Part> uploadPart(String bucketName, String objectName, String uploadId, int partNumber, byte[] data, int length) {
+        try {
+            return uploadPartAsync(bucketName, null, objectName, data, length, uploadId, partNumber, HashMultimap.create(), HashMultimap.create())
+                    .thenApply(response -> new Part(partNumber, response.etag()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Uploads a part staged in a local file, read by the client while sending it.
+     */
+    public CompletableFuture<Part> uploadPart(String bucketName, String objectName, String uploadId, int partNumber, Path file, long length) {
+        RandomAccessFile data = null;
+        try {
+            data = new RandomAccessFile(file.toFile(), "r");
+            var opened = data;
+            return uploadPartAsync(bucketName, null, objectName, data, length, uploadId, partNumber, HashMultimap.create(), HashMultimap.create())
+                    .thenApply(response -> new Part(partNumber, response.etag()))
+                    .whenComplete((part, error) -> close(opened));
+        } catch (Exception e) {
+            close(data);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Copies a byte range of another object of the same endpoint as a part of the upload, without transferring the
+     * data through the client.
+     */
+    public CompletableFuture<Part> uploadPartCopy(String bucketName, String objectName, String uploadId, int partNumber,
+                                                  String sourceBucketName, String sourceObjectName, long offset, long length) {
+        var headers = HashMultimap.<String, String>create();
+        headers.put("x-amz-copy-source", S3Escaper.encodePath(sourceBucketName + "/" + sourceObjectName));
+        headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + length - 1));
+        try {
+            return uploadPartCopyAsync(bucketName, null, objectName, uploadId, partNumber, headers, HashMultimap.create())
+                    .thenApply(response -> new Part(partNumber, response.result().etag()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Void> completeMultipartUpload(String bucketName, String objectName, String uploadId, Part[] parts) {
+        try {
+            return completeMultipartUploadAsync(bucketName, null, objectName, uploadId, parts, HashMultimap.create(), HashMultimap.create())
+                    .thenApply(response -> null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Void> abortMultipartUpload(String bucketName, String objectName, String uploadId) {
+        try {
+            return abortMultipartUploadAsync(bucketName, null, objectName, uploadId, HashMultimap.create(), HashMultimap.create())
+                    .thenApply(response -> null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Lists a single page of up to {@code maxKeys} objects under the prefix, recursively.
+     */
+    public CompletableFuture<ListBucketResultV2> listObjectsPage(String bucketName, String prefix, String continuationToken, int maxKeys) {
+        try {
+            return listObjectsV2Async(bucketName, null, null, null, null, maxKeys, prefix, continuationToken, false, false, HashMultimap.create(), HashMultimap.create())
+                    .thenApply(ListObjectsV2Response::result);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void close(RandomAccessFile file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            // Read only, nothing lost
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bytes of transfer data that may be buffered in memory at the same time, shared by all the transfers of the
+ * runtime. Buffers are reserved before being filled and released once written.
+ * <p>
+ * A caller only waits for memory while it can make progress without it, for instance while its previous parts are
+ * still uploading. Otherwise the reservation is granted beyond the capacity, so concurrent transfers never wait on
+ * each other forever. The buffered bytes are therefore bounded by the capacity plus one buffer per transfer thread.
+ */
+public class MemoryBudget {
+
+    public record Usage(long capacity, long used, long peak, int waiting, long overcommits) {}
+
+    private final long capacity;
+
+    private long used = 0;
+    private long peak = 0;
+    private int waiting = 0;
+    private long overcommits = 0;
+
+    public MemoryBudget(long capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Reserves the bytes if available right now, for optional buffers such as read-ahead.
+     */
+    public synchronized boolean tryAcquire(long bytes) {
+        if (used > 0 && used + bytes > capacity) {
+            return false;
+        }
+        grant(bytes);
+        return true;
+    }
+
+    /**
+     * Reserves the bytes if available right now and the reserved bytes stay under {@code limit}.
+     */
+    public synchronized boolean tryAcquire(long bytes, long limit) {
+        if (used + bytes > limit) {
+            return false;
+        }
+        return tryAcquire(bytes);
+    }
+
+    /**
+     * Reserves the bytes, waiting for them to be released by other buffers as long as {@code canWait} holds. The
+     * condition is evaluated again each time memory is released.
+     */
+    public synchronized void acquire(long bytes, BooleanSupplier canWait) throws InterruptedException {
+        while (used > 0 && used + bytes > capacity && canWait.getAsBoolean()) {
+            waiting++;
+            try {
+                wait();
+            } finally {
+                waiting--;
+            }
+        }
+        if (used > 0 && used + bytes > capacity) {
+            overcommits++;
+        }
+        grant(bytes);
+    }
+
+    public synchronized void release(long bytes) {
+        used = Math.max(used - bytes, 0);
+        notifyAll();
+    }
+
+    public synchronized Usage usage() {
+        return new Usage(capacity, used, peak, waiting, overcommits);
+    }
+
+    private void grant(long bytes) {
+        used += bytes;
+        peak = Math.max(peak, used);
+    }
+}
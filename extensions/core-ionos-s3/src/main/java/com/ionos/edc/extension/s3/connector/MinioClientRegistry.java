@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one {@link MinioClient} per endpoint and credentials, all of them sharing the same OkHttp connection pool
+ * and dispatcher, so connections stay warm across chunks and transfers. Clients not used for longer than the idle
+ * timeout are dropped.
+ */
+public class MinioClientRegistry {
+
+    private static final long HTTP_TIMEOUT_MINUTES = 5;
+
+    private final OkHttpClient httpClient;
+    private final long clientIdleTimeout;
+    private final Clock clock;
+    private final Map<ClientKey, ClientEntry> clients = new ConcurrentHashMap<>();
+
+    public MinioClientRegistry(int maxIdleConnections, long keepAliveDuration, int maxRequestsPerHost, long clientIdleTimeout) {
+        this(maxIdleConnections, keepAliveDuration, maxRequestsPerHost, clientIdleTimeout, Clock.systemUTC());
+    }
+
+    MinioClientRegistry(int maxIdleConnections, long keepAliveDuration, int maxRequestsPerHost, long clientIdleTimeout, Clock clock) {
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), maxRequestsPerHost));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveDuration, TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(HTTP_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .writeTimeout(HTTP_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .readTimeout(HTTP_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .protocols(List.of(Protocol.HTTP_1_1))
+                .build();
+        this.clientIdleTimeout = clientIdleTimeout;
+        this.clock = clock;
+    }
+
+    public MinioClient getClient(String endpoint, String accessKey, String secretKey) {
+        return getEntry(endpoint, accessKey, secretKey).client;
+    }
+
+    public IonosMinioAsyncClient getAsyncClient(String endpoint, String accessKey, String secretKey) {
+        return getEntry(endpoint, accessKey, secretKey).asyncClient;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Opens up to {@code connections} connections to the endpoint in the background, so the first transfers do not
+     * pay the TLS handshake. The responses are ignored, the connections just stay in the pool.
+     */
+    public void warmUp(String endpoint, int connections) {
+        var request = new Request.Builder().url(endpoint).head().build();
+        for (int i = 0; i < connections; i++) {
+            httpClient.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    // Nothing to warm up, the transfers open the connections themselves
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                }
+            });
+        }
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    public void shutdown() {
+        clients.clear();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    private ClientEntry getEntry(String endpoint, String accessKey, String secretKey) {
+        evictIdleClients();
+
+        var now = clock.millis();
+        var entry = clients.computeIfAbsent(new ClientKey(endpoint, accessKey, secretKey), key -> new ClientEntry(
+                MinioClient.builder()
+                        .endpoint(endpoint)
+                        .credentials(accessKey, secretKey)
+                        .httpClient(httpClient)
+                        .build(),
+                new IonosMinioAsyncClient(MinioAsyncClient.builder()
+                        .endpoint(endpoint)
+                        .credentials(accessKey, secretKey)
+                        .httpClient(httpClient)
+                        .build()), now));
+        entry.lastAccess = now;
+        return entry;
+    }
+
+    private void evictIdleClients() {
+        var limit = clock.millis() - clientIdleTimeout;
+        clients.values().removeIf(entry -> entry.lastAccess < limit);
+    }
+
+    private static final class ClientKey {
+        private final String endpoint;
+        private final String accessKey;
+        private final String secretKey;
+
+        private ClientKey(String endpoint, String accessKey, String secretKey) {
+            this.endpoint = endpoint;
+            this.accessKey = accessKey;
+            this.secretKey = secretKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ClientKey other)) return false;
+            return Objects.equals(endpoint, other.endpoint)
+                    && Objects.equals(accessKey, other.accessKey)
+                    && Objects.equals(secretKey, other.secretKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, accessKey, secretKey);
+        }
+    }
+
+    private static final class ClientEntry {
+        private final MinioClient client;
+        private final IonosMinioAsyncClient asyncClient;
+        private volatile long lastAccess;
+
+        private ClientEntry(MinioClient client, IonosMinioAsyncClient asyncClient, long lastAccess) {
+            this.client = client;
+            this.asyncClient = asyncClient;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.api.S3Region;
+import com.ionos.edc.extension.s3.api.S3Regions;
+import org.eclipse.edc.spi.EdcException;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Caches the endpoints of all the regions returned by a single fetch. Concurrent misses share the same fetch, the
+ * regions are refreshed in the background when the entries get close to expiring, and the expired entries are still
+ * served if the refresh fails.
+ */
+class RegionEndpointCache {
+
+    private record Snapshot(Map<String, String> endpoints, long fetchedAt) {}
+
+    private final Supplier<S3Regions> regionsFetcher;
+    private final Consumer<Map<String, String>> fetchListener;
+    private final long ttl;
+    private final long refreshAhead;
+    private final Executor executor;
+    private final Clock clock;
+
+    private volatile Snapshot snapshot;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    RegionEndpointCache(Supplier<S3Regions> regionsFetcher, Consumer<Map<String, String>> fetchListener,
+                        long ttl, long refreshAhead, Executor executor, Clock clock) {
+        this.regionsFetcher = regionsFetcher;
+        this.fetchListener = fetchListener;
+        this.ttl = ttl;
+        this.refreshAhead = Math.min(refreshAhead, ttl);
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Serves the given endpoints, for instance a persisted snapshot, while the regions are fetched. They are due for
+     * refresh right away, so the first lookup fetches the regions in the background. Ignored when the regions were
+     * already fetched.
+     */
+    void seed(Map<String, String> endpoints) {
+        if (snapshot == null && !endpoints.isEmpty()) {
+            snapshot = new Snapshot(Map.copyOf(endpoints), clock.millis() - (ttl - refreshAhead));
+        }
+    }
+
+    /**
+     * Fetches the regions in the background, sharing the fetch already in progress if any.
+     */
+    CompletableFuture<Void> refreshAsync() {
+        return refresh().thenApply(fetched -> null);
+    }
+
+    String getEndpoint(String regionId) {
+        var current = snapshot;
+        if (isFresh(current)) {
+            return lookup(current, regionId);
+        }
+
+        try {
+            return lookup(refresh().join(), regionId);
+        } catch (CompletionException e) {
+            return lookupExpired(current, regionId, e);
+        }
+    }
+
+    /**
+     * Same as {@link #getEndpoint(String)} without blocking, completed right away while the endpoints are fresh.
+     */
+    CompletableFuture<String> getEndpointAsync(String regionId) {
+        var current = snapshot;
+        if (isFresh(current)) {
+            try {
+                return CompletableFuture.completedFuture(lookup(current, regionId));
+            } catch (EdcException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return refresh().handle((fetched, error) -> (error == null) ? lookup(fetched, regionId) : lookupExpired(current, regionId, error));
+    }
+
+    /**
+     * Returns whether the endpoints did not expire yet, refreshing them in the background when they get close to it.
+     */
+    private boolean isFresh(Snapshot current) {
+        if (current == null) {
+            return false;
+        }
+        var now = clock.millis();
+        if (now >= current.fetchedAt() + ttl) {
+            return false;
+        }
+        if (now >= current.fetchedAt() + ttl - refreshAhead) {
+            // Failures are ignored, the next call after expiry tries again
+            refresh();
+        }
+        return true;
+    }
+
+    /**
+     * Serves the expired endpoints when the refresh failed, if any.
+     */
+    private String lookupExpired(Snapshot expired, String regionId, Throwable error) {
+        if (expired != null) {
+            return lookup(expired, regionId);
+        }
+        var cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+        if (cause instanceof EdcException) {
+            throw (EdcException) cause;
+        }
+        throw new EdcException("Error retrieving S3 regions", cause);
+    }
+
+    private String lookup(Snapshot current, String regionId) {
+        var endpoint = current.endpoints().get(regionId);
+        if (endpoint == null) {
+            throw new EdcException("Invalid region: " + regionId);
+        }
+        return endpoint;
+    }
+
+    private CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            var pending = inFlight.get();
+            if (pending != null) {
+                return pending;
+            }
+
+            var future = new CompletableFuture<Snapshot>();
+            if (inFlight.compareAndSet(null, future)) {
+                executor.execute(() -> fetch(future));
+                return future;
+            }
+        }
+    }
+
+    private void fetch(CompletableFuture<Snapshot> future) {
+        try {
+            var endpoints = new HashMap<String, String>();
+            for (S3Region region : regionsFetcher.get().getItems()) {
+                endpoints.put(region.getId(), "https://" + region.getProperties().getEndpoint());
+            }
+            var fetched = new Snapshot(Map.copyOf(endpoints), clock.millis());
+            snapshot = fetched;
+            inFlight.set(null);
+            future.complete(fetched);
+            fetchListener.accept(fetched.endpoints());
+        } catch (Throwable e) {
+            inFlight.set(null);
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import java.util.Map;
+
+/**
+ * Persists the last endpoints retrieved from the IONOS API, so the connector can resolve them at startup without
+ * waiting for the API.
+ */
+public interface RegionSnapshotStore {
+
+    /**
+     * Returns the endpoints by region id, or an empty map when there is no usable snapshot.
+     */
+    Map<String, String> load();
+
+    void save(Map<String, String> endpoints);
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.types.S3Object;
+import io.minio.messages.Part;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link S3Connector} storage operations, obtained from {@link S3Connector#async()}.
+ * Requests are driven by the shared HTTP client dispatcher, so no thread is held while waiting for a response.
+ * Failures complete the futures exceptionally with an {@link org.eclipse.edc.spi.EdcException}.
+ */
+public interface S3AsyncConnector {
+
+    /**
+     * Completes right away when the endpoint of the region is cached, the regions are otherwise fetched from the
+     * IONOS API on a dedicated thread.
+     */
+    CompletableFuture<String> getEndpoint(String regionId);
+
+    CompletableFuture<Boolean> bucketExists(String bucketName, String regionId);
+
+    CompletableFuture<Void> createBucket(String bucketName, String regionId);
+
+    CompletableFuture<Void> uploadObject(String bucketName, String endpoint, String objectName, byte[] data);
+
+    CompletableFuture<String> createMultipartUpload(String bucketName, String endpoint, String objectName, Map<String, String> userMetadata);
+
+    CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, byte[] data, int length);
+
+    CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, Path file, long length);
+
+    /**
+     * Copies an object of the same endpoint in a single request, limited to objects of up to 5 GB.
+     */
+    CompletableFuture<Void> copyObject(String sourceBucketName, String sourceObjectName, String bucketName, String endpoint, String objectName,
+                                       Map<String, String> userMetadata);
+
+    CompletableFuture<Part> uploadPartCopy(String sourceBucketName, String sourceObjectName, long offset, long length,
+                                           String bucketName, String endpoint, String objectName, String uploadId, int partNumber);
+
+    CompletableFuture<Void> completeMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId, Part[] parts);
+
+    CompletableFuture<Void> abortMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId);
+
+    /**
+     * Completes when the response headers are received. The caller must close the stream to release the underlying
+     * HTTP connection.
+     */
+    CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName);
+
+    /**
+     * Returns the user metadata of the object, with the keys stripped from their {@code x-amz-meta-} prefix.
+     */
+    CompletableFuture<Map<String, String>> getUserMetadata(String bucketName, String endpoint, String objectName);
+
+    CompletableFuture<Void> deleteObject(String bucketName, String endpoint, String objectName);
+
+    CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName, long offset, long length);
+
+    /**
+     * Lists all the objects under the prefix, fetching the pages of {@link S3Connector#getMaxFiles()} keys one after
+     * the other.
+     */
+    CompletableFuture<List<S3Object>> listObjects(String bucketName, String regionId, String objectName);
+
+    /**
+     * Same as {@link #listObjects(String, String, String)}, for a bucket given by its endpoint.
+     */
+    CompletableFuture<List<S3Object>> listEndpointObjects(String bucketName, String endpoint, String objectName);
+}
@@ -0,0 +1,266 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.types.S3Object;
+import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.Directive;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.messages.Part;
+import org.eclipse.edc.spi.EdcException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+class S3AsyncConnectorImpl implements S3AsyncConnector {
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        CompletableFuture<T> call() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface RegionCall<T> {
+        CompletableFuture<T> call(IonosMinioAsyncClient client) throws Exception;
+    }
+
+    private final S3Connector connector;
+    private final Supplier<RegionEndpointCache> endpointsCache;
+    private final MinioClientRegistry clientRegistry;
+    private final String accessKey;
+    private final String secretKey;
+
+    S3AsyncConnectorImpl(S3Connector connector, Supplier<RegionEndpointCache> endpointsCache, MinioClientRegistry clientRegistry, String accessKey,
+                         String secretKey) {
+        this.connector = connector;
+        this.endpointsCache = endpointsCache;
+        this.clientRegistry = clientRegistry;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    @Override
+    public CompletableFuture<String> getEndpoint(String regionId) {
+        return endpointsCache.get().getEndpointAsync(regionId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> bucketExists(String bucketName, String regionId) {
+        var args = BucketExistsArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .build();
+
+        return withRegion(regionId, client -> client.bucketExists(args),
+                format("Error verifying if bucket %s exists in region %s", bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<Void> createBucket(String bucketName, String regionId) {
+        var args = MakeBucketArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .build();
+
+        return withRegion(regionId, client -> client.makeBucket(args),
+                format("Error creating bucket %s in region %s", bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<Void> uploadObject(String bucketName, String endpoint, String objectName, byte[] data) {
+        var message = format("Error uploading object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint);
+        return call(() -> getClient(endpoint).putObject(PutObjectArgs.builder()
+                        .bucket(bucketName.toLowerCase())
+                        .object(objectName)
+                        .stream(new ByteArrayInputStream(data), data.length, -1)
+                        .build())
+                .thenApply(response -> (Void) null), message);
+    }
+
+    @Override
+    public CompletableFuture<String> createMultipartUpload(String bucketName, String endpoint, String objectName, Map<String, String> userMetadata) {
+        return call(() -> getClient(endpoint).createMultipartUpload(bucketName.toLowerCase(), objectName, userMetadata),
+                format("Error starting upload of object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, byte[] data, int length) {
+        return call(() -> getClient(endpoint).uploadPart(bucketName.toLowerCase(), objectName, uploadId, partNumber, data, length),
+                format("Error uploading part %d of object %s in bucket %s, endpoint %s", partNumber, objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPart(String bucketName, String endpoint, String objectName, String uploadId, int partNumber, Path file, long length) {
+        return call(() -> getClient(endpoint).uploadPart(bucketName.toLowerCase(), objectName, uploadId, partNumber, file, length),
+                format("Error uploading part %d of object %s in bucket %s, endpoint %s", partNumber, objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Void> copyObject(String sourceBucketName, String sourceObjectName, String bucketName, String endpoint, String objectName,
+                                              Map<String, String> userMetadata) {
+        var message = format("Error copying object %s of bucket %s to object %s in bucket %s, endpoint %s",
+                sourceObjectName, sourceBucketName, objectName, bucketName, endpoint);
+        var args = CopyObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .source(CopySource.builder()
+                        .bucket(sourceBucketName.toLowerCase())
+                        .object(sourceObjectName)
+                        .build());
+        if (!userMetadata.isEmpty()) {
+            args.userMetadata(userMetadata).metadataDirective(Directive.REPLACE);
+        }
+        return call(() -> getClient(endpoint).copyObject(args.build())
+                .thenApply(response -> (Void) null), message);
+    }
+
+    @Override
+    public CompletableFuture<Part> uploadPartCopy(String sourceBucketName, String sourceObjectName, long offset, long length,
+                                                  String bucketName, String endpoint, String objectName, String uploadId, int partNumber) {
+        return call(() -> getClient(endpoint).uploadPartCopy(bucketName.toLowerCase(), objectName, uploadId, partNumber,
+                        sourceBucketName.toLowerCase(), sourceObjectName, offset, length),
+                format("Error copying part %d of object %s in bucket %s, endpoint %s", partNumber, objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Void> completeMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId, Part[] parts) {
+        return call(() -> getClient(endpoint).completeMultipartUpload(bucketName.toLowerCase(), objectName, uploadId, parts),
+                format("Error completing upload of object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Void> abortMultipartUpload(String bucketName, String endpoint, String objectName, String uploadId) {
+        return call(() -> getClient(endpoint).abortMultipartUpload(bucketName.toLowerCase(), objectName, uploadId),
+                format("Error aborting upload of object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName) {
+        var args = GetObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .build();
+
+        return withRegion(regionId, client -> client.getObject(args).thenApply(response -> (InputStream) response),
+                format("Error getting object %s in bucket %s, region %s", objectName, bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<InputStream> getObject(String bucketName, String regionId, String objectName, long offset, long length) {
+        var args = GetObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .offset(offset)
+                .length(length)
+                .build();
+
+        return withRegion(regionId, client -> client.getObject(args).thenApply(response -> (InputStream) response),
+                format("Error getting object %s in bucket %s, region %s", objectName, bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, String>> getUserMetadata(String bucketName, String endpoint, String objectName) {
+        var args = StatObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .build();
+
+        return call(() -> getClient(endpoint).statObject(args).thenApply(response -> (Map<String, String>) Map.copyOf(response.userMetadata())),
+                format("Error getting metadata of object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(String bucketName, String endpoint, String objectName) {
+        var args = RemoveObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .build();
+
+        return call(() -> getClient(endpoint).removeObject(args),
+                format("Error deleting object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    @Override
+    public CompletableFuture<List<S3Object>> listObjects(String bucketName, String regionId, String objectName) {
+        return withRegion(regionId, client -> listPages(client, bucketName.toLowerCase(), objectName, null, new ArrayList<>()),
+                format("Error listing objects with prefix %s in bucket %s, region %s", objectName, bucketName, regionId));
+    }
+
+    @Override
+    public CompletableFuture<List<S3Object>> listEndpointObjects(String bucketName, String endpoint, String objectName) {
+        return call(() -> listPages(getClient(endpoint), bucketName.toLowerCase(), objectName, null, new ArrayList<>()),
+                format("Error listing objects with prefix %s in bucket %s, endpoint %s", objectName, bucketName, endpoint));
+    }
+
+    private CompletableFuture<List<S3Object>> listPages(IonosMinioAsyncClient client, String bucketName, String prefix,
+                                                        String continuationToken, List<S3Object> objects) {
+        return client.listObjectsPage(bucketName, prefix, continuationToken, connector.getMaxFiles())
+                .thenCompose(page -> {
+                    page.contents().forEach(item -> objects.add(new S3Object(item.objectName(), item.size(), item.etag())));
+                    if (!page.isTruncated()) {
+                        return CompletableFuture.completedFuture(objects);
+                    }
+                    return listPages(client, bucketName, prefix, page.nextContinuationToken(), objects);
+                });
+    }
+
+    private IonosMinioAsyncClient getClient(String endpoint) {
+        return clientRegistry.getAsyncClient(endpoint, accessKey, secretKey);
+    }
+
+    private <T> CompletableFuture<T> withRegion(String regionId, RegionCall<T> regionCall, String message) {
+        var region = (regionId != null) ? regionId : connector.getDefaultRegionId();
+        // Cached endpoints are used right away, the call is only deferred while the regions are fetched
+        var result = endpointsCache.get().getEndpointAsync(region)
+                .thenCompose(endpoint -> call(() -> regionCall.call(getClient(endpoint)), message));
+        return wrapFailure(result, message);
+    }
+
+    private static <T> CompletableFuture<T> call(AsyncCall<T> asyncCall, String message) {
+        CompletableFuture<T> result;
+        try {
+            result = asyncCall.call();
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return wrapFailure(result, message);
+    }
+
+    private static <T> CompletableFuture<T> wrapFailure(CompletableFuture<T> future, String message) {
+        return future.handle((result, error) -> {
+            if (error == null) {
+                return result;
+            }
+            var cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+            if (cause instanceof EdcException) {
+                throw (EdcException) cause;
+            }
+            throw new EdcException(message, cause);
+        });
+    }
+}
@@ -17,10 +17,21 @@ package com.ionos.edc.extension.s3.connector;
 import com.ionos.edc.extension.s3.api.S3AccessKey;
 import com.ionos.edc.extension.s3.types.S3Object;
 import org.eclipse.edc.runtime.metamodel.annotation.ExtensionPoint;
+import org.eclipse.edc.spi.EdcException;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import static java.lang.String.format;
+
+/**
+ * The operations added after the first release have default implementations based on the original ones, so existing
+ * implementations keep working without the optimizations they bring.
+ */
 @ExtensionPoint
 public interface S3Connector {
 
@@ -36,15 +47,122 @@ public interface S3Connector {
     
     void uploadObject(String bucketName, String endpoint, String objectName, ByteArrayInputStream stream);
 
+    /**
+     * Uploads a stream using a multipart upload, reading it in parts of {@code partSize} bytes and uploading up to
+     * {@code maxConcurrentParts} of them at the same time. Streams smaller than a single part are uploaded with a
+     * simple put. When the {@code size} of the stream is known, the part size is increased to fit the object in the
+     * limit of parts and the upload fails before starting if it cannot; a negative size means unknown. The multipart upload is aborted if any part fails. The user metadata is stored
+     * with the object, without the {@code x-amz-meta-} prefix in its keys.
+     * <p>
+     * With a checkpoint, the upload of a previous attempt is resumed: the parts already uploaded are skipped in the
+     * stream. The upload is then kept, instead of being aborted, when the thread is interrupted and the checkpoint is
+     * durable. The checkpoint may be null.
+     * <p>
+     * By default the whole stream is buffered and uploaded in a single request, without the user metadata and the
+     * checkpoint.
+     */
+    default void uploadObject(String bucketName, String endpoint, String objectName, InputStream stream, long size, long partSize,
+                              int maxConcurrentParts, Map<String, String> userMetadata, UploadCheckpoint checkpoint) {
+        try {
+            uploadObject(bucketName, endpoint, objectName, new ByteArrayInputStream(stream.readAllBytes()));
+        } catch (IOException e) {
+            throw new EdcException(format("Error uploading object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint), e);
+        }
+    }
+
+    /**
+     * Copies an object to another bucket of the same endpoint without transferring its content through the client.
+     * Objects larger than a single copy part are copied with a multipart upload, copying up to
+     * {@code maxConcurrentParts} parts at the same time. The credentials must allow reading the source object. The
+     * copy gets the given user metadata instead of the source one when it is not empty.
+     * <p>
+     * Only available when {@link #supportsServerSideCopy()}, otherwise fails with an {@link EdcException}.
+     */
+    default void copyObject(String sourceBucketName, String sourceObjectName, String bucketName, String endpoint, String objectName,
+                            long size, int maxConcurrentParts, Map<String, String> userMetadata) {
+        throw new EdcException("Server side copy not supported by " + getClass().getName());
+    }
+
+    /**
+     * Whether {@link #copyObject(String, String, String, String, String, long, int, Map)} is available, false by
+     * default. The callers stream the objects otherwise.
+     */
+    default boolean supportsServerSideCopy() {
+        return false;
+    }
+
     ByteArrayInputStream getObject(String bucketName, String regionId, String objectName);
 
     ByteArrayInputStream getObject(String bucketName, String regionId, String objectName, long offset, long length);
 
+    /**
+     * Opens the object content as a live stream, without buffering it. The caller must close the stream to release
+     * the underlying HTTP connection.
+     */
+    default InputStream streamObject(String bucketName, String regionId, String objectName) {
+        return getObject(bucketName, regionId, objectName);
+    }
+
+    /**
+     * Opens a byte range of the object content as a live stream, without buffering it. The caller must close the
+     * stream to release the underlying HTTP connection.
+     */
+    default InputStream streamObject(String bucketName, String regionId, String objectName, long offset, long length) {
+        return getObject(bucketName, regionId, objectName, offset, length);
+    }
+
     List<S3Object> listObjects(String bucketName, String regionId, String objectName);
 
+    /**
+     * Lists the objects under the prefix lazily, fetching the next page of keys only when the stream reaches it.
+     * The page size is given by {@link #getMaxFiles()}. The stream must be closed if not fully consumed.
+     */
+    default Stream<S3Object> streamObjects(String bucketName, String regionId, String objectName) {
+        return listObjects(bucketName, regionId, objectName).stream();
+    }
+
+    /**
+     * Same as {@link #streamObjects(String, String, String)}, starting the listing after the given key.
+     */
+    default Stream<S3Object> streamObjects(String bucketName, String regionId, String objectName, String startAfter) {
+        return streamObjects(bucketName, regionId, objectName)
+                .filter(object -> (startAfter == null) || (object.objectName().compareTo(startAfter) > 0));
+    }
+
     S3AccessKey createAccessKey();
 
+    /**
+     * Creates an access key with the given description. Implementations not supporting descriptions create the key
+     * with the default one.
+     */
+    default S3AccessKey createAccessKey(String description) {
+        return createAccessKey();
+    }
+
     S3AccessKey retrieveAccessKey(String keyID);
 
+    /**
+     * Lists all the access keys of the account, including their status and properties. Only available when
+     * {@link #supportsAccessKeyListing()}, otherwise fails with an {@link EdcException}.
+     */
+    default List<S3AccessKey> listAccessKeys() {
+        throw new EdcException("Listing the access keys not supported by " + getClass().getName());
+    }
+
+    /**
+     * Whether {@link #listAccessKeys()} is available, false by default.
+     */
+    default boolean supportsAccessKeyListing() {
+        return false;
+    }
+
     void deleteAccessKey(String keyID);
+
+    /**
+     * Returns the non-blocking variant of the storage operations, using the same credentials. By default, the
+     * operations are run on the calling thread and the ones without a blocking equivalent fail.
+     */
+    default S3AsyncConnector async() {
+        return new BlockingS3AsyncConnector(this);
+    }
 }
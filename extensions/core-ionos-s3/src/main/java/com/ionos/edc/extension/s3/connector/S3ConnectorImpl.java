@@ -17,7 +17,6 @@ package com.ionos.edc.extension.s3.connector;
 import com.ionos.edc.extension.s3.api.S3AccessKey;
 import com.ionos.edc.extension.s3.api.S3ApiClient;
 
-import com.ionos.edc.extension.s3.api.S3Region;
 import com.ionos.edc.extension.s3.types.S3Object;
 import io.minio.BucketExistsArgs;
 import io.minio.GetObjectArgs;
@@ -25,12 +24,28 @@ import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import io.minio.messages.Part;
 import org.eclipse.edc.spi.EdcException;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.lang.String.format;
@@ -38,32 +53,95 @@ import static java.lang.String.format;
 public class S3ConnectorImpl implements S3Connector {
 
     private static final long ENDPOINTS_CACHE_TTL = 3600000; // 1 Hour
+    private static final long ENDPOINTS_REFRESH_AHEAD = 300000; // 5 Minutes
+    private static final long REGIONS_THREAD_KEEP_ALIVE = 60000;
 
-    private final S3ApiClient S3ApiClient = new S3ApiClient();
+    private static final long MIN_PART_SIZE = 5242880; // 5 MB, S3 lower limit
+    private static final long MAX_PART_SIZE = 1073741824; // 1 GB, parts are buffered in memory
+    private static final int MAX_PARTS = 10000; // S3 upper limit
+    private static final long MIN_COPY_PART_SIZE = 268435456; // 256 MB, copied parts are not buffered
+    private static final long MAX_COPY_PART_SIZE = 5368709120L; // 5 GB, S3 upper limit
+
+    private static final int ACCESS_KEYS_PAGE_SIZE = 100;
+
+    private final S3ApiClient S3ApiClient;
 
     private String defaultRegionId;
     private final String accessKey;
     private final String secretKey;
     private String token;
     private final int maxFiles;
-
-    private final PassiveExpiringMap<String, String> endpointsCache = new PassiveExpiringMap<>(ENDPOINTS_CACHE_TTL);
-
-    public S3ConnectorImpl(String defaultRegionId, String accessKey, String secretKey, String token, int maxFiles) {
+    private final MinioClientRegistry clientRegistry;
+    private final MemoryBudget memoryBudget;
+    private final BufferPool bufferPool;
+    private final DiskStaging diskStaging;
+    private final S3AsyncConnector asyncConnector;
+    private final RegionSnapshotStore regionSnapshotStore;
+
+    // Created on first use, the connectors of the sinks only address endpoints
+    private volatile RegionEndpointCache endpointsCache;
+
+    public S3ConnectorImpl(String defaultRegionId, String accessKey, String secretKey, String token, int maxFiles,
+                           MinioClientRegistry clientRegistry, S3ApiClient apiClient, RegionSnapshotStore regionSnapshotStore,
+                           MemoryBudget memoryBudget, BufferPool bufferPool, DiskStaging diskStaging) {
         this.defaultRegionId = defaultRegionId;
         this.accessKey = accessKey;
         this.secretKey = secretKey;
         this.token = token;
         this.maxFiles = maxFiles;
+        this.clientRegistry = clientRegistry;
+        this.memoryBudget = memoryBudget;
+        this.bufferPool = bufferPool;
+        this.diskStaging = diskStaging;
+        this.S3ApiClient = apiClient;
+        this.regionSnapshotStore = regionSnapshotStore;
+        this.asyncConnector = new S3AsyncConnectorImpl(this, this::endpointsCache, clientRegistry, accessKey, secretKey);
     }
 
-    public S3ConnectorImpl(String accessKey, String secretKey, int maxFiles) {
-        this.accessKey = accessKey;
-        this.secretKey = secretKey;
-        this.maxFiles = maxFiles;
+    public S3ConnectorImpl(String accessKey, String secretKey, int maxFiles, MinioClientRegistry clientRegistry, S3ApiClient apiClient,
+                           MemoryBudget memoryBudget, BufferPool bufferPool, DiskStaging diskStaging) {
+        this(null, accessKey, secretKey, null, maxFiles, clientRegistry, apiClient, null, memoryBudget, bufferPool, diskStaging);
+    }
+
+    /**
+     * Fetches the regions from the IONOS API in the background, replacing the endpoints loaded from the snapshot.
+     */
+    public CompletableFuture<Void> refreshRegions() {
+        return endpointsCache().refreshAsync();
+    }
+
+    private RegionEndpointCache endpointsCache() {
+        var cache = endpointsCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = endpointsCache;
+                if (cache == null) {
+                    cache = createEndpointsCache();
+                    endpointsCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private RegionEndpointCache createEndpointsCache() {
+        // A single fetch runs at a time, its thread blocks on the IONOS API so it is kept off the common pool
+        var regionsExecutor = new ThreadPoolExecutor(1, 1, REGIONS_THREAD_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        regionsExecutor.allowCoreThreadTimeOut(true);
+        var cache = new RegionEndpointCache(() -> S3ApiClient.retrieveRegions(token),
+                endpoints -> {
+                    if (regionSnapshotStore != null) {
+                        regionSnapshotStore.save(endpoints);
+                    }
+                },
+                ENDPOINTS_CACHE_TTL, ENDPOINTS_REFRESH_AHEAD, regionsExecutor, Clock.systemUTC());
+        if (regionSnapshotStore != null) {
+            cache.seed(regionSnapshotStore.load());
+        }
+        return cache;
     }
 
-    private MinioClient buildClientByRegion(String regionId) {
+    private MinioClient getClientByRegion(String regionId) {
 
         String endpoint;
         if (regionId != null) {
@@ -72,18 +150,11 @@ public class S3ConnectorImpl implements S3Connector {
             endpoint = getEndpoint(defaultRegionId);
         }
 
-        return MinioClient.builder().
-                endpoint(endpoint).
-                credentials(accessKey, secretKey).
-                build();
+        return getClientByEndpoint(endpoint);
     }
 
-    private MinioClient buildClientByEndpoint(String endpoint) {
-
-        return MinioClient.builder().
-                endpoint(endpoint).
-                credentials(accessKey, secretKey).
-                build();
+    private MinioClient getClientByEndpoint(String endpoint) {
+        return clientRegistry.getClient(endpoint, accessKey, secretKey);
     }
 
     @Override
@@ -98,27 +169,14 @@ public class S3ConnectorImpl implements S3Connector {
 
     @Override
     public String getEndpoint(String regionId) {
-
-        if (endpointsCache.containsKey(regionId))
-            return endpointsCache.get(regionId);
-
-        var regions = S3ApiClient.retrieveRegions(token);
-
-        for (S3Region region: regions.getItems()) {
-            if (region.getId().equals(regionId)) {
-                var endpoint = "https://" + region.getProperties().getEndpoint();
-                endpointsCache.put(regionId, endpoint);
-                return endpoint;
-            }
-        }
-        throw new EdcException("Invalid region: " + regionId);
+        return endpointsCache().getEndpoint(regionId);
     }
 
     @Override
     public boolean bucketExists(String bucketName, String regionId) {
 
-        try (var minioClient = buildClientByRegion(regionId)) {
-            return minioClient.bucketExists(BucketExistsArgs.builder()
+        try {
+            return getClientByRegion(regionId).bucketExists(BucketExistsArgs.builder()
                     .bucket(bucketName.toLowerCase())
                     .build());
 
@@ -130,8 +188,8 @@ public class S3ConnectorImpl implements S3Connector {
     @Override
     public void createBucket(String bucketName, String regionId) {
 
-        try (var minioClient = buildClientByRegion(regionId)) {
-            minioClient.makeBucket(MakeBucketArgs.builder()
+        try {
+            getClientByRegion(regionId).makeBucket(MakeBucketArgs.builder()
                     .bucket(bucketName.toLowerCase())
                     .build());
         } catch (Exception e) {
@@ -142,8 +200,8 @@ public class S3ConnectorImpl implements S3Connector {
     @Override
     public void uploadObject(String bucketName, String endpoint, String objectName, ByteArrayInputStream stream) {
 
-        try (var minioClient = buildClientByEndpoint(endpoint)) {
-            minioClient.putObject(PutObjectArgs.builder()
+        try {
+            getClientByEndpoint(endpoint).putObject(PutObjectArgs.builder()
                     .bucket(bucketName.toLowerCase())
                     .object(objectName)
                     .stream(stream, stream.available(), -1)
@@ -153,6 +211,268 @@ public class S3ConnectorImpl implements S3Connector {
         }
     }
 
+    @Override
+    public void uploadObject(String bucketName, String endpoint, String objectName, InputStream stream, long size, long partSize,
+                             int maxConcurrentParts, Map<String, String> userMetadata, UploadCheckpoint checkpoint) {
+        var bucket = bucketName.toLowerCase();
+        var bufferSize = uploadPartSize(size, partSize);
+
+        // Part being filled, handed over to its upload once sent
+        PartBuffer buffer = null;
+        var inFlight = new AtomicInteger();
+        String uploadId = null;
+        Map<Integer, String> uploadedParts = Map.of();
+        try {
+            var previousUpload = (checkpoint != null) ? checkpoint.previousUpload() : null;
+            if (previousUpload != null && !isResumable(previousUpload, checkpoint, bufferSize)) {
+                // Parts of another size or of another version of the source object cannot be skipped in the stream, start over
+                asyncConnector.abortMultipartUpload(bucket, endpoint, objectName, previousUpload.uploadId()).exceptionally(error -> null).join();
+                checkpoint.uploadAborted();
+                previousUpload = null;
+            }
+
+            if (previousUpload != null) {
+                uploadId = previousUpload.uploadId();
+                uploadedParts = previousUpload.parts();
+            } else {
+                // Nothing is held yet, wait for the memory if needed
+                buffer = readPart(stream, bufferSize, () -> true);
+                if (buffer.length() < bufferSize) {
+                    // Fits in a single part
+                    try (var content = buffer.stream()) {
+                        getClientByEndpoint(endpoint).putObject(PutObjectArgs.builder()
+                                .bucket(bucket)
+                                .object(objectName)
+                                .stream(content, buffer.length(), -1)
+                                .userMetadata(userMetadata)
+                                .build());
+                    }
+                    return;
+                }
+
+                uploadId = asyncConnector.createMultipartUpload(bucket, endpoint, objectName, userMetadata).get();
+                if (checkpoint != null) {
+                    checkpoint.uploadStarted(uploadId, bufferSize);
+                }
+            }
+
+            var permits = new Semaphore(Math.max(maxConcurrentParts, 1));
+            var failure = new AtomicReference<Throwable>();
+            var uploads = new ArrayList<CompletableFuture<Part>>();
+            // Uploads of this attempt whose part is not recorded in the checkpoint yet
+            var unrecorded = new ArrayList<CompletableFuture<Part>>();
+            var partNumber = 0;
+            while (true) {
+                partNumber++;
+                if (buffer == null) {
+                    var etag = uploadedParts.get(partNumber);
+                    if (etag != null) {
+                        // Uploaded by the previous attempt
+                        if (skipPart(stream, bufferSize) == 0) {
+                            break;
+                        }
+                        uploads.add(CompletableFuture.completedFuture(new Part(partNumber, etag)));
+                        continue;
+                    }
+                    // The parts in flight release their memory when sent, wait for it only while some are left
+                    buffer = readPart(stream, bufferSize, () -> inFlight.get() > 0);
+                }
+                if (buffer.length() == 0) {
+                    break;
+                }
+                if (partNumber > MAX_PARTS) {
+                    throw new EdcException(format("Object exceeds the limit of %d parts of %d bytes", MAX_PARTS, bufferSize));
+                }
+
+                permits.acquire();
+                if (failure.get() != null) {
+                    break;
+                }
+                recordUploadedParts(unrecorded, checkpoint);
+
+                var sent = buffer;
+                var upload = sent.upload(bucket, endpoint, objectName, uploadId, partNumber);
+                inFlight.incrementAndGet();
+                buffer = null;
+                upload.whenComplete((part, error) -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                    }
+                    inFlight.decrementAndGet();
+                    sent.release();
+                    permits.release();
+                });
+                uploads.add(upload);
+                unrecorded.add(upload);
+            }
+
+            var parts = new Part[uploads.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = uploads.get(i).get();
+            }
+            recordUploadedParts(unrecorded, checkpoint);
+            asyncConnector.completeMultipartUpload(bucket, endpoint, objectName, uploadId, parts).get();
+
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Also set by the streams interrupted while reading
+            var interrupted = Thread.currentThread().isInterrupted();
+            // An interrupted upload is kept to be resumed after a restart, the data plane is likely stopping
+            if (uploadId != null && !(interrupted && checkpoint != null && checkpoint.isDurable())) {
+                asyncConnector.abortMultipartUpload(bucket, endpoint, objectName, uploadId).exceptionally(error -> null).join();
+                if (checkpoint != null) {
+                    checkpoint.uploadAborted();
+                }
+            }
+            throw new EdcException(format("Error uploading object %s in bucket %s, endpoint %s", objectName, bucketName, endpoint), e);
+        } finally {
+            if (buffer != null) {
+                buffer.release();
+            }
+        }
+    }
+
+    /**
+     * Records the parts uploaded since the last call. Called by the uploading thread rather than by the completion of
+     * the uploads, so the checkpoint is not written anymore once the upload is completed or aborted.
+     */
+    private static void recordUploadedParts(List<CompletableFuture<Part>> unrecorded, UploadCheckpoint checkpoint) {
+        if (checkpoint == null) {
+            return;
+        }
+        var iterator = unrecorded.iterator();
+        while (iterator.hasNext()) {
+            var upload = iterator.next();
+            if (upload.isDone() && !upload.isCompletedExceptionally()) {
+                var part = upload.join();
+                checkpoint.partUploaded(part.partNumber(), part.etag());
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isResumable(UploadCheckpoint.Upload upload, UploadCheckpoint checkpoint, long partSize) {
+        return (upload.partSize() == partSize) &&
+                Objects.equals(upload.sourceEtag(), checkpoint.sourceEtag()) &&
+                (upload.sourceSize() == checkpoint.sourceSize());
+    }
+
+    /**
+     * Skips a part in the stream, returning the bytes skipped, less than the part size at the end of the stream.
+     */
+    private static long skipPart(InputStream stream, long partSize) throws IOException {
+        var skipped = 0L;
+        while (skipped < partSize) {
+            var count = stream.skip(partSize - skipped);
+            if (count > 0) {
+                skipped += count;
+            } else if (stream.read() != -1) {
+                // Streams may skip nothing before their end
+                skipped++;
+            } else {
+                break;
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Reads the next part of the stream into a pooled buffer reserved from the memory budget. With disk staging, the
+     * part is staged in a temporary file instead of waiting for the memory.
+     */
+    /**
+     * Returns the configured part size within the S3 limits, increased when needed to fit an object of known size in
+     * the limit of parts.
+     */
+    private static int uploadPartSize(long size, long partSize) {
+        var minPartSize = Math.max(MIN_PART_SIZE, (size > 0) ? (size + MAX_PARTS - 1) / MAX_PARTS : 0);
+        if (minPartSize > MAX_PART_SIZE) {
+            throw new EdcException(format("Object of %d bytes exceeds the limit of %d parts of %d bytes", size, MAX_PARTS, MAX_PART_SIZE));
+        }
+        return (int) Math.min(Math.max(partSize, minPartSize), MAX_PART_SIZE);
+    }
+
+    private PartBuffer readPart(InputStream stream, int bufferSize, BooleanSupplier canWait) throws IOException, InterruptedException {
+        if (diskStaging == null) {
+            memoryBudget.acquire(bufferSize, canWait);
+        } else if (!memoryBudget.tryAcquire(bufferSize, diskStaging.threshold())) {
+            return new StagedPart(diskStaging.stage(stream, bufferSize));
+        }
+
+        var buffer = bufferPool.acquire(bufferSize);
+        try {
+            return new MemoryPart(buffer, stream.readNBytes(buffer, 0, bufferSize), bufferSize);
+        } catch (IOException e) {
+            bufferPool.release(buffer);
+            memoryBudget.release(bufferSize);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean supportsServerSideCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyObject(String sourceBucketName, String sourceObjectName, String bucketName, String endpoint, String objectName,
+                           long size, int maxConcurrentParts, Map<String, String> userMetadata) {
+        var bucket = bucketName.toLowerCase();
+        var copyPartSize = Math.max(MIN_COPY_PART_SIZE, (size + MAX_PARTS - 1) / MAX_PARTS);
+
+        String uploadId = null;
+        try {
+            if (size <= copyPartSize) {
+                asyncConnector.copyObject(sourceBucketName, sourceObjectName, bucket, endpoint, objectName, userMetadata).get();
+                return;
+            }
+            if (copyPartSize > MAX_COPY_PART_SIZE) {
+                throw new EdcException(format("Object exceeds the limit of %d parts of %d bytes", MAX_PARTS, MAX_COPY_PART_SIZE));
+            }
+
+            uploadId = asyncConnector.createMultipartUpload(bucket, endpoint, objectName, userMetadata).get();
+
+            var permits = new Semaphore(Math.max(maxConcurrentParts, 1));
+            var failure = new AtomicReference<Throwable>();
+            var copies = new ArrayList<CompletableFuture<Part>>();
+            var partNumber = 0;
+            for (long offset = 0; offset < size; offset += copyPartSize) {
+                permits.acquire();
+                if (failure.get() != null) {
+                    break;
+                }
+
+                var copy = asyncConnector.uploadPartCopy(sourceBucketName, sourceObjectName, offset, Math.min(copyPartSize, size - offset),
+                        bucket, endpoint, objectName, uploadId, ++partNumber);
+                copy.whenComplete((part, error) -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                    }
+                    permits.release();
+                });
+                copies.add(copy);
+            }
+
+            var parts = new Part[copies.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = copies.get(i).get();
+            }
+            asyncConnector.completeMultipartUpload(bucket, endpoint, objectName, uploadId, parts).get();
+
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (uploadId != null) {
+                asyncConnector.abortMultipartUpload(bucket, endpoint, objectName, uploadId).exceptionally(error -> null).join();
+            }
+            throw new EdcException(format("Error copying object %s of bucket %s to object %s in bucket %s, endpoint %s",
+                    sourceObjectName, sourceBucketName, objectName, bucketName, endpoint), e);
+        }
+    }
+
     @Override
     public ByteArrayInputStream getObject(String bucketName, String regionId, String objectName) {
         var request = GetObjectArgs.builder()
@@ -160,7 +480,7 @@ public class S3ConnectorImpl implements S3Connector {
                 .object(objectName)
                 .build();
 
-        try (var minioClient = buildClientByRegion(regionId); var response = minioClient.getObject(request)) {
+        try (var response = getClientByRegion(regionId).getObject(request)) {
             return new ByteArrayInputStream(response.readAllBytes());
         } catch (Exception e) {
             throw new EdcException(format("Error getting object %s in bucket %s, region %s", objectName, bucketName, regionId), e);
@@ -176,34 +496,78 @@ public class S3ConnectorImpl implements S3Connector {
                 .length(length)
                 .build();
 
-        try (var minioClient = buildClientByRegion(regionId); var response = minioClient.getObject(request)) {
+        try (var response = getClientByRegion(regionId).getObject(request)) {
             return new ByteArrayInputStream(response.readAllBytes());
         } catch (Exception e) {
             throw new EdcException(format("Error getting object %s in bucket %s, region %s", objectName, bucketName, regionId), e);
         }
     }
 
+    @Override
+    public InputStream streamObject(String bucketName, String regionId, String objectName) {
+        var request = GetObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .build();
+
+        try {
+            return getClientByRegion(regionId).getObject(request);
+        } catch (Exception e) {
+            throw new EdcException(format("Error streaming object %s in bucket %s, region %s", objectName, bucketName, regionId), e);
+        }
+    }
+
+    @Override
+    public InputStream streamObject(String bucketName, String regionId, String objectName, long offset, long length) {
+        var request = GetObjectArgs.builder()
+                .bucket(bucketName.toLowerCase())
+                .object(objectName)
+                .offset(offset)
+                .length(length)
+                .build();
+
+        try {
+            return getClientByRegion(regionId).getObject(request);
+        } catch (Exception e) {
+            throw new EdcException(format("Error streaming object %s in bucket %s, region %s", objectName, bucketName, regionId), e);
+        }
+    }
+
     @Override
     public List<S3Object> listObjects(String bucketName, String regionId, String objectName) {
+        try (var objects = streamObjects(bucketName, regionId, objectName)) {
+            return objects.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Stream<S3Object> streamObjects(String bucketName, String regionId, String objectName) {
+        return streamObjects(bucketName, regionId, objectName, null);
+    }
+
+    @Override
+    public Stream<S3Object> streamObjects(String bucketName, String regionId, String objectName, String startAfter) {
 
-        try (var minioClient = buildClientByRegion(regionId)) {
-            var objects = minioClient.listObjects(ListObjectsArgs.builder()
+        try {
+            var args = ListObjectsArgs.builder()
                     .bucket(bucketName.toLowerCase())
                     .prefix(objectName)
                     .recursive(true)
-                    .maxKeys(maxFiles)
-                    .build());
+                    .maxKeys(maxFiles);
+            if (startAfter != null) {
+                args.startAfter(startAfter);
+            }
+            var objects = getClientByRegion(regionId).listObjects(args.build());
 
             return StreamSupport.stream(objects.spliterator(), false)
                     .map(item -> {
                         try {
                             return item.get();
                         } catch (Exception e) {
-                            throw new EdcException("Error fetching object", e);
+                            throw new EdcException(format("Error listing objects with prefix %s in bucket %s, region %s", objectName, bucketName, regionId), e);
                         }
                     })
-                    .map(item -> new S3Object(item.objectName(), item.size()))
-                    .collect(Collectors.toList());
+                    .map(item -> new S3Object(item.objectName(), item.size(), item.etag()));
 
         } catch (Exception e) {
             throw new EdcException(format("Error listing objects with prefix %s in bucket %s, region %s", objectName, bucketName, regionId), e);
@@ -219,6 +583,15 @@ public class S3ConnectorImpl implements S3Connector {
         }
     }
 
+    @Override
+    public S3AccessKey createAccessKey(String description) {
+        try {
+            return S3ApiClient.createAccessKey(token, description);
+        } catch (Exception e) {
+            throw new EdcException("Error creating access key", e);
+        }
+    }
+
     @Override
     public  S3AccessKey retrieveAccessKey(String keyID) {
         try{
@@ -227,6 +600,33 @@ public class S3ConnectorImpl implements S3Connector {
             throw new EdcException("Error retrieving access key", e);
         }
     }
+
+    @Override
+    public boolean supportsAccessKeyListing() {
+        return true;
+    }
+
+    @Override
+    public List<S3AccessKey> listAccessKeys() {
+        try {
+            var accessKeys = new ArrayList<S3AccessKey>();
+            var offset = 0;
+            while (true) {
+                var page = S3ApiClient.listAccessKeys(token, offset, ACCESS_KEYS_PAGE_SIZE).getItems();
+                if (page == null) {
+                    break;
+                }
+                accessKeys.addAll(page);
+                if (page.size() < ACCESS_KEYS_PAGE_SIZE) {
+                    break;
+                }
+                offset += page.size();
+            }
+            return accessKeys;
+        } catch (Exception e) {
+            throw new EdcException("Error listing access keys", e);
+        }
+    }
  
 	@Override
 	public void deleteAccessKey(String keyID) {
@@ -236,4 +636,89 @@ public class S3ConnectorImpl implements S3Connector {
             throw new EdcException("Error deleting access key", e);
         }
 	}
+
+    @Override
+    public S3AsyncConnector async() {
+        return asyncConnector;
+    }
+
+    /**
+     * Part of an upload, read from the stream before being sent.
+     */
+    private interface PartBuffer {
+
+        long length();
+
+        InputStream stream() throws IOException;
+
+        CompletableFuture<Part> upload(String bucket, String endpoint, String objectName, String uploadId, int partNumber);
+
+        /**
+         * Frees the part once sent, or not needed anymore.
+         */
+        void release();
+    }
+
+    private class MemoryPart implements PartBuffer {
+
+        private final byte[] buffer;
+        private final int length;
+        private final long reserved;
+
+        MemoryPart(byte[] buffer, int length, long reserved) {
+            this.buffer = buffer;
+            this.length = length;
+            this.reserved = reserved;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public InputStream stream() {
+            return new ByteArrayInputStream(buffer, 0, length);
+        }
+
+        @Override
+        public CompletableFuture<Part> upload(String bucket, String endpoint, String objectName, String uploadId, int partNumber) {
+            return asyncConnector.uploadPart(bucket, endpoint, objectName, uploadId, partNumber, buffer, length);
+        }
+
+        @Override
+        public void release() {
+            bufferPool.release(buffer);
+            memoryBudget.release(reserved);
+        }
+    }
+
+    private class StagedPart implements PartBuffer {
+
+        private final DiskStaging.StagedFile staged;
+
+        StagedPart(DiskStaging.StagedFile staged) {
+            this.staged = staged;
+        }
+
+        @Override
+        public long length() {
+            return staged.length();
+        }
+
+        @Override
+        public InputStream stream() throws IOException {
+            return Files.newInputStream(staged.file());
+        }
+
+        @Override
+        public CompletableFuture<Part> upload(String bucket, String endpoint, String objectName, String uploadId, int partNumber) {
+            return asyncConnector.uploadPart(bucket, endpoint, objectName, uploadId, partNumber, staged.file(), staged.length());
+        }
+
+        @Override
+        public void release() {
+            diskStaging.delete(staged.file());
+        }
+    }
 }
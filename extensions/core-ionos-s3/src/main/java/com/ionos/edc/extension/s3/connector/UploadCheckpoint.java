@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import java.util.Map;
+
+/**
+ * Records the progress of a multipart upload, so an upload interrupted by a restart is resumed instead of being
+ * started over. An upload is only resumed for the same version of the source object.
+ */
+public interface UploadCheckpoint {
+
+    /**
+     * Multipart upload started by a previous attempt for a version of the source object, with the ETags of its
+     * uploaded parts by part number.
+     */
+    record Upload(String uploadId, long partSize, String sourceEtag, long sourceSize, Map<Integer, String> parts) {}
+
+    /**
+     * Returns the upload to resume, or null to start a new one.
+     */
+    Upload previousUpload();
+
+    /**
+     * ETag of the source object being uploaded.
+     */
+    String sourceEtag();
+
+    long sourceSize();
+
+    /**
+     * Whether the checkpoint outlives a restart of the data plane, an interrupted upload is only kept to be resumed
+     * if it does.
+     */
+    boolean isDurable();
+
+    void uploadStarted(String uploadId, long partSize);
+
+    void partUploaded(int partNumber, String etag);
+
+    /**
+     * The upload was aborted and cannot be resumed anymore.
+     */
+    void uploadAborted();
+}
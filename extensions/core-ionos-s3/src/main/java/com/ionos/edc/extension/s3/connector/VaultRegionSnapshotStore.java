@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.extension.s3.connector;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.security.Vault;
+
+import java.util.Map;
+
+/**
+ * Keeps the region snapshot as a JSON secret in the vault, for deployments without a persistent local disk.
+ */
+public class VaultRegionSnapshotStore implements RegionSnapshotStore {
+
+    private static final String SECRET_KEY = "edc.ionos.region.snapshot";
+
+    private final Vault vault;
+    private final Monitor monitor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public VaultRegionSnapshotStore(Vault vault, Monitor monitor) {
+        this.vault = vault;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Map<String, String> load() {
+        var secret = vault.resolveSecret(SECRET_KEY);
+        if (secret == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(secret, new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            monitor.warning("[IonosS3] Ignoring unreadable region snapshot in vault secret " + SECRET_KEY, e);
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void save(Map<String, String> endpoints) {
+        try {
+            var result = vault.storeSecret(SECRET_KEY, objectMapper.writeValueAsString(endpoints));
+            if (result.failed()) {
+                monitor.warning("[IonosS3] Error saving region snapshot in vault: " + result.getFailureDetail());
+            }
+        } catch (JsonProcessingException e) {
+            monitor.warning("[IonosS3] Error saving region snapshot in vault", e);
+        }
+    }
+}
@@ -27,6 +27,9 @@ public interface IonosBucketSchema {
     String PATH = EDC_NAMESPACE + "path";
     String FILTER_INCLUDES = EDC_NAMESPACE + "filter.includes";
     String FILTER_EXCLUDES = EDC_NAMESPACE + "filter.excludes";
+    String CHUNK_SIZE = EDC_NAMESPACE + "chunkSize";
+    String SYNC = EDC_NAMESPACE + "sync";
+    String SYNC_DELETE = EDC_NAMESPACE + "syncDelete";
 
     String ENDPOINT = EDC_NAMESPACE + "endpoint";
     String MAX_FILES = EDC_NAMESPACE + "maxFiles";
@@ -21,10 +21,87 @@ public interface IonosSettingsSchema {
     String IONOS_TOKEN = "edc.ionos.token";
     String IONOS_KEY_VALIDATION_ATTEMPTS = "edc.ionos.key.validation.attempts";
     String IONOS_KEY_VALIDATION_DELAY = "edc.ionos.key.validation.delay";
+    String IONOS_KEY_POOL_SIZE = "edc.ionos.key.pool.size";
+    String IONOS_KEY_POOL_REFILL_INTERVAL = "edc.ionos.key.pool.refill.interval";
+    String IONOS_KEY_POOL_MAX_AGE = "edc.ionos.key.pool.max.age";
+    String IONOS_KEY_DELETION_BATCH_SIZE = "edc.ionos.key.deletion.batch.size";
+    String IONOS_KEY_DELETION_INTERVAL = "edc.ionos.key.deletion.interval";
+    String IONOS_KEY_SWEEPER_INTERVAL = "edc.ionos.key.sweeper.interval";
+    String IONOS_KEY_SWEEPER_MAX_AGE = "edc.ionos.key.sweeper.max.age";
+    String IONOS_BUCKET_CACHE_TTL = "edc.ionos.bucket.cache.ttl";
     String IONOS_MAX_FILES = "edc.ionos.max.files";
+    String IONOS_API_MAX_IDLE_CONNECTIONS = "edc.ionos.api.max.idle.connections";
+    String IONOS_API_KEEP_ALIVE = "edc.ionos.api.keep.alive";
+    String IONOS_API_CONNECT_TIMEOUT = "edc.ionos.api.connect.timeout";
+    String IONOS_API_READ_TIMEOUT = "edc.ionos.api.read.timeout";
+    String IONOS_API_RATE = "edc.ionos.api.rate";
+    String IONOS_API_BURST = "edc.ionos.api.burst";
+    String IONOS_API_CIRCUIT_FAILURE_THRESHOLD = "edc.ionos.api.circuit.failure.threshold";
+    String IONOS_API_CIRCUIT_OPEN_DURATION = "edc.ionos.api.circuit.open.duration";
+    String IONOS_CLIENT_MAX_IDLE_CONNECTIONS = "edc.ionos.client.max.idle.connections";
+    String IONOS_CLIENT_KEEP_ALIVE = "edc.ionos.client.keep.alive";
+    String IONOS_CLIENT_MAX_REQUESTS_PER_HOST = "edc.ionos.client.max.requests.per.host";
+    String IONOS_CLIENT_IDLE_TIMEOUT = "edc.ionos.client.idle.timeout";
+    String IONOS_CLIENT_WARM_CONNECTIONS = "edc.ionos.client.warm.connections";
+    String IONOS_MEMORY_BUDGET = "edc.ionos.memory.budget";
+    String IONOS_BUFFER_POOL_SIZE = "edc.ionos.buffer.pool.size";
+    String IONOS_STAGING_ENABLED = "edc.ionos.staging.enabled";
+    String IONOS_STAGING_DIRECTORY = "edc.ionos.staging.directory";
+    String IONOS_STAGING_THRESHOLD = "edc.ionos.staging.threshold";
+    String IONOS_REGION_SNAPSHOT_PATH = "edc.ionos.region.snapshot.path";
+    String IONOS_UPLOAD_PART_SIZE = "edc.ionos.upload.part.size";
+    String IONOS_UPLOAD_MAX_CONCURRENT_PARTS = "edc.ionos.upload.max.concurrent.parts";
+    String IONOS_SINK_CONNECTOR_CACHE_SIZE = "edc.ionos.sink.connector.cache.size";
+    String IONOS_COPY_SERVER_SIDE = "edc.ionos.copy.server.side";
+    String IONOS_SYNC_DELETE_DRY_RUN = "edc.ionos.sync.delete.dry.run";
+    String IONOS_CHUNK_SIZE_MIN = "edc.ionos.chunk.size.min";
+    String IONOS_CHUNK_ADAPTIVE = "edc.ionos.chunk.adaptive";
+    String IONOS_CHUNK_ADAPTIVE_DURATION = "edc.ionos.chunk.adaptive.duration";
+    String IONOS_DOWNLOAD_RANGE_PARALLELISM = "edc.ionos.download.range.parallelism";
+    String IONOS_DOWNLOAD_RANGE_THREADS = "edc.ionos.download.range.threads";
+    String IONOS_CHECKPOINT_DATASOURCE = "edc.ionos.checkpoint.datasource";
+    String IONOS_CHECKPOINT_SWEEPER_INTERVAL = "edc.ionos.checkpoint.sweeper.interval";
+    String IONOS_CHECKPOINT_SWEEPER_MAX_AGE = "edc.ionos.checkpoint.sweeper.max.age";
 
     String IONOS_REGION_DEFAULT = "de";
     int IONOS_MAX_FILES_DEFAULT = 1000;
     int IONOS_KEY_VALIDATION_ATTEMPTS_DEFAULT = 10;
     long IONOS_KEY_VALIDATION_DELAY_DEFAULT = 3000;
+    int IONOS_KEY_POOL_SIZE_DEFAULT = 0;
+    long IONOS_KEY_POOL_REFILL_INTERVAL_DEFAULT = 1000;
+    long IONOS_KEY_POOL_MAX_AGE_DEFAULT = 1800000;
+    int IONOS_KEY_DELETION_BATCH_SIZE_DEFAULT = 10;
+    long IONOS_KEY_DELETION_INTERVAL_DEFAULT = 1000;
+    long IONOS_KEY_SWEEPER_INTERVAL_DEFAULT = 3600000;
+    long IONOS_KEY_SWEEPER_MAX_AGE_DEFAULT = 86400000;
+    long IONOS_BUCKET_CACHE_TTL_DEFAULT = 60000;
+    int IONOS_API_MAX_IDLE_CONNECTIONS_DEFAULT = 8;
+    long IONOS_API_KEEP_ALIVE_DEFAULT = 300000;
+    long IONOS_API_CONNECT_TIMEOUT_DEFAULT = 10000;
+    long IONOS_API_READ_TIMEOUT_DEFAULT = 30000;
+    double IONOS_API_RATE_DEFAULT = 10;
+    int IONOS_API_BURST_DEFAULT = 20;
+    int IONOS_API_CIRCUIT_FAILURE_THRESHOLD_DEFAULT = 5;
+    long IONOS_API_CIRCUIT_OPEN_DURATION_DEFAULT = 30000;
+    int IONOS_CLIENT_MAX_IDLE_CONNECTIONS_DEFAULT = 32;
+    long IONOS_CLIENT_KEEP_ALIVE_DEFAULT = 300000;
+    int IONOS_CLIENT_MAX_REQUESTS_PER_HOST_DEFAULT = 64;
+    long IONOS_CLIENT_IDLE_TIMEOUT_DEFAULT = 600000;
+    int IONOS_CLIENT_WARM_CONNECTIONS_DEFAULT = 4;
+    long IONOS_BUFFER_POOL_SIZE_DEFAULT = 67108864;
+    boolean IONOS_STAGING_ENABLED_DEFAULT = false;
+    long IONOS_STAGING_THRESHOLD_DEFAULT = Long.MAX_VALUE;
+    long IONOS_UPLOAD_PART_SIZE_DEFAULT = 16777216;
+    int IONOS_UPLOAD_MAX_CONCURRENT_PARTS_DEFAULT = 4;
+    int IONOS_SINK_CONNECTOR_CACHE_SIZE_DEFAULT = 128;
+    boolean IONOS_COPY_SERVER_SIDE_DEFAULT = true;
+    boolean IONOS_SYNC_DELETE_DRY_RUN_DEFAULT = false;
+    long IONOS_CHUNK_SIZE_MIN_DEFAULT = 8388608;
+    boolean IONOS_CHUNK_ADAPTIVE_DEFAULT = false;
+    long IONOS_CHUNK_ADAPTIVE_DURATION_DEFAULT = 2000;
+    int IONOS_DOWNLOAD_RANGE_PARALLELISM_DEFAULT = 1;
+    int IONOS_DOWNLOAD_RANGE_THREADS_DEFAULT = 32;
+    String IONOS_CHECKPOINT_DATASOURCE_DEFAULT = "default";
+    long IONOS_CHECKPOINT_SWEEPER_INTERVAL_DEFAULT = 3600000;
+    long IONOS_CHECKPOINT_SWEEPER_MAX_AGE_DEFAULT = 604800000;
 }
\ No newline at end of file
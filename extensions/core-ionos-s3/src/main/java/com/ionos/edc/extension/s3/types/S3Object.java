@@ -14,7 +14,20 @@
 
 package com.ionos.edc.extension.s3.types;
 
-public record S3Object(String objectName, long size) {
+/**
+ * An object listed from a bucket. The ETag is stripped from its quotes, it is null when unknown.
+ */
+public record S3Object(String objectName, long size, String etag) {
+
+    public S3Object(String objectName, long size) {
+        this(objectName, size, null);
+    }
+
+    public S3Object {
+        if (etag != null && etag.length() > 1 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+    }
 
     public boolean isDirectory() {
         return objectName.endsWith("/");
@@ -28,12 +41,14 @@ public record S3Object(String objectName, long size) {
         if (isRootObject(blobName))
             return objectName;
 
-        var shortObjectName = objectName.replaceFirst(blobName, "");
+        if (!objectName.startsWith(blobName))
+            return objectName;
+
+        var start = blobName.length();
+        if (objectName.startsWith("/", start))
+            start++;
 
-        if (shortObjectName.indexOf("/") == 0)
-            return shortObjectName.replaceFirst("/", "");
-        else
-            return shortObjectName;
+        return objectName.substring(start);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ApiCircuitBreakerTest {
+
+    private static final int FAILURE_THRESHOLD = 2;
+    private static final long OPEN_DURATION = 30000;
+
+    private final Clock clock = mock(Clock.class);
+    private final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+    private final Request request = new Request.Builder().url("https://s3.ionos.com/regions").build();
+
+    private ApiCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        when(clock.millis()).thenReturn(0L);
+        when(chain.request()).thenReturn(request);
+        circuitBreaker = new ApiCircuitBreaker(mock(Monitor.class), FAILURE_THRESHOLD, OPEN_DURATION, clock);
+    }
+
+    @Test
+    public void intercept_serverErrors_openCircuit() throws IOException {
+        when(chain.proceed(request)).thenAnswer(invocation -> response(503));
+
+        circuitBreaker.intercept(chain);
+        circuitBreaker.intercept(chain);
+
+        assertThrows(IOException.class, () -> circuitBreaker.intercept(chain));
+        verify(chain, times(FAILURE_THRESHOLD)).proceed(request);
+    }
+
+    @Test
+    public void intercept_ioErrors_openCircuit() throws IOException {
+        when(chain.proceed(request)).thenThrow(new IOException("Connection reset"));
+
+        assertThrows(IOException.class, () -> circuitBreaker.intercept(chain));
+        assertThrows(IOException.class, () -> circuitBreaker.intercept(chain));
+        assertThrows(IOException.class, () -> circuitBreaker.intercept(chain));
+
+        verify(chain, times(FAILURE_THRESHOLD)).proceed(request);
+    }
+
+    @Test
+    public void intercept_tooManyRequests_notCountedAsFailure() throws IOException {
+        when(chain.proceed(request)).thenAnswer(invocation -> response(429));
+
+        for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+            assertEquals(429, circuitBreaker.intercept(chain).code());
+        }
+        verify(chain, times(FAILURE_THRESHOLD + 1)).proceed(request);
+    }
+
+    @Test
+    public void intercept_success_resetsFailures() throws IOException {
+        when(chain.proceed(request)).thenAnswer(invocation -> response(500), invocation -> response(200),
+                invocation -> response(500), invocation -> response(200));
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.intercept(chain);
+        }
+        verify(chain, times(4)).proceed(request);
+    }
+
+    @Test
+    public void intercept_afterOpenDuration_trialSuccessClosesCircuit() throws IOException {
+        when(chain.proceed(request)).thenAnswer(invocation -> response(500), invocation -> response(500), invocation -> response(200));
+        circuitBreaker.intercept(chain);
+        circuitBreaker.intercept(chain);
+
+        when(clock.millis()).thenReturn(OPEN_DURATION);
+        assertEquals(200, circuitBreaker.intercept(chain).code());
+        assertEquals(200, circuitBreaker.intercept(chain).code());
+    }
+
+    @Test
+    public void intercept_afterOpenDuration_trialFailureOpensCircuit() throws IOException {
+        when(chain.proceed(request)).thenAnswer(invocation -> response(500));
+        circuitBreaker.intercept(chain);
+        circuitBreaker.intercept(chain);
+
+        when(clock.millis()).thenReturn(OPEN_DURATION);
+        assertEquals(500, circuitBreaker.intercept(chain).code());
+
+        assertThrows(IOException.class, () -> circuitBreaker.intercept(chain));
+        verify(chain, times(FAILURE_THRESHOLD + 1)).proceed(request);
+    }
+
+    private Response response(int code) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApiRateLimiterTest {
+
+    @Test
+    public void acquire_burst_notLimited() throws Exception {
+        var rateLimiter = new ApiRateLimiter(1, 3);
+
+        var start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+        }
+
+        assertTrue(elapsedMillis(start) < 500);
+    }
+
+    @Test
+    public void acquire_emptyBucket_waitsForRefill() throws Exception {
+        var rateLimiter = new ApiRateLimiter(5, 1);
+        rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+
+        var start = System.nanoTime();
+        rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+
+        // One token every 200 ms
+        assertTrue(elapsedMillis(start) >= 150);
+    }
+
+    @Test
+    public void acquire_lowPriority_yieldsToHighPriority() throws Exception {
+        var rateLimiter = new ApiRateLimiter(5, 1);
+        rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+
+        List<ApiRateLimiter.Priority> order = new CopyOnWriteArrayList<>();
+        var high = new Thread(() -> acquire(rateLimiter, ApiRateLimiter.Priority.HIGH, order));
+        var low = new Thread(() -> acquire(rateLimiter, ApiRateLimiter.Priority.LOW, order));
+        high.start();
+        // Lets the HIGH request wait for the refill first
+        Thread.sleep(50);
+        low.start();
+
+        high.join(5000);
+        low.join(5000);
+        assertEquals(List.of(ApiRateLimiter.Priority.HIGH, ApiRateLimiter.Priority.LOW), order);
+    }
+
+    @Test
+    public void acquire_lowPriority_servedOnceHighPriorityDrained() throws Exception {
+        var rateLimiter = new ApiRateLimiter(5, 1);
+        rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+
+        var start = System.nanoTime();
+        var high = new Thread(() -> acquire(rateLimiter, ApiRateLimiter.Priority.HIGH, new CopyOnWriteArrayList<>()));
+        high.start();
+        Thread.sleep(50);
+        rateLimiter.acquire(ApiRateLimiter.Priority.LOW);
+        high.join(5000);
+
+        // Second refill, after the one taken by the HIGH request
+        assertTrue(elapsedMillis(start) >= 250);
+    }
+
+    @Test
+    public void intercept_tooManyRequests_blocksUntilRetryAfter() throws Exception {
+        var rateLimiter = new ApiRateLimiter(100, 10);
+        var request = new Request.Builder().url("https://s3.ionos.com/accesskeys").build();
+        var chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(request)).thenReturn(new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(429)
+                .message("")
+                .header("Retry-After", "1")
+                .build());
+
+        rateLimiter.intercept(chain);
+
+        var start = System.nanoTime();
+        rateLimiter.acquire(ApiRateLimiter.Priority.HIGH);
+        assertTrue(elapsedMillis(start) >= 900);
+    }
+
+    private static void acquire(ApiRateLimiter rateLimiter, ApiRateLimiter.Priority priority, List<ApiRateLimiter.Priority> order) {
+        try {
+            rateLimiter.acquire(priority);
+            order.add(priority);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
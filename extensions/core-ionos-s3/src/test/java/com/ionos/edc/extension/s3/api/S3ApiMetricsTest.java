@@ -0,0 +1,87 @@
+package com.ionos.edc.extension.s3.api;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class S3ApiMetricsTest {
+
+    private final S3ApiMetrics apiMetrics = new S3ApiMetrics();
+
+    @Test
+    public void endpoint_collection() {
+        assertEquals("GET /regions", S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/regions")));
+        assertEquals("GET /accesskeys", S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/accesskeys?depth=1&offset=0&limit=100")));
+        assertEquals("GET /", S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/")));
+    }
+
+    @Test
+    public void endpoint_idsTemplated() {
+        assertEquals("DELETE /accesskeys/{id}",
+                S3ApiMetrics.endpoint(request("DELETE", "https://s3.ionos.com/accesskeys/6f1ed1c3-0ffb-4a4e-8c3a-1b1d4b5f9a2e")));
+        assertEquals("GET /regions/{id}", S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/regions/eu-central-2/")));
+    }
+
+    @Test
+    public void endpoint_nestedResources_allIdsTemplated() {
+        assertEquals("GET /accesskeys/{id}/keys/{id}",
+                S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/accesskeys/key1/keys/key2")));
+    }
+
+    @Test
+    public void endpoint_version_kept() {
+        assertEquals("GET /v1/accesskeys/{id}", S3ApiMetrics.endpoint(request("GET", "https://s3.ionos.com/v1/accesskeys/key1")));
+    }
+
+    @Test
+    public void intercept_recordsByEndpoint() throws IOException {
+        intercept(request("GET", "https://s3.ionos.com/accesskeys/key1"), 200);
+        intercept(request("GET", "https://s3.ionos.com/accesskeys/key2"), 404);
+        intercept(request("DELETE", "https://s3.ionos.com/accesskeys/key1"), 200);
+
+        var snapshot = apiMetrics.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals(2, snapshot.get("GET /accesskeys/{id}").requests());
+        assertEquals(1, snapshot.get("GET /accesskeys/{id}").errors());
+        assertEquals(1, snapshot.get("DELETE /accesskeys/{id}").requests());
+        assertEquals(0, snapshot.get("DELETE /accesskeys/{id}").errors());
+    }
+
+    @Test
+    public void intercept_ioError_recorded() throws IOException {
+        var chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request("GET", "https://s3.ionos.com/regions"));
+        when(chain.proceed(any())).thenThrow(new IOException("Connection reset"));
+
+        assertThrows(IOException.class, () -> apiMetrics.intercept(chain));
+
+        assertEquals(1, apiMetrics.snapshot().get("GET /regions").errors());
+    }
+
+    private void intercept(Request request, int code) throws IOException {
+        var chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(request)).thenReturn(new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .build());
+        apiMetrics.intercept(chain);
+    }
+
+    private static Request request(String method, String url) {
+        return new Request.Builder().url(url).method(method, null).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.eclipse.edc.spi.EdcException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BlockingS3AsyncConnectorTest {
+
+    private static final String BUCKET = "bucket1";
+    private static final String ENDPOINT = "https://s3.de.example";
+    private static final String OBJECT = "device1-data.csv";
+
+    private final S3Connector connector = mock(S3Connector.class);
+    private final BlockingS3AsyncConnector asyncConnector = new BlockingS3AsyncConnector(connector);
+
+    @Test
+    public void bucketExists_completed() {
+        when(connector.bucketExists(BUCKET, "de")).thenReturn(true);
+
+        var future = asyncConnector.bucketExists(BUCKET, "de");
+
+        assertTrue(future.isDone());
+        assertTrue(future.join());
+    }
+
+    @Test
+    public void uploadObject_callsBlockingUpload() {
+        asyncConnector.uploadObject(BUCKET, ENDPOINT, OBJECT, new byte[10]).join();
+
+        verify(connector).uploadObject(any(), any(), any(), any(ByteArrayInputStream.class));
+    }
+
+    @Test
+    public void getEndpoint_edcException_failedFuture() {
+        var cause = new EdcException("Region not found");
+        when(connector.getEndpoint("xx")).thenThrow(cause);
+
+        assertSame(cause, failure(asyncConnector.getEndpoint("xx")));
+    }
+
+    @Test
+    public void createBucket_otherException_wrapped() {
+        var cause = new IllegalStateException("Client closed");
+        doThrow(cause).when(connector).createBucket(BUCKET, "de");
+
+        var error = failure(asyncConnector.createBucket(BUCKET, "de"));
+
+        assertInstanceOf(EdcException.class, error);
+        assertSame(cause, error.getCause());
+    }
+
+    @Test
+    public void multipartOperations_notSupported() {
+        assertUnsupported(asyncConnector.createMultipartUpload(BUCKET, ENDPOINT, OBJECT, Map.of()));
+        assertUnsupported(asyncConnector.uploadPart(BUCKET, ENDPOINT, OBJECT, "upload1", 1, new byte[10], 10));
+        assertUnsupported(asyncConnector.completeMultipartUpload(BUCKET, ENDPOINT, OBJECT, "upload1", null));
+        assertUnsupported(asyncConnector.abortMultipartUpload(BUCKET, ENDPOINT, OBJECT, "upload1"));
+        assertUnsupported(asyncConnector.copyObject("source", OBJECT, BUCKET, ENDPOINT, OBJECT, Map.of()));
+        assertUnsupported(asyncConnector.listEndpointObjects(BUCKET, ENDPOINT, "devices/"));
+        assertUnsupported(asyncConnector.deleteObject(BUCKET, ENDPOINT, OBJECT));
+    }
+
+    private static void assertUnsupported(CompletableFuture<?> future) {
+        var error = failure(future);
+        assertInstanceOf(EdcException.class, error);
+        assertInstanceOf(UnsupportedOperationException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains(S3Connector.class.getSimpleName()));
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        assertTrue(future.isCompletedExceptionally());
+        return assertThrows(CompletionException.class, future::join).getCause();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ionos.edc.extension.s3.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a stream in parts like the multipart uploads, holding a number of parts as if they were being uploaded, and
+ * reports the bytes allocated and the garbage collections with {@code readNBytes(int)}, which allocates every part,
+ * and with the buffer pool. Run with {@code ./gradlew :extensions:core-ionos-s3:bufferPoolBenchmark}, with
+ * {@code -PbenchmarkArgs="<total size> <part size> <parts in flight>"}, the sizes in MiB, by default 8192 16 4.
+ */
+public class BufferPoolBenchmark {
+
+    private static final long MB = 1024 * 1024;
+
+    private record Measure(long allocatedBytes, long collections, long collectionMillis, long elapsedMillis) {}
+
+    public static void main(String[] args) throws IOException {
+        var totalSize = (args.length > 0 ? Long.parseLong(args[0]) : 8192) * MB;
+        var partSize = (int) ((args.length > 1 ? Long.parseLong(args[1]) : 16) * MB);
+        var inFlight = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        System.out.printf("%d MiB in parts of %d MiB, %d parts in flight, %d MiB heap%n",
+                totalSize / MB, partSize / MB, inFlight, Runtime.getRuntime().maxMemory() / MB);
+
+        // Warms up both loops before measuring
+        readAllocated(new SizedInputStream(totalSize / 16), partSize, inFlight);
+        readPooled(new SizedInputStream(totalSize / 16), partSize, inFlight);
+
+        report("readNBytes", measure(() -> readAllocated(new SizedInputStream(totalSize), partSize, inFlight)));
+        report("pooled", measure(() -> readPooled(new SizedInputStream(totalSize), partSize, inFlight)));
+    }
+
+    private static void readAllocated(InputStream stream, int partSize, int inFlight) throws IOException {
+        var parts = new ArrayDeque<byte[]>();
+        while (true) {
+            var part = stream.readNBytes(partSize);
+            if (part.length == 0) {
+                return;
+            }
+            parts.addLast(part);
+            if (parts.size() > inFlight) {
+                parts.removeFirst();
+            }
+        }
+    }
+
+    private static void readPooled(InputStream stream, int partSize, int inFlight) throws IOException {
+        var bufferPool = new BufferPool(64 * MB);
+        var parts = new ArrayDeque<byte[]>();
+        while (true) {
+            var part = bufferPool.acquire(partSize);
+            if (stream.readNBytes(part, 0, partSize) == 0) {
+                bufferPool.release(part);
+                return;
+            }
+            parts.addLast(part);
+            if (parts.size() > inFlight) {
+                bufferPool.release(parts.removeFirst());
+            }
+        }
+    }
+
+    private interface Loop {
+        void run() throws IOException;
+    }
+
+    private static Measure measure(Loop loop) throws IOException {
+        System.gc();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        var allocated = threads.getCurrentThreadAllocatedBytes();
+        var collections = collections(collectors);
+        var collectionMillis = collectionMillis(collectors);
+        var start = System.nanoTime();
+
+        loop.run();
+
+        return new Measure(threads.getCurrentThreadAllocatedBytes() - allocated, collections(collectors) - collections,
+                collectionMillis(collectors) - collectionMillis, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long collections(List<GarbageCollectorMXBean> collectors) {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis(List<GarbageCollectorMXBean> collectors) {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static void report(String name, Measure measure) {
+        System.out.printf(Locale.ROOT, "%-10s %8d MiB allocated %5d GCs %6d ms of GC %6d ms%n", name,
+                measure.allocatedBytes() / MB, measure.collections(), measure.collectionMillis(), measure.elapsedMillis());
+    }
+
+    /**
+     * Stream leaving the arrays it reads into unchanged, so only the reading loops allocate.
+     */
+    private static class SizedInputStream extends InputStream {
+
+        private long remaining;
+
+        SizedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            var count = (int) Math.min(length, remaining);
+            remaining -= count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class BufferPoolTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @Test
+    public void acquire_roundsUpToSizeClass() {
+        var bufferPool = new BufferPool(64L * MB);
+
+        assertEquals(MB, bufferPool.acquire(1).length);
+        assertEquals(MB, bufferPool.acquire(MB).length);
+        assertEquals(2 * MB, bufferPool.acquire(MB + 1).length);
+    }
+
+    @Test
+    public void acquire_released_reused() {
+        var bufferPool = new BufferPool(64L * MB);
+        var buffer = bufferPool.acquire(5 * MB);
+        bufferPool.release(buffer);
+
+        // Same size class
+        assertSame(buffer, bufferPool.acquire(5 * MB - 100));
+        var statistics = bufferPool.statistics();
+        assertEquals(1, statistics.allocations());
+        assertEquals(1, statistics.reuses());
+        assertEquals(0, statistics.pooledBytes());
+    }
+
+    @Test
+    public void acquire_otherSizeClass_allocated() {
+        var bufferPool = new BufferPool(64L * MB);
+        var buffer = bufferPool.acquire(5 * MB);
+        bufferPool.release(buffer);
+
+        assertNotSame(buffer, bufferPool.acquire(6 * MB));
+        assertEquals(2, bufferPool.statistics().allocations());
+        assertEquals(5 * MB, bufferPool.statistics().pooledBytes());
+    }
+
+    @Test
+    public void release_overMaxPooledBytes_notKept() {
+        var bufferPool = new BufferPool(8L * MB);
+        var first = bufferPool.acquire(5 * MB);
+        var second = bufferPool.acquire(5 * MB);
+
+        bufferPool.release(first);
+        bufferPool.release(second);
+
+        assertEquals(5 * MB, bufferPool.statistics().pooledBytes());
+        assertSame(first, bufferPool.acquire(5 * MB));
+        assertNotSame(second, bufferPool.acquire(5 * MB));
+        assertEquals(3, bufferPool.statistics().allocations());
+    }
+}
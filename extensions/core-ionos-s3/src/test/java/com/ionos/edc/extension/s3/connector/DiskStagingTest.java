@@ -0,0 +1,88 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DiskStagingTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void stage_copiesUpToMaxLength() throws IOException {
+        var diskStaging = new DiskStaging(directory.resolve("staging"), 0);
+        var stream = new ByteArrayInputStream(data(1000));
+
+        var staged = diskStaging.stage(stream, 600);
+
+        assertEquals(600, staged.length());
+        assertArrayEquals(slice(data(1000), 0, 600), Files.readAllBytes(staged.file()));
+        // Left in the stream for the next part
+        assertArrayEquals(slice(data(1000), 600, 1000), stream.readAllBytes());
+    }
+
+    @Test
+    public void stage_endOfStream_shorterFile() throws IOException {
+        var diskStaging = new DiskStaging(directory, 0);
+
+        var staged = diskStaging.stage(new ByteArrayInputStream(data(100)), 600);
+
+        assertEquals(100, staged.length());
+        assertEquals(100, Files.size(staged.file()));
+    }
+
+    @Test
+    public void stage_streamFails_deletesFile() throws IOException {
+        var diskStaging = new DiskStaging(directory, 0);
+        var stream = new SequenceInputStream(new ByteArrayInputStream(data(100)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThrows(IOException.class, () -> diskStaging.stage(stream, 600));
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void delete_removesFile() throws IOException {
+        var diskStaging = new DiskStaging(directory, 0);
+        var staged = diskStaging.stage(new ByteArrayInputStream(data(100)), 600);
+
+        diskStaging.delete(staged.file());
+        // Already deleted
+        diskStaging.delete(staged.file());
+
+        assertFalse(Files.exists(staged.file()));
+    }
+
+    private static byte[] data(int length) {
+        var data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static byte[] slice(byte[] data, int from, int to) {
+        var slice = new byte[to - from];
+        System.arraycopy(data, from, slice, 0, slice.length);
+        return slice;
+    }
+}
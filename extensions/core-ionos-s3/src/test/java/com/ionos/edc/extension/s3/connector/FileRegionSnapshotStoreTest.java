@@ -0,0 +1,66 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class FileRegionSnapshotStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private final Monitor monitor = mock(Monitor.class);
+
+    @Test
+    public void save_load_roundTrip() {
+        var store = new FileRegionSnapshotStore(directory.resolve("snapshots").resolve("regions.json"), monitor);
+        var endpoints = Map.of("de", "s3.eu-central-1.ionoscloud.com", "eu-central-2", "s3.eu-central-2.ionoscloud.com");
+
+        store.save(endpoints);
+
+        assertEquals(endpoints, store.load());
+    }
+
+    @Test
+    public void save_replacesSnapshot() throws IOException {
+        var store = new FileRegionSnapshotStore(directory.resolve("regions.json"), monitor);
+
+        store.save(Map.of("de", "s3.eu-central-1.ionoscloud.com"));
+        store.save(Map.of("eu-central-2", "s3.eu-central-2.ionoscloud.com"));
+
+        assertEquals(Map.of("eu-central-2", "s3.eu-central-2.ionoscloud.com"), store.load());
+        // No temporary file left behind
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void load_missing_empty() {
+        var store = new FileRegionSnapshotStore(directory.resolve("regions.json"), monitor);
+
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void load_corrupt_empty() throws IOException {
+        var path = directory.resolve("regions.json");
+        Files.writeString(path, "{\"de\": \"s3.eu-central-1");
+        var store = new FileRegionSnapshotStore(path, monitor);
+
+        assertTrue(store.load().isEmpty());
+        verify(monitor).warning(anyString(), any(IOException.class));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryBudgetTest {
+
+    private static final long CAPACITY = 100;
+
+    private final MemoryBudget memoryBudget = new MemoryBudget(CAPACITY);
+
+    @Test
+    public void tryAcquire_withinCapacity() {
+        assertTrue(memoryBudget.tryAcquire(60));
+        assertTrue(memoryBudget.tryAcquire(40));
+        assertFalse(memoryBudget.tryAcquire(1));
+
+        assertEquals(100, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void tryAcquire_largerThanCapacity_grantedWhenNothingReserved() {
+        assertTrue(memoryBudget.tryAcquire(150));
+        assertFalse(memoryBudget.tryAcquire(1));
+    }
+
+    @Test
+    public void tryAcquire_withLimit() {
+        assertTrue(memoryBudget.tryAcquire(30, 50));
+        assertFalse(memoryBudget.tryAcquire(30, 50));
+        assertTrue(memoryBudget.tryAcquire(30));
+    }
+
+    @Test
+    public void release_makesRoomAndKeepsPeak() {
+        memoryBudget.tryAcquire(80);
+        memoryBudget.release(50);
+
+        assertTrue(memoryBudget.tryAcquire(60));
+        memoryBudget.release(90);
+
+        var usage = memoryBudget.usage();
+        assertEquals(0, usage.used());
+        assertEquals(90, usage.peak());
+    }
+
+    @Test
+    public void acquire_canNotWait_overcommits() throws InterruptedException {
+        memoryBudget.tryAcquire(60);
+
+        memoryBudget.acquire(60, () -> false);
+
+        var usage = memoryBudget.usage();
+        assertEquals(120, usage.used());
+        assertEquals(1, usage.overcommits());
+    }
+
+    @Test
+    public void acquire_contention_waitsForRelease() throws Exception {
+        memoryBudget.tryAcquire(60);
+
+        var acquired = CompletableFuture.runAsync(() -> acquire(60, () -> true));
+        waitUntilWaiting(1);
+        assertFalse(acquired.isDone());
+
+        memoryBudget.release(60);
+
+        acquired.get(5, TimeUnit.SECONDS);
+        var usage = memoryBudget.usage();
+        assertEquals(60, usage.used());
+        assertEquals(0, usage.waiting());
+        assertEquals(0, usage.overcommits());
+    }
+
+    @Test
+    public void acquire_contention_stopsWaitingWhenConditionChanges() throws Exception {
+        memoryBudget.tryAcquire(60);
+        var canWait = new AtomicBoolean(true);
+
+        var acquired = CompletableFuture.runAsync(() -> acquire(60, canWait::get));
+        waitUntilWaiting(1);
+
+        // The condition is evaluated again on release, even when not enough memory is released
+        canWait.set(false);
+        memoryBudget.release(10);
+
+        acquired.get(5, TimeUnit.SECONDS);
+        var usage = memoryBudget.usage();
+        assertEquals(110, usage.used());
+        assertEquals(1, usage.overcommits());
+    }
+
+    private void acquire(long bytes, BooleanSupplier canWait) {
+        try {
+            memoryBudget.acquire(bytes, canWait);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void waitUntilWaiting(int waiting) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (memoryBudget.usage().waiting() < waiting && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(waiting, memoryBudget.usage().waiting());
+    }
+}
@@ -0,0 +1,79 @@
+package com.ionos.edc.extension.s3.connector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MinioClientRegistryTest {
+
+    private static final long IDLE_TIMEOUT = 1000;
+    private static final String ENDPOINT = "https://s3-eu-central-1.ionoscloud.com";
+
+    private final Clock clock = mock(Clock.class);
+
+    private MinioClientRegistry clientRegistry;
+
+    @BeforeEach
+    public void setup() {
+        when(clock.millis()).thenReturn(0L);
+        clientRegistry = new MinioClientRegistry(5, 60000, 10, IDLE_TIMEOUT, clock);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clientRegistry.shutdown();
+    }
+
+    @Test
+    public void getClient_sameEndpointAndCredentials_reused() {
+        var client = clientRegistry.getClient(ENDPOINT, "access", "secret");
+        var asyncClient = clientRegistry.getAsyncClient(ENDPOINT, "access", "secret");
+
+        assertSame(client, clientRegistry.getClient(ENDPOINT, "access", "secret"));
+        assertSame(asyncClient, clientRegistry.getAsyncClient(ENDPOINT, "access", "secret"));
+        assertEquals(1, clientRegistry.size());
+    }
+
+    @Test
+    public void getClient_otherEndpointOrCredentials_created() {
+        var client = clientRegistry.getClient(ENDPOINT, "access", "secret");
+
+        assertNotSame(client, clientRegistry.getClient("https://s3-eu-central-2.ionoscloud.com", "access", "secret"));
+        assertNotSame(client, clientRegistry.getClient(ENDPOINT, "other", "secret"));
+        assertNotSame(client, clientRegistry.getClient(ENDPOINT, "access", "other"));
+        assertEquals(4, clientRegistry.size());
+    }
+
+    @Test
+    public void getClient_usedWithinIdleTimeout_kept() {
+        var client = clientRegistry.getClient(ENDPOINT, "access", "secret");
+
+        when(clock.millis()).thenReturn(IDLE_TIMEOUT - 1);
+        clientRegistry.getClient(ENDPOINT, "access", "secret");
+        // Idle for longer than the timeout since the creation, but not since the last use
+        when(clock.millis()).thenReturn(IDLE_TIMEOUT + 1);
+
+        assertSame(client, clientRegistry.getClient(ENDPOINT, "access", "secret"));
+    }
+
+    @Test
+    public void getClient_idleClients_evicted() {
+        var client = clientRegistry.getClient(ENDPOINT, "access", "secret");
+        clientRegistry.getClient(ENDPOINT, "other", "secret");
+
+        when(clock.millis()).thenReturn(IDLE_TIMEOUT + 1);
+        clientRegistry.getClient("https://s3-eu-central-2.ionoscloud.com", "access", "secret");
+
+        // Both idle clients are dropped on the next get, whatever its client
+        assertEquals(1, clientRegistry.size());
+        assertNotSame(client, clientRegistry.getClient(ENDPOINT, "access", "secret"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.api.S3Region;
+import com.ionos.edc.extension.s3.api.S3Regions;
+import org.eclipse.edc.spi.EdcException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RegionEndpointCacheTest {
+
+    private static final long TTL = 60000;
+    private static final long REFRESH_AHEAD = 10000;
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private Supplier<S3Regions> regions;
+
+    @BeforeEach
+    public void setup() {
+        when(clock.millis()).thenReturn(0L);
+        regions = () -> regions("de", "s3.de.example");
+    }
+
+    @Test
+    public void getEndpoint_miss_fetchesRegions() {
+        var cache = newCache();
+
+        assertEquals("https://s3.de.example", cache.getEndpoint("de"));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void getEndpoint_hit_servesCachedRegions() {
+        var cache = newCache();
+        cache.getEndpoint("de");
+
+        when(clock.millis()).thenReturn(TTL - REFRESH_AHEAD - 1);
+        assertEquals("https://s3.de.example", cache.getEndpoint("de"));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void getEndpoint_unknownRegion() {
+        var cache = newCache();
+
+        assertThrows(EdcException.class, () -> cache.getEndpoint("fr"));
+    }
+
+    @Test
+    public void getEndpoint_closeToExpiry_refreshesRegions() {
+        var cache = newCache();
+        cache.getEndpoint("de");
+
+        regions = () -> regions("de", "s3-new.de.example");
+        when(clock.millis()).thenReturn(TTL - REFRESH_AHEAD);
+        // Served from the cache while refreshed, the executor runs the refresh right away here
+        assertEquals("https://s3.de.example", cache.getEndpoint("de"));
+        assertEquals(2, fetches.get());
+        assertEquals("https://s3-new.de.example", cache.getEndpoint("de"));
+    }
+
+    @Test
+    public void getEndpoint_expired_fetchesRegionsAgain() {
+        var cache = newCache();
+        cache.getEndpoint("de");
+
+        regions = () -> regions("de", "s3-new.de.example");
+        when(clock.millis()).thenReturn(TTL);
+        assertEquals("https://s3-new.de.example", cache.getEndpoint("de"));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void getEndpoint_expired_servesExpiredRegionsWhenFetchFails() {
+        var cache = newCache();
+        cache.getEndpoint("de");
+
+        regions = () -> {
+            throw new EdcException("IONOS API not available");
+        };
+        when(clock.millis()).thenReturn(TTL);
+        assertEquals("https://s3.de.example", cache.getEndpoint("de"));
+    }
+
+    @Test
+    public void getEndpoint_seeded_servesSeedWhileRefreshing() {
+        var cache = newCache();
+        cache.seed(Map.of("de", "https://s3-seed.de.example"));
+
+        assertEquals("https://s3-seed.de.example", cache.getEndpoint("de"));
+        // The seeded endpoints are due for refresh, the executor runs it right away here
+        assertEquals(1, fetches.get());
+        assertEquals("https://s3.de.example", cache.getEndpoint("de"));
+    }
+
+    @Test
+    public void getEndpoint_seeded_servesSeedWhenFetchFails() {
+        regions = () -> {
+            throw new EdcException("IONOS API not available");
+        };
+        var cache = newCache();
+        cache.seed(Map.of("de", "https://s3-seed.de.example"));
+
+        assertEquals("https://s3-seed.de.example", cache.getEndpoint("de"));
+        when(clock.millis()).thenReturn(TTL);
+        assertEquals("https://s3-seed.de.example", cache.getEndpoint("de"));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void getEndpointAsync_hit_completesRightAway() {
+        var cache = newCache();
+        cache.getEndpoint("de");
+
+        var endpoint = cache.getEndpointAsync("de");
+        assertTrue(endpoint.isDone());
+        assertEquals("https://s3.de.example", endpoint.join());
+        assertEquals(1, fetches.get());
+    }
+
+    private RegionEndpointCache newCache() {
+        return new RegionEndpointCache(() -> {
+            fetches.incrementAndGet();
+            return regions.get();
+        }, endpoints -> { }, TTL, REFRESH_AHEAD, Runnable::run, clock);
+    }
+
+    private static S3Regions regions(String regionId, String endpoint) {
+        var properties = mock(S3Region.Properties.class);
+        when(properties.getEndpoint()).thenReturn(endpoint);
+        var region = mock(S3Region.class);
+        when(region.getId()).thenReturn(regionId);
+        when(region.getProperties()).thenReturn(properties);
+
+        var regions = new S3Regions();
+        regions.setItems(List.of(region));
+        return regions;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ionos.edc.extension.s3.connector;
+
+import io.minio.GetObjectArgs;
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Part;
+import org.eclipse.edc.spi.EdcException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class S3AsyncConnectorImplTest {
+
+    private static final String ENDPOINT = "https://s3.de.example";
+    private static final String BUCKET = "bucket1";
+    private static final String OBJECT = "device1-data.csv";
+    private static final String PREFIX = "devices/";
+
+    private final S3Connector connector = mock(S3Connector.class);
+    private final RegionEndpointCache endpointsCache = mock(RegionEndpointCache.class);
+    private final MinioClientRegistry clientRegistry = mock(MinioClientRegistry.class);
+    private final IonosMinioAsyncClient client = mock(IonosMinioAsyncClient.class);
+
+    private S3AsyncConnectorImpl asyncConnector;
+
+    @BeforeEach
+    public void setup() {
+        when(connector.getMaxFiles()).thenReturn(2);
+        when(clientRegistry.getAsyncClient(ENDPOINT, "access", "secret")).thenReturn(client);
+        asyncConnector = new S3AsyncConnectorImpl(connector, () -> endpointsCache, clientRegistry, "access", "secret");
+    }
+
+    @Test
+    public void listEndpointObjects_followsPages() {
+        var firstPage = page(true, "token1", item(PREFIX + "a.csv", 1, "\"etag1\""), item(PREFIX + "b.csv", 2, "\"etag2\""));
+        var lastPage = page(false, null, item(PREFIX + "c.csv", 3, "\"etag3\""));
+        when(client.listObjectsPage(eq(BUCKET), eq(PREFIX), isNull(), eq(2))).thenReturn(CompletableFuture.completedFuture(firstPage));
+        when(client.listObjectsPage(BUCKET, PREFIX, "token1", 2)).thenReturn(CompletableFuture.completedFuture(lastPage));
+
+        var objects = asyncConnector.listEndpointObjects(BUCKET, ENDPOINT, PREFIX).join();
+
+        assertEquals(3, objects.size());
+        assertEquals(PREFIX + "a.csv", objects.get(0).objectName());
+        assertEquals("etag1", objects.get(0).etag());
+        assertEquals(PREFIX + "c.csv", objects.get(2).objectName());
+        assertEquals(3, objects.get(2).size());
+    }
+
+    @Test
+    public void listEndpointObjects_pageFails_wrapsError() {
+        when(client.listObjectsPage(eq(BUCKET), eq(PREFIX), isNull(), eq(2)))
+                .thenReturn(CompletableFuture.completedFuture(page(true, "token1", item(PREFIX + "a.csv", 1, "etag1"))));
+        when(client.listObjectsPage(BUCKET, PREFIX, "token1", 2)).thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+
+        var error = failure(asyncConnector.listEndpointObjects(BUCKET, ENDPOINT, PREFIX));
+
+        assertTrue(error.getMessage().contains("Error listing objects with prefix " + PREFIX));
+        assertInstanceOf(IOException.class, error.getCause());
+    }
+
+    @Test
+    public void uploadPart_clientThrows_failedFuture() {
+        var cause = new IllegalStateException("Client closed");
+        when(client.uploadPart(anyString(), anyString(), anyString(), anyInt(), any(byte[].class), anyInt())).thenThrow(cause);
+
+        var future = asyncConnector.uploadPart(BUCKET, ENDPOINT, OBJECT, "upload1", 1, new byte[10], 10);
+
+        var error = failure(future);
+        assertTrue(error.getMessage().contains("Error uploading part 1 of object " + OBJECT));
+        assertSame(cause, error.getCause());
+    }
+
+    @Test
+    public void completeMultipartUpload_edcException_notWrapped() {
+        var cause = new EdcException("Access denied");
+        when(client.completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq("upload1"), any())).thenReturn(CompletableFuture.failedFuture(cause));
+
+        var future = asyncConnector.completeMultipartUpload(BUCKET, ENDPOINT, OBJECT, "upload1", new Part[0]);
+
+        assertSame(cause, failure(future));
+    }
+
+    @Test
+    public void getObject_endpointFails_failedFuture() {
+        var cause = new EdcException("Regions not available");
+        when(endpointsCache.getEndpointAsync("de")).thenReturn(CompletableFuture.failedFuture(cause));
+
+        assertSame(cause, failure(asyncConnector.getObject(BUCKET, "de", OBJECT)));
+    }
+
+    @Test
+    public void getObject_defaultRegion() throws Exception {
+        when(connector.getDefaultRegionId()).thenReturn("de");
+        when(endpointsCache.getEndpointAsync("de")).thenReturn(CompletableFuture.completedFuture(ENDPOINT));
+        when(client.getObject(any(GetObjectArgs.class))).thenReturn(CompletableFuture.failedFuture(new IOException("Not found")));
+
+        var error = failure(asyncConnector.getObject(BUCKET, null, OBJECT));
+
+        assertTrue(error.getMessage().contains("Error getting object " + OBJECT));
+        verify(endpointsCache).getEndpointAsync("de");
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        var error = assertThrows(CompletionException.class, future::join).getCause();
+        assertInstanceOf(EdcException.class, error);
+        return error;
+    }
+
+    private static ListBucketResultV2 page(boolean truncated, String nextContinuationToken, Item... items) {
+        var page = mock(ListBucketResultV2.class);
+        when(page.contents()).thenReturn(List.of(items));
+        when(page.isTruncated()).thenReturn(truncated);
+        when(page.nextContinuationToken()).thenReturn(nextContinuationToken);
+        return page;
+    }
+
+    private static Item item(String objectName, long size, String etag) {
+        var item = mock(Item.class);
+        when(item.objectName()).thenReturn(objectName);
+        when(item.size()).thenReturn(size);
+        when(item.etag()).thenReturn(etag);
+        return item;
+    }
+}
@@ -0,0 +1,498 @@
+package com.ionos.edc.extension.s3.connector;
+
+import com.ionos.edc.extension.s3.api.S3ApiClient;
+import com.sun.net.httpserver.HttpServer;
+import io.minio.CopyObjectArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.messages.Part;
+import okhttp3.OkHttpClient;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.persistence.EdcPersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class S3ConnectorImplTest {
+
+    private static final String ENDPOINT = "https://s3.de.example";
+    private static final String SOURCE_BUCKET = "source";
+    private static final String BUCKET = "destination";
+    private static final String OBJECT = "device1-data.csv";
+    private static final String UPLOAD_ID = "upload1";
+    private static final String PREVIOUS_UPLOAD_ID = "upload0";
+
+    private static final long MB = 1024 * 1024;
+    // Two parts of 5 MB
+    private static final long SOURCE_SIZE = 5 * MB + 1000;
+    private static final String SOURCE_ETAG = "source-etag";
+
+    private final IonosMinioAsyncClient client = mock(IonosMinioAsyncClient.class);
+    private final MinioClient syncClient = mock(MinioClient.class);
+    private final MinioClientRegistry clientRegistry = mock(MinioClientRegistry.class);
+    private final MemoryBudget memoryBudget = new MemoryBudget(64 * MB);
+    private S3ConnectorImpl s3Connector;
+
+    @TempDir
+    private Path stagingDirectory;
+
+    @BeforeEach
+    public void setup() {
+        when(clientRegistry.getAsyncClient(eq(ENDPOINT), anyString(), anyString())).thenReturn(client);
+        when(clientRegistry.getClient(eq(ENDPOINT), anyString(), anyString())).thenReturn(syncClient);
+
+        s3Connector = connector(null);
+    }
+
+    @Test
+    public void copyObject_singlePart() throws Exception {
+        when(client.copyObject(any(CopyObjectArgs.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        s3Connector.copyObject(SOURCE_BUCKET, OBJECT, BUCKET, ENDPOINT, OBJECT, 100 * MB, 4, Map.of("source-etag", "etag1"));
+
+        var args = ArgumentCaptor.forClass(CopyObjectArgs.class);
+        verify(client).copyObject(args.capture());
+        assertEquals(BUCKET, args.getValue().bucket());
+        assertEquals(OBJECT, args.getValue().object());
+        assertEquals(SOURCE_BUCKET, args.getValue().source().bucket());
+        verify(client, never()).createMultipartUpload(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void copyObject_multipart() throws Exception {
+        when(client.createMultipartUpload(eq(BUCKET), eq(OBJECT), any())).thenReturn(CompletableFuture.completedFuture(UPLOAD_ID));
+        when(client.uploadPartCopy(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), eq(SOURCE_BUCKET), eq(OBJECT), anyLong(), anyLong()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(new Part(invocation.getArgument(3), "etag" + invocation.getArgument(3))));
+        when(client.completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Parts of 256 MB
+        s3Connector.copyObject(SOURCE_BUCKET, OBJECT, BUCKET, ENDPOINT, OBJECT, 600 * MB, 2, Map.of());
+
+        verify(client).uploadPartCopy(BUCKET, OBJECT, UPLOAD_ID, 1, SOURCE_BUCKET, OBJECT, 0, 256 * MB);
+        verify(client).uploadPartCopy(BUCKET, OBJECT, UPLOAD_ID, 2, SOURCE_BUCKET, OBJECT, 256 * MB, 256 * MB);
+        verify(client).uploadPartCopy(BUCKET, OBJECT, UPLOAD_ID, 3, SOURCE_BUCKET, OBJECT, 512 * MB, 88 * MB);
+
+        var parts = ArgumentCaptor.forClass(Part[].class);
+        verify(client).completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), parts.capture());
+        assertEquals(3, parts.getValue().length);
+        assertEquals("etag3", parts.getValue()[2].etag());
+        verify(client, never()).copyObject(any(CopyObjectArgs.class));
+    }
+
+    @Test
+    public void copyObject_partFails_abortsUpload() throws Exception {
+        when(client.createMultipartUpload(eq(BUCKET), eq(OBJECT), any())).thenReturn(CompletableFuture.completedFuture(UPLOAD_ID));
+        when(client.uploadPartCopy(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), eq(SOURCE_BUCKET), eq(OBJECT), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new EdcException("Access denied")));
+        when(client.abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(EdcException.class,
+                () -> s3Connector.copyObject(SOURCE_BUCKET, OBJECT, BUCKET, ENDPOINT, OBJECT, 600 * MB, 1, Map.of()));
+
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID);
+        verify(client, never()).completeMultipartUpload(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void streamObject_closedBeforeEnd_releasesResponse() throws Exception {
+        var server = objectServer(new byte[(int) MB]);
+        var httpClient = new OkHttpClient();
+        try {
+            var s3Connector = connector(server, httpClient);
+
+            var stream = s3Connector.streamObject(BUCKET, "de", OBJECT);
+            stream.readNBytes(1000);
+            assertEquals(1, httpClient.connectionPool().connectionCount() - httpClient.connectionPool().idleConnectionCount());
+
+            stream.close();
+
+            // The rest of the body is discarded or the connection closed, it is not held by the stream anymore
+            assertEquals(0, httpClient.connectionPool().connectionCount() - httpClient.connectionPool().idleConnectionCount());
+        } finally {
+            httpClient.connectionPool().evictAll();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void streamObject_readToEnd_returnsConnectionToPool() throws Exception {
+        var server = objectServer(new byte[1000]);
+        var httpClient = new OkHttpClient();
+        try {
+            var s3Connector = connector(server, httpClient);
+
+            try (var stream = s3Connector.streamObject(BUCKET, "de", OBJECT, 0, 1000)) {
+                assertEquals(1000, stream.readAllBytes().length);
+            }
+
+            assertEquals(1, httpClient.connectionPool().connectionCount());
+            assertEquals(1, httpClient.connectionPool().idleConnectionCount());
+        } finally {
+            httpClient.connectionPool().evictAll();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void uploadObject_lessThanOnePart_singlePut() throws Exception {
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[1000]), -1, 5 * MB, 2, Map.of("source-etag", "etag1"), null);
+
+        var args = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(syncClient).putObject(args.capture());
+        assertEquals(BUCKET, args.getValue().bucket());
+        assertEquals(OBJECT, args.getValue().object());
+        assertEquals(1000, args.getValue().objectSize());
+        verify(client, never()).createMultipartUpload(anyString(), anyString(), any());
+        assertEquals(0, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void uploadObject_exactlyOnePart_multipart() throws Exception {
+        stubMultipartUpload();
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) (5 * MB)]), -1, 5 * MB, 2, Map.of(), null);
+
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(1), any(byte[].class), eq((int) (5 * MB)));
+        assertCompletedParts("etag1");
+        verify(syncClient, never()).putObject(any());
+    }
+
+    @Test
+    public void uploadObject_concurrentParts_completedInPartOrder() throws Exception {
+        stubMultipartUpload();
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        // The first parts complete last
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), any(byte[].class), anyInt())).thenAnswer(invocation -> {
+            int partNumber = invocation.getArgument(3);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return new Part(partNumber, "etag" + partNumber);
+            }, CompletableFuture.delayedExecutor((4 - partNumber) * 100L, TimeUnit.MILLISECONDS));
+        });
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) (10 * MB) + 1000]), -1, 5 * MB, 3, Map.of(), null);
+
+        assertTrue(maxInFlight.get() > 1);
+        assertCompletedParts("etag1", "etag2", "etag3");
+        assertEquals(0, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void uploadObject_partFails_abortsUpload() throws Exception {
+        stubMultipartUpload();
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(2), any(byte[].class), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+
+        assertThrows(EdcException.class, () -> s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT,
+                new ByteArrayInputStream(new byte[(int) (15 * MB) + 1000]), -1, 5 * MB, 2, Map.of(), null));
+
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID);
+        verify(client, never()).completeMultipartUpload(anyString(), anyString(), anyString(), any());
+        // No part sent after the failure is known
+        verify(client, never()).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(4), any(byte[].class), anyInt());
+        assertEquals(0, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void uploadObject_stagedParts_deletedOnceUploaded() throws Exception {
+        // Every part staged on disk
+        var s3Connector = connector(new DiskStaging(stagingDirectory, 0));
+        when(client.createMultipartUpload(eq(BUCKET), eq(OBJECT), any())).thenReturn(CompletableFuture.completedFuture(UPLOAD_ID));
+        List<Long> stagedLengths = new CopyOnWriteArrayList<>();
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), any(Path.class), anyLong())).thenAnswer(invocation -> {
+            stagedLengths.add(Files.size(invocation.getArgument(4)));
+            return CompletableFuture.completedFuture(new Part(invocation.getArgument(3), "etag" + invocation.getArgument(3)));
+        });
+        when(client.completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) (5 * MB) + 1000]), -1, 5 * MB, 2, Map.of(), null);
+
+        assertEquals(List.of(5 * MB, 1000L), stagedLengths);
+        verify(client).completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), any());
+        assertStagingDirectoryEmpty();
+    }
+
+    @Test
+    public void uploadObject_stagedPartFails_deletedAndAborted() throws Exception {
+        var s3Connector = connector(new DiskStaging(stagingDirectory, 0));
+        when(client.createMultipartUpload(eq(BUCKET), eq(OBJECT), any())).thenReturn(CompletableFuture.completedFuture(UPLOAD_ID));
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), any(Path.class), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+        when(client.abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(EdcException.class, () -> s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT,
+                new ByteArrayInputStream(new byte[(int) (5 * MB) + 1000]), -1, 5 * MB, 1, Map.of(), null));
+
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID);
+        verify(client, never()).completeMultipartUpload(anyString(), anyString(), anyString(), any());
+        assertStagingDirectoryEmpty();
+    }
+
+    @Test
+    public void uploadObject_singleStagedPart_deleted() throws Exception {
+        var s3Connector = connector(new DiskStaging(stagingDirectory, 0));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[1000]), -1, 5 * MB, 2, Map.of(), null);
+
+        var args = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(syncClient).putObject(args.capture());
+        assertEquals(1000, args.getValue().objectSize());
+        verify(client, never()).createMultipartUpload(anyString(), anyString(), any());
+        assertStagingDirectoryEmpty();
+    }
+
+    @Test
+    public void uploadObject_resumed_skipsUploadedParts() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(new UploadCheckpoint.Upload(UPLOAD_ID, 5 * MB, SOURCE_ETAG, SOURCE_SIZE, Map.of(1, "etag1")));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+
+        verify(client, never()).createMultipartUpload(anyString(), anyString(), any());
+        verify(client, never()).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(1), any(byte[].class), anyInt());
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(2), any(byte[].class), eq(1000));
+        verify(checkpoint).partUploaded(2, "etag2");
+        assertCompletedParts("etag1", "etag2");
+    }
+
+    @Test
+    public void uploadObject_sourceChanged_restartsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(new UploadCheckpoint.Upload(PREVIOUS_UPLOAD_ID, 5 * MB, "previous-etag", SOURCE_SIZE, Map.of(1, "etag1")));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+
+        assertRestarted(checkpoint);
+    }
+
+    @Test
+    public void uploadObject_sourceSizeChanged_restartsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(new UploadCheckpoint.Upload(PREVIOUS_UPLOAD_ID, 5 * MB, SOURCE_ETAG, 6 * MB, Map.of(1, "etag1")));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+
+        assertRestarted(checkpoint);
+    }
+
+    @Test
+    public void uploadObject_partSizeChanged_restartsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(new UploadCheckpoint.Upload(PREVIOUS_UPLOAD_ID, 8 * MB, SOURCE_ETAG, SOURCE_SIZE, Map.of(1, "etag1")));
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+
+        assertRestarted(checkpoint);
+    }
+
+    @Test
+    public void uploadObject_partsRecordedByUploadingThread() throws Exception {
+        stubMultipartUpload();
+        // Completed by another thread, like the responses of the client
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), any(byte[].class), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> new Part(invocation.getArgument(3), "etag" + invocation.getArgument(3)),
+                        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+        var checkpoint = checkpoint(null);
+        List<Thread> recordingThreads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> recordingThreads.add(Thread.currentThread())).when(checkpoint).partUploaded(anyInt(), anyString());
+
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+
+        verify(checkpoint).partUploaded(1, "etag1");
+        verify(checkpoint).partUploaded(2, "etag2");
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), recordingThreads);
+    }
+
+    @Test
+    public void uploadObject_checkpointFails_abortsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(null);
+        doThrow(new EdcPersistenceException("Connection refused")).when(checkpoint).partUploaded(anyInt(), anyString());
+
+        assertThrows(EdcException.class, () -> s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT,
+                new ByteArrayInputStream(new byte[(int) SOURCE_SIZE]), SOURCE_SIZE, 5 * MB, 1, Map.of(), checkpoint));
+
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID);
+        verify(checkpoint).uploadAborted();
+        verify(client, never()).completeMultipartUpload(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    public void uploadObject_interruptedWithDurableCheckpoint_keepsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(null);
+        when(checkpoint.isDurable()).thenReturn(true);
+
+        assertThrows(EdcException.class, () -> uploadInterrupted(checkpoint));
+
+        verify(client, never()).abortMultipartUpload(anyString(), anyString(), anyString());
+        verify(checkpoint, never()).uploadAborted();
+    }
+
+    @Test
+    public void uploadObject_interruptedWithoutDurableCheckpoint_abortsUpload() throws Exception {
+        stubMultipartUpload();
+        var checkpoint = checkpoint(null);
+
+        assertThrows(EdcException.class, () -> uploadInterrupted(checkpoint));
+
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, UPLOAD_ID);
+        verify(checkpoint).uploadAborted();
+    }
+
+    @Test
+    public void uploadObject_knownSize_partSizeFitsPartLimit() throws Exception {
+        stubMultipartUpload();
+
+        // Parts of 10 MB to fit 100000 MB in 10000 parts
+        s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new ByteArrayInputStream(new byte[(int) (10 * MB) + 1000]), 100000 * MB, 5 * MB, 2, Map.of(), null);
+
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(1), any(byte[].class), eq((int) (10 * MB)));
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(2), any(byte[].class), eq(1000));
+        assertCompletedParts("etag1", "etag2");
+    }
+
+    @Test
+    public void uploadObject_sizeOverPartLimit_failsBeforeUpload() throws Exception {
+        var stream = new ByteArrayInputStream(new byte[1000]);
+
+        assertThrows(EdcException.class, () -> s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT,
+                stream, 10001 * 1024 * MB, 5 * MB, 2, Map.of(), null));
+
+        assertEquals(1000, stream.available());
+        verify(client, never()).createMultipartUpload(anyString(), anyString(), any());
+        verify(syncClient, never()).putObject(any());
+    }
+
+    /**
+     * Uploads a stream interrupted while reading its second part, like when the data plane is stopping.
+     */
+    private void uploadInterrupted(UploadCheckpoint checkpoint) {
+        var interrupted = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        };
+        try {
+            s3Connector.uploadObject(BUCKET, ENDPOINT, OBJECT, new SequenceInputStream(new ByteArrayInputStream(new byte[(int) (5 * MB)]), interrupted),
+                    SOURCE_SIZE, 5 * MB, 2, Map.of(), checkpoint);
+        } finally {
+            // Cleared for the next tests
+            Thread.interrupted();
+        }
+    }
+
+    private void stubMultipartUpload() throws Exception {
+        when(client.createMultipartUpload(eq(BUCKET), eq(OBJECT), any())).thenReturn(CompletableFuture.completedFuture(UPLOAD_ID));
+        when(client.uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), anyInt(), any(byte[].class), anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(new Part(invocation.getArgument(3), "etag" + invocation.getArgument(3))));
+        when(client.completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(client.abortMultipartUpload(eq(BUCKET), eq(OBJECT), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private UploadCheckpoint checkpoint(UploadCheckpoint.Upload previousUpload) {
+        var checkpoint = mock(UploadCheckpoint.class);
+        when(checkpoint.previousUpload()).thenReturn(previousUpload);
+        when(checkpoint.sourceEtag()).thenReturn(SOURCE_ETAG);
+        when(checkpoint.sourceSize()).thenReturn(SOURCE_SIZE);
+        return checkpoint;
+    }
+
+    private void assertRestarted(UploadCheckpoint checkpoint) throws Exception {
+        verify(client).abortMultipartUpload(BUCKET, OBJECT, PREVIOUS_UPLOAD_ID);
+        verify(checkpoint).uploadAborted();
+        verify(checkpoint).uploadStarted(UPLOAD_ID, 5 * MB);
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(1), any(byte[].class), eq((int) (5 * MB)));
+        verify(client).uploadPart(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), eq(2), any(byte[].class), eq(1000));
+        assertCompletedParts("etag1", "etag2");
+    }
+
+    private void assertCompletedParts(String... etags) throws Exception {
+        var parts = ArgumentCaptor.forClass(Part[].class);
+        verify(client).completeMultipartUpload(eq(BUCKET), eq(OBJECT), eq(UPLOAD_ID), parts.capture());
+        assertEquals(etags.length, parts.getValue().length);
+        for (int i = 0; i < etags.length; i++) {
+            assertEquals(i + 1, parts.getValue()[i].partNumber());
+            assertEquals(etags[i], parts.getValue()[i].etag());
+        }
+    }
+
+    private S3ConnectorImpl connector(DiskStaging diskStaging) {
+        return new S3ConnectorImpl("access", "secret", 1000, clientRegistry, mock(S3ApiClient.class),
+                memoryBudget, new BufferPool(4), diskStaging);
+    }
+
+    /**
+     * Connector reading the objects from the server, through a client using the given HTTP client.
+     */
+    private S3ConnectorImpl connector(HttpServer server, OkHttpClient httpClient) {
+        var endpoint = "http://localhost:" + server.getAddress().getPort();
+        var minioClient = MinioClient.builder()
+                .endpoint(endpoint)
+                .credentials("access", "secret")
+                // No bucket location request
+                .region("us-east-1")
+                .httpClient(httpClient)
+                .build();
+        when(clientRegistry.getClient(eq(endpoint), anyString(), anyString())).thenReturn(minioClient);
+        var regionSnapshotStore = mock(RegionSnapshotStore.class);
+        when(regionSnapshotStore.load()).thenReturn(Map.of("de", endpoint));
+        return new S3ConnectorImpl("de", "access", "secret", "token", 1000, clientRegistry, mock(S3ApiClient.class), regionSnapshotStore,
+                memoryBudget, new BufferPool(4), null);
+    }
+
+    private static HttpServer objectServer(byte[] content) throws IOException {
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/" + BUCKET + "/" + OBJECT, exchange -> {
+            exchange.sendResponseHeaders(200, content.length);
+            try (var body = exchange.getResponseBody()) {
+                body.write(content);
+            } catch (IOException e) {
+                // Closed by the client before the end
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private void assertStagingDirectoryEmpty() throws IOException {
+        try (var files = Files.list(stagingDirectory)) {
+            assertTrue(files.findAny().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ionos.edc.extension.s3.connector;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.security.Vault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class VaultRegionSnapshotStoreTest {
+
+    private final Vault vault = mock(Vault.class);
+    private final Monitor monitor = mock(Monitor.class);
+    private final Map<String, String> secrets = new HashMap<>();
+
+    private final VaultRegionSnapshotStore store = new VaultRegionSnapshotStore(vault, monitor);
+
+    @BeforeEach
+    public void setup() {
+        doAnswer(invocation -> secrets.get(invocation.getArgument(0, String.class))).when(vault).resolveSecret(anyString());
+        doAnswer(invocation -> {
+            secrets.put(invocation.getArgument(0), invocation.getArgument(1));
+            return Result.success();
+        }).when(vault).storeSecret(anyString(), anyString());
+    }
+
+    @Test
+    public void save_load_roundTrip() {
+        var endpoints = Map.of("de", "s3.eu-central-1.ionoscloud.com", "eu-central-2", "s3.eu-central-2.ionoscloud.com");
+
+        store.save(endpoints);
+
+        assertEquals(endpoints, store.load());
+    }
+
+    @Test
+    public void load_missing_empty() {
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    public void load_corrupt_empty() {
+        secrets.put("edc.ionos.region.snapshot", "[\"de\"]");
+
+        assertTrue(store.load().isEmpty());
+        verify(monitor).warning(anyString(), any(JsonProcessingException.class));
+    }
+
+    @Test
+    public void save_vaultFails_warns() {
+        doReturn(Result.failure("Vault sealed")).when(vault).storeSecret(anyString(), anyString());
+
+        store.save(Map.of("de", "s3.eu-central-1.ionoscloud.com"));
+
+        verify(monitor).warning("[IonosS3] Error saving region snapshot in vault: Vault sealed");
+    }
+}
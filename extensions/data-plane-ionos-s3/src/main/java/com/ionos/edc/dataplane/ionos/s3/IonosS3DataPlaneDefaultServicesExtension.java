@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3;
+
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.InMemoryTransferCheckpointStore;
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import org.eclipse.edc.runtime.metamodel.annotation.Extension;
+import org.eclipse.edc.runtime.metamodel.annotation.Inject;
+import org.eclipse.edc.runtime.metamodel.annotation.Provider;
+import org.eclipse.edc.spi.system.ServiceExtension;
+
+import java.time.Clock;
+
+@Extension(value = IonosS3DataPlaneDefaultServicesExtension.NAME)
+public class IonosS3DataPlaneDefaultServicesExtension implements ServiceExtension {
+
+    public static final String NAME = "Data Plane Ionos S3 Default Services";
+
+    @Inject
+    private Clock clock;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Provider(isDefault = true)
+    public TransferCheckpointStore transferCheckpointStore() {
+        return new InMemoryTransferCheckpointStore(clock);
+    }
+}
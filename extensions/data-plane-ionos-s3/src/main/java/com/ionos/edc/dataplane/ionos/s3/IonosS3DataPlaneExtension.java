@@ -14,8 +14,15 @@
 
 package com.ionos.edc.dataplane.ionos.s3;
 
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.CheckpointSweeper;
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
 import com.ionos.edc.dataplane.ionos.s3.datasink.IonosDataSinkFactory;
 import com.ionos.edc.dataplane.ionos.s3.datasource.IonosDataSourceFactory;
+import com.ionos.edc.extension.s3.api.S3ApiClient;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.DiskStaging;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import com.ionos.edc.extension.s3.connector.MinioClientRegistry;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.DataTransferExecutorServiceContainer;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.PipelineService;
@@ -26,18 +33,70 @@ import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.spi.types.TypeManager;
 
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.TYPE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_SWEEPER_INTERVAL;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_SWEEPER_INTERVAL_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_SWEEPER_MAX_AGE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHECKPOINT_SWEEPER_MAX_AGE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_ADAPTIVE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_ADAPTIVE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_ADAPTIVE_DURATION;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_ADAPTIVE_DURATION_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_SIZE_MIN;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_CHUNK_SIZE_MIN_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_COPY_SERVER_SIDE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_COPY_SERVER_SIDE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_DOWNLOAD_RANGE_PARALLELISM;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_DOWNLOAD_RANGE_PARALLELISM_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_DOWNLOAD_RANGE_THREADS;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_DOWNLOAD_RANGE_THREADS_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_SINK_CONNECTOR_CACHE_SIZE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_SINK_CONNECTOR_CACHE_SIZE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_SYNC_DELETE_DRY_RUN;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_SYNC_DELETE_DRY_RUN_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_UPLOAD_MAX_CONCURRENT_PARTS;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_UPLOAD_MAX_CONCURRENT_PARTS_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_UPLOAD_PART_SIZE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_UPLOAD_PART_SIZE_DEFAULT;
 
 @Extension(value = IonosS3DataPlaneExtension.NAME)
 public class IonosS3DataPlaneExtension implements ServiceExtension {
 
     public static final String NAME = "Data Plane Ionos S3 Storage";
+    private static final long RANGE_THREAD_KEEP_ALIVE = 60000;
+
     @Inject
     private PipelineService pipelineService;
     
     @Inject(required = false)
     private S3Connector s3Connector;
 
+    @Inject
+    private MinioClientRegistry clientRegistry;
+
+    @Inject
+    private S3ApiClient apiClient;
+
+    @Inject
+    private MemoryBudget memoryBudget;
+
+    @Inject
+    private BufferPool bufferPool;
+
+    @Inject(required = false)
+    private DiskStaging diskStaging;
+
+    @Inject
+    private TransferCheckpointStore checkpointStore;
+
     @Inject
     private DataTransferExecutorServiceContainer executorContainer;
     
@@ -47,6 +106,12 @@ public class IonosS3DataPlaneExtension implements ServiceExtension {
     @Inject
     private TypeManager typeManager;
 
+    @Inject
+    private Clock clock;
+
+    private ExecutorService rangeExecutorService;
+    private ScheduledExecutorService checkpointScheduler;
+
     @Override
     public String name() {
         return NAME;
@@ -62,14 +127,47 @@ public class IonosS3DataPlaneExtension implements ServiceExtension {
         } else {
             contextMonitor.debug("Initializing dataSource factory");
 
-            var dataSourceFactory = new IonosDataSourceFactory(s3Connector);
+            var minChunkSize = context.getSetting(IONOS_CHUNK_SIZE_MIN, IONOS_CHUNK_SIZE_MIN_DEFAULT);
+            var adaptiveChunkSize = context.getSetting(IONOS_CHUNK_ADAPTIVE, IONOS_CHUNK_ADAPTIVE_DEFAULT);
+            var adaptiveChunkDuration = context.getSetting(IONOS_CHUNK_ADAPTIVE_DURATION, IONOS_CHUNK_ADAPTIVE_DURATION_DEFAULT);
+            var rangeParallelism = context.getSetting(IONOS_DOWNLOAD_RANGE_PARALLELISM, IONOS_DOWNLOAD_RANGE_PARALLELISM_DEFAULT);
+            var rangeThreads = Math.max(context.getSetting(IONOS_DOWNLOAD_RANGE_THREADS, IONOS_DOWNLOAD_RANGE_THREADS_DEFAULT), 1);
+            // Bounded, the ranges of concurrent transfers wait in the queue once all the threads are busy
+            var rangeExecutor = new ThreadPoolExecutor(rangeThreads, rangeThreads, RANGE_THREAD_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+            rangeExecutor.allowCoreThreadTimeOut(true);
+            rangeExecutorService = rangeExecutor;
+            var dataSourceFactory = new IonosDataSourceFactory(s3Connector, minChunkSize, adaptiveChunkSize, adaptiveChunkDuration,
+                    rangeParallelism, rangeExecutorService, memoryBudget, bufferPool);
             pipelineService.registerFactory(dataSourceFactory);
         }
 
         contextMonitor.debug("Initializing dataSink factory");
-        var dataSinkFactory = new IonosDataSinkFactory(executorContainer.getExecutorService(), monitor, vault, typeManager);
+        var partSize = context.getSetting(IONOS_UPLOAD_PART_SIZE, IONOS_UPLOAD_PART_SIZE_DEFAULT);
+        var maxConcurrentParts = context.getSetting(IONOS_UPLOAD_MAX_CONCURRENT_PARTS, IONOS_UPLOAD_MAX_CONCURRENT_PARTS_DEFAULT);
+        var serverSideCopy = context.getSetting(IONOS_COPY_SERVER_SIDE, IONOS_COPY_SERVER_SIDE_DEFAULT);
+        var syncDeleteDryRun = context.getSetting(IONOS_SYNC_DELETE_DRY_RUN, IONOS_SYNC_DELETE_DRY_RUN_DEFAULT);
+        var connectorCacheSize = context.getSetting(IONOS_SINK_CONNECTOR_CACHE_SIZE, IONOS_SINK_CONNECTOR_CACHE_SIZE_DEFAULT);
+        var dataSinkFactory = new IonosDataSinkFactory(executorContainer.getExecutorService(), monitor, vault, typeManager,
+                clientRegistry, apiClient, memoryBudget, bufferPool, diskStaging, checkpointStore, partSize, maxConcurrentParts, serverSideCopy,
+                syncDeleteDryRun, connectorCacheSize);
         pipelineService.registerFactory(dataSinkFactory);
 
+        var checkpointSweeperInterval = context.getSetting(IONOS_CHECKPOINT_SWEEPER_INTERVAL, IONOS_CHECKPOINT_SWEEPER_INTERVAL_DEFAULT);
+        var checkpointSweeperMaxAge = context.getSetting(IONOS_CHECKPOINT_SWEEPER_MAX_AGE, IONOS_CHECKPOINT_SWEEPER_MAX_AGE_DEFAULT);
+        checkpointScheduler = new ScheduledThreadPoolExecutor(1);
+        new CheckpointSweeper(contextMonitor, checkpointStore, checkpointScheduler, checkpointSweeperInterval, checkpointSweeperMaxAge, clock)
+                .start();
+
         contextMonitor.info("DataPlane extension initialized !");
     }
+
+    @Override
+    public void shutdown() {
+        if (rangeExecutorService != null) {
+            rangeExecutorService.shutdownNow();
+        }
+        if (checkpointScheduler != null) {
+            checkpointScheduler.shutdownNow();
+        }
+    }
 }
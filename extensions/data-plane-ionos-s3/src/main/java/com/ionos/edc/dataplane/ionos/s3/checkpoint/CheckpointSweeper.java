@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.time.Clock;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes the checkpoints left behind by data flows that were not restarted, for example when a data
+ * flow was terminated while the data plane was stopped. A checkpoint is deleted when it was not updated for more than
+ * {@code maxAge}. The multipart uploads it held cannot be aborted without the credentials of their data flow, they
+ * are reported to be aborted by the bucket lifecycle rules or manually.
+ */
+public class CheckpointSweeper {
+
+    private final Monitor monitor;
+    private final TransferCheckpointStore store;
+    private final ScheduledExecutorService scheduler;
+    private final long interval;
+    private final long maxAge;
+    private final Clock clock;
+
+    public CheckpointSweeper(Monitor monitor, TransferCheckpointStore store, ScheduledExecutorService scheduler,
+                             long interval, long maxAge, Clock clock) {
+        this.monitor = monitor;
+        this.store = store;
+        this.scheduler = scheduler;
+        this.interval = interval;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public void start() {
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void sweep() {
+        try {
+            var expiredUploads = store.deleteExpired(clock.millis() - maxAge);
+            for (var upload : expiredUploads) {
+                monitor.warning("Deleted the expired checkpoint of data flow " + upload.processId() + ", the multipart upload " +
+                        upload.uploadId() + " of object " + upload.objectName() + " is left open");
+            }
+        } catch (Exception e) {
+            monitor.warning("Error sweeping the expired transfer checkpoints", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import com.ionos.edc.extension.s3.connector.UploadCheckpoint;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the checkpoints in memory, data flows are resumed only if restarted by the same runtime.
+ */
+public class InMemoryTransferCheckpointStore implements TransferCheckpointStore {
+
+    private record StartedUpload(String uploadId, long partSize, String sourceEtag, long sourceSize, Map<Integer, String> parts) {}
+
+    private record Checkpoint(Set<String> completedObjects, Map<String, StartedUpload> uploads, AtomicLong updatedAt) {}
+
+    private final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryTransferCheckpointStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Set<String> completedObjects(String processId) {
+        var checkpoint = checkpoints.get(processId);
+        return (checkpoint != null) ? Set.copyOf(checkpoint.completedObjects()) : Set.of();
+    }
+
+    @Override
+    public void objectCompleted(String processId, String objectName) {
+        var checkpoint = checkpoint(processId);
+        checkpoint.completedObjects().add(objectName);
+        checkpoint.uploads().remove(objectName);
+    }
+
+    @Override
+    public UploadCheckpoint.Upload findUpload(String processId, String objectName) {
+        var checkpoint = checkpoints.get(processId);
+        var upload = (checkpoint != null) ? checkpoint.uploads().get(objectName) : null;
+        return (upload != null) ?
+                new UploadCheckpoint.Upload(upload.uploadId(), upload.partSize(), upload.sourceEtag(), upload.sourceSize(), Map.copyOf(upload.parts())) :
+                null;
+    }
+
+    @Override
+    public void uploadStarted(String processId, String objectName, String uploadId, long partSize, String sourceEtag, long sourceSize) {
+        checkpoint(processId).uploads().put(objectName, new StartedUpload(uploadId, partSize, sourceEtag, sourceSize, new ConcurrentHashMap<>()));
+    }
+
+    @Override
+    public void partUploaded(String processId, String objectName, int partNumber, String etag) {
+        var checkpoint = checkpoints.get(processId);
+        var upload = (checkpoint != null) ? checkpoint.uploads().get(objectName) : null;
+        if (upload != null) {
+            upload.parts().put(partNumber, etag);
+            checkpoint.updatedAt().set(clock.millis());
+        }
+    }
+
+    @Override
+    public void deleteUpload(String processId, String objectName) {
+        var checkpoint = checkpoints.get(processId);
+        if (checkpoint != null) {
+            checkpoint.uploads().remove(objectName);
+        }
+    }
+
+    @Override
+    public void delete(String processId) {
+        checkpoints.remove(processId);
+    }
+
+    @Override
+    public List<ExpiredUpload> deleteExpired(long before) {
+        var expiredUploads = new ArrayList<ExpiredUpload>();
+        checkpoints.forEach((processId, checkpoint) -> {
+            if (checkpoint.updatedAt().get() < before && checkpoints.remove(processId, checkpoint)) {
+                checkpoint.uploads().forEach((objectName, upload) ->
+                        expiredUploads.add(new ExpiredUpload(processId, objectName, upload.uploadId())));
+            }
+        });
+        return expiredUploads;
+    }
+
+    /**
+     * Returns the checkpoint of the data flow, created if needed, as updated now.
+     */
+    private Checkpoint checkpoint(String processId) {
+        var checkpoint = checkpoints.computeIfAbsent(processId,
+                key -> new Checkpoint(ConcurrentHashMap.newKeySet(), new ConcurrentHashMap<>(), new AtomicLong(clock.millis())));
+        checkpoint.updatedAt().set(clock.millis());
+        return checkpoint;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import com.ionos.edc.extension.s3.connector.UploadCheckpoint;
+
+/**
+ * Records the multipart upload of an object of a data flow in the checkpoint store.
+ */
+public class ObjectUploadCheckpoint implements UploadCheckpoint {
+
+    private final TransferCheckpointStore store;
+    private final String processId;
+    private final String objectName;
+    private final String sourceEtag;
+    private final long sourceSize;
+
+    public ObjectUploadCheckpoint(TransferCheckpointStore store, String processId, String objectName, String sourceEtag, long sourceSize) {
+        this.store = store;
+        this.processId = processId;
+        this.objectName = objectName;
+        this.sourceEtag = sourceEtag;
+        this.sourceSize = sourceSize;
+    }
+
+    @Override
+    public Upload previousUpload() {
+        return store.findUpload(processId, objectName);
+    }
+
+    @Override
+    public String sourceEtag() {
+        return sourceEtag;
+    }
+
+    @Override
+    public long sourceSize() {
+        return sourceSize;
+    }
+
+    @Override
+    public boolean isDurable() {
+        return store.isDurable();
+    }
+
+    @Override
+    public void uploadStarted(String uploadId, long partSize) {
+        store.uploadStarted(processId, objectName, uploadId, partSize, sourceEtag, sourceSize);
+    }
+
+    @Override
+    public void partUploaded(int partNumber, String etag) {
+        store.partUploaded(processId, objectName, partNumber, etag);
+    }
+
+    @Override
+    public void uploadAborted() {
+        store.deleteUpload(processId, objectName);
+    }
+}
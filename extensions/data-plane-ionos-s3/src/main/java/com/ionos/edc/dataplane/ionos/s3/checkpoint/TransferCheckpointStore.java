@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import com.ionos.edc.extension.s3.connector.UploadCheckpoint;
+import org.eclipse.edc.runtime.metamodel.annotation.ExtensionPoint;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persists the progress of the transfers to IONOS S3 buckets by data flow, so a data flow restarted after a failure
+ * of the data plane continues from its last checkpoint: the objects already transferred are skipped and the
+ * multipart upload of the object being transferred is resumed.
+ */
+@ExtensionPoint
+public interface TransferCheckpointStore {
+
+    /**
+     * Multipart upload of an expired checkpoint.
+     */
+    record ExpiredUpload(String processId, String objectName, String uploadId) {}
+
+    Set<String> completedObjects(String processId);
+
+    /**
+     * Records the object as transferred, dropping its multipart upload checkpoint.
+     */
+    void objectCompleted(String processId, String objectName);
+
+    /**
+     * Returns the multipart upload of the object, or null if none was started.
+     */
+    UploadCheckpoint.Upload findUpload(String processId, String objectName);
+
+    void uploadStarted(String processId, String objectName, String uploadId, long partSize, String sourceEtag, long sourceSize);
+
+    void partUploaded(String processId, String objectName, int partNumber, String etag);
+
+    void deleteUpload(String processId, String objectName);
+
+    /**
+     * Deletes all the checkpoints of the data flow, once completed.
+     */
+    void delete(String processId);
+
+    /**
+     * Deletes the checkpoints of the data flows not updated since {@code before}, left by data flows that were not
+     * restarted. Returns the multipart uploads they held, which are not aborted.
+     */
+    List<ExpiredUpload> deleteExpired(long before);
+
+    /**
+     * Whether the checkpoints outlive a restart of the data plane. Otherwise the multipart uploads of interrupted
+     * transfers are aborted, as nothing could resume them.
+     */
+    default boolean isDurable() {
+        return false;
+    }
+}
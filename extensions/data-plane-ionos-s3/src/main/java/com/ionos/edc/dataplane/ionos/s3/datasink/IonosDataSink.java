@@ -14,8 +14,12 @@
 
 package com.ionos.edc.dataplane.ionos.s3.datasink;
 
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.ObjectUploadCheckpoint;
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
 import com.ionos.edc.dataplane.ionos.s3.datasource.IonosDataSource;
+import com.ionos.edc.dataplane.ionos.s3.util.PartInputStream;
 import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.types.S3Object;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult;
 import org.eclipse.edc.connector.dataplane.util.sink.ParallelSink;
@@ -23,23 +27,64 @@ import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.util.string.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
 public class IonosDataSink extends ParallelSink {
 
+    // Source ETag stored with the transferred objects, the ETags of multipart objects depend on their part size
+    private static final String SOURCE_ETAG_METADATA = "source-etag";
+
     private S3Connector s3Connector;
     private String endpoint;
     private String bucketName;
     private String path;
+    private long partSize;
+    private int maxConcurrentParts;
+    private volatile boolean serverSideCopy;
+    private boolean sync;
+    private boolean syncDelete;
+    private boolean syncDeleteDryRun;
+    private String sourceBlobName;
+    private Pattern sourceFilterIncludes;
+    private Pattern sourceFilterExcludes;
+    private TransferCheckpointStore checkpointStore;
+    private String processId;
+
+    private Map<String, S3Object> destinationObjects;
+    private Set<String> completedObjects;
+    private final Set<String> sourceObjectNames = ConcurrentHashMap.newKeySet();
+    private volatile boolean interrupted = false;
 
     private IonosDataSink() {}
 
+    /**
+     * Deletes the checkpoints of a failed data flow, its multipart upload being aborted already. They are kept when
+     * the transfer was interrupted, the data plane is then likely stopping and restarts the data flow.
+     */
+    @Override
+    public CompletableFuture<StreamResult<Object>> transfer(DataSource source) {
+        return super.transfer(source).thenApply(result -> {
+            if (result.failed() && !interrupted && checkpointStore != null) {
+                try {
+                    checkpointStore.delete(processId);
+                } catch (Exception e) {
+                    monitor.warning(format("Error deleting the checkpoints of the failed data flow %s", processId), e);
+                }
+            }
+            return result;
+        });
+    }
+
     @Override
     protected StreamResult<Object> transferParts(List<DataSource.Part> parts) {
 
@@ -50,65 +95,198 @@ public class IonosDataSink extends ParallelSink {
 
             String blobName = (this.path != null) ? this.path + part.name() : part.name();
 
-            ByteArrayOutputStream streamsOutput = null;
-            InputStream stream = null;
-            try {
-                streamsOutput = new ByteArrayOutputStream();
-                stream = part.openStream();
-
-                // TODO Make this more configurable
-                if (part instanceof IonosDataSource.S3Part) {
-                    // Multiple fetches
-                    while (stream != null) {
-                        try {
-                            streamsOutput.write(stream.readAllBytes());
-                            stream.close();
-
-                        } catch (Exception e) {
-                            return uploadFailure(e, blobName);
-                        }
-
-                        stream = part.openStream();
-                    }
-                } else {
-                    // Single fetch
-                    try {
-                        streamsOutput.write(stream.readAllBytes());
-                        stream.close();
-
-                    } catch (Exception e) {
-                        return uploadFailure(e, blobName);
-                    }
+            if (sync) {
+                sourceObjectNames.add(blobName);
+            }
+            // Transferred before the data flow was restarted
+            if (completedObjects().contains(blobName)) {
+                continue;
+            }
+
+            Map<String, String> userMetadata = Map.of();
+            if (sync && part instanceof IonosDataSource.S3Part s3Part && s3Part.etag() != null) {
+                if (isUnchanged(s3Part, blobName)) {
+                    continue;
                 }
+                userMetadata = Map.of(SOURCE_ETAG_METADATA, s3Part.etag());
+            }
 
-                var byteArray = streamsOutput.toByteArray();
-                try (var streamsInput = new ByteArrayInputStream(byteArray)) {
-                    s3Connector.uploadObject(bucketName, endpoint, blobName, streamsInput);
-                    streamsOutput.close();
+            if (part instanceof IonosDataSource.S3Part s3Part && copyObject(s3Part, blobName, userMetadata)) {
+                objectCompleted(blobName);
+                continue;
+            }
 
-                } catch (Exception e) {
-                    return uploadFailure(e, blobName);
-                }
-            } finally {
-                try {
-                    if (streamsOutput != null) {
-                        streamsOutput.close();
-                    }
-                    if (stream != null) {
-                        stream.close();
-                    }
+            // S3 parts are fetched in chunks, forwarded to the upload as they arrive
+            try (var stream = new PartInputStream(part, part instanceof IonosDataSource.S3Part)) {
+                var checkpoint = uploadCheckpoint(part, blobName);
+                var size = (part instanceof IonosDataSource.S3Part) ? part.size() : -1;
+                s3Connector.uploadObject(bucketName, endpoint, blobName, stream, size, partSize, maxConcurrentParts, userMetadata, checkpoint);
+            } catch (Exception e) {
+                return uploadFailure(e, blobName);
+            }
+            objectCompleted(blobName);
+        }
 
-                } catch (Exception e) {
-                    monitor.severe("Error closing streams", e);
-                }
+        return StreamResult.success();
+    }
+
+    /**
+     * Copies the object within the S3 endpoint when the source is in the same endpoint. Returns false if the copy is
+     * not possible, for instance when the destination credentials cannot read the source bucket, then the remaining
+     * objects are streamed through the data plane.
+     */
+    private boolean copyObject(IonosDataSource.S3Part part, String blobName, Map<String, String> userMetadata) {
+        if (!serverSideCopy || !s3Connector.supportsServerSideCopy()) {
+            return false;
+        }
+        try {
+            if (!endpoint.equals(part.endpoint())) {
+                return false;
             }
+            s3Connector.copyObject(part.bucketName(), part.name(), bucketName, endpoint, blobName, part.size(), maxConcurrentParts, userMetadata);
+            return true;
+        } catch (Exception e) {
+            serverSideCopy = false;
+            monitor.debug(format("Server side copy of %s to the %s bucket not possible, streaming the objects instead: %s",
+                    part.name(), bucketName, e.getMessage()));
+            return false;
         }
+    }
 
+    /**
+     * Once all the objects were transferred, deletes the objects of the destination path not found in the source and
+     * the checkpoints of the data flow.
+     */
+    @Override
+    protected StreamResult<Object> complete() {
+        if (sync && syncDelete) {
+            deleteObjectsMissingFromSource();
+        }
+        if (checkpointStore != null) {
+            checkpointStore.delete(processId);
+        }
         return StreamResult.success();
     }
 
+    /**
+     * Only the objects of the destination folder are deleted, the path must end with a slash not to delete the
+     * objects of other folders sharing its prefix. The objects the source filters leave out are kept.
+     */
+    private void deleteObjectsMissingFromSource() {
+        if (path == null) {
+            monitor.warning(format("Not deleting the objects missing from the source, the whole %s bucket is the destination", bucketName));
+            return;
+        }
+        if (!path.endsWith("/")) {
+            monitor.warning(format("Not deleting the objects missing from the source, the %s path is not a folder", path));
+            return;
+        }
+
+        var missingObjects = destinationObjects().keySet().stream()
+                .filter(objectName -> !sourceObjectNames.contains(objectName))
+                .filter(this::isFilteredInSource)
+                .collect(Collectors.toList());
+        if (syncDeleteDryRun) {
+            missingObjects.forEach(objectName -> monitor.info(format("Dry run, not deleting the %s object missing from the source", objectName)));
+            return;
+        }
+
+        var deletions = missingObjects.stream()
+                .map(objectName -> s3Connector.async().deleteObject(bucketName, endpoint, objectName)
+                        .exceptionally(error -> {
+                            monitor.warning(format("Error deleting the %s object missing from the source", objectName), error);
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(deletions).join();
+    }
+
+    /**
+     * Whether the source filters let through the object of the source matching this destination object.
+     */
+    private boolean isFilteredInSource(String objectName) {
+        var sourceObject = new S3Object(objectName.substring(path.length()), 0);
+        if (sourceBlobName == null || sourceObject.isRootObject(sourceBlobName)) {
+            return true;
+        }
+
+        var shortObjectName = sourceObject.shortObjectName(sourceBlobName);
+        if (sourceFilterIncludes != null && !sourceFilterIncludes.matcher(shortObjectName).matches()) {
+            return false;
+        }
+        return sourceFilterExcludes == null || !sourceFilterExcludes.matcher(shortObjectName).matches();
+    }
+
+    /**
+     * An object is unchanged when the destination has the same size and either the same ETag or the source ETag
+     * stored when it was transferred.
+     */
+    private boolean isUnchanged(IonosDataSource.S3Part part, String blobName) {
+        var existing = destinationObjects().get(blobName);
+        if (existing == null || existing.size() != part.size()) {
+            return false;
+        }
+        if (part.etag().equals(existing.etag())) {
+            return true;
+        }
+
+        try {
+            var userMetadata = s3Connector.async().getUserMetadata(bucketName, endpoint, blobName).join();
+            return part.etag().equals(userMetadata.get(SOURCE_ETAG_METADATA));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lists the destination path once, shared by the threads transferring the parts. If the listing fails, all the
+     * objects are transferred and none is deleted.
+     */
+    private synchronized Map<String, S3Object> destinationObjects() {
+        if (destinationObjects == null) {
+            var prefix = (path != null) ? path : "";
+            try {
+                destinationObjects = s3Connector.async().listEndpointObjects(bucketName, endpoint, prefix).join().stream()
+                        .collect(Collectors.toMap(S3Object::objectName, Function.identity()));
+            } catch (Exception e) {
+                monitor.warning(format("Error listing the %s bucket, transferring all the objects", bucketName), e);
+                destinationObjects = Map.of();
+            }
+        }
+        return destinationObjects;
+    }
+
+    /**
+     * Loads once the objects transferred by a previous attempt of the data flow, skipped when it is restarted.
+     */
+    private synchronized Set<String> completedObjects() {
+        if (completedObjects == null) {
+            completedObjects = (checkpointStore != null) ? checkpointStore.completedObjects(processId) : Set.of();
+        }
+        return completedObjects;
+    }
+
+    /**
+     * Only the uploads of S3 objects are resumed, their ETag identifies the version of the object they were started for.
+     */
+    private ObjectUploadCheckpoint uploadCheckpoint(DataSource.Part part, String blobName) {
+        if (checkpointStore == null || !(part instanceof IonosDataSource.S3Part s3Part) || s3Part.etag() == null) {
+            return null;
+        }
+        return new ObjectUploadCheckpoint(checkpointStore, processId, blobName, s3Part.etag(), s3Part.size());
+    }
+
+    private void objectCompleted(String blobName) {
+        if (checkpointStore != null) {
+            checkpointStore.objectCompleted(processId, blobName);
+        }
+    }
+
     @NotNull
     private StreamResult<Object> uploadFailure(Exception e, String blobName) {
+        if (Thread.currentThread().isInterrupted()) {
+            interrupted = true;
+        }
         var message = format("Error writing the %s object on the %s bucket: %s", blobName, bucketName, e.getMessage());
         monitor.severe(message, e);
         return StreamResult.error(message);
@@ -144,10 +322,67 @@ public class IonosDataSink extends ParallelSink {
             return this;
         }
 
+        public Builder partSize(long partSize) {
+            sink.partSize = partSize;
+            return this;
+        }
+
+        public Builder maxConcurrentParts(int maxConcurrentParts) {
+            sink.maxConcurrentParts = maxConcurrentParts;
+            return this;
+        }
+
+        public Builder serverSideCopy(boolean serverSideCopy) {
+            sink.serverSideCopy = serverSideCopy;
+            return this;
+        }
+
+        public Builder sync(boolean sync) {
+            sink.sync = sync;
+            return this;
+        }
+
+        public Builder syncDelete(boolean syncDelete) {
+            sink.syncDelete = syncDelete;
+            return this;
+        }
+
+        public Builder sourceBlobName(String sourceBlobName) {
+            sink.sourceBlobName = sourceBlobName;
+            return this;
+        }
+
+        public Builder sourceFilterIncludes(String sourceFilterIncludes) {
+            if (!StringUtils.isNullOrBlank(sourceFilterIncludes))
+                sink.sourceFilterIncludes = Pattern.compile(sourceFilterIncludes);
+            return this;
+        }
+
+        public Builder sourceFilterExcludes(String sourceFilterExcludes) {
+            if (!StringUtils.isNullOrBlank(sourceFilterExcludes))
+                sink.sourceFilterExcludes = Pattern.compile(sourceFilterExcludes);
+            return this;
+        }
+
+        public Builder syncDeleteDryRun(boolean syncDeleteDryRun) {
+            sink.syncDeleteDryRun = syncDeleteDryRun;
+            return this;
+        }
+
+        public Builder checkpointStore(TransferCheckpointStore checkpointStore) {
+            sink.checkpointStore = checkpointStore;
+            return this;
+        }
+
+        public Builder processId(String processId) {
+            sink.processId = processId;
+            return this;
+        }
+
         @Override
         protected void validate() {
             Objects.requireNonNull(sink.bucketName, "Bucket Name is required");
-            Objects.requireNonNull(sink.bucketName, "Endpoint is required");
+            Objects.requireNonNull(sink.endpoint, "Endpoint is required");
         }
     }
 }
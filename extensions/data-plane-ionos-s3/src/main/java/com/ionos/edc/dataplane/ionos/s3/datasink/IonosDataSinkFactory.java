@@ -14,7 +14,13 @@
 
 package com.ionos.edc.dataplane.ionos.s3.datasink;
 
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
 import com.ionos.edc.dataplane.ionos.s3.validators.IonosDataSinkDestinationValidator;
+import com.ionos.edc.extension.s3.api.S3ApiClient;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.DiskStaging;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import com.ionos.edc.extension.s3.connector.MinioClientRegistry;
 import com.ionos.edc.extension.s3.connector.S3ConnectorImpl;
 import com.ionos.edc.extension.s3.types.IonosToken;
 import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
@@ -31,6 +37,7 @@ import org.eclipse.edc.validator.spi.Validator;
 import org.eclipse.edc.validator.spi.ValidationResult;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Clock;
 import java.util.concurrent.ExecutorService;
 
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.MAX_FILES;
@@ -41,14 +48,39 @@ public class IonosDataSinkFactory implements DataSinkFactory {
     private final Monitor monitor;
     private final Vault vault;
     private final TypeManager typeManager;
+    private final MinioClientRegistry clientRegistry;
+    private final S3ApiClient apiClient;
+    private final MemoryBudget memoryBudget;
+    private final BufferPool bufferPool;
+    private final DiskStaging diskStaging;
+    private final TransferCheckpointStore checkpointStore;
+    private final long partSize;
+    private final int maxConcurrentParts;
+    private final boolean serverSideCopy;
+    private final boolean syncDeleteDryRun;
+    private final SinkConnectorCache connectorCache;
 
     private final Validator<DataAddress> destinationValidator = new IonosDataSinkDestinationValidator();
 
-    public IonosDataSinkFactory(ExecutorService executorService, Monitor monitor, Vault vault, TypeManager typeManager) {
+    public IonosDataSinkFactory(ExecutorService executorService, Monitor monitor, Vault vault, TypeManager typeManager,
+                                MinioClientRegistry clientRegistry, S3ApiClient apiClient, MemoryBudget memoryBudget, BufferPool bufferPool,
+                                DiskStaging diskStaging, TransferCheckpointStore checkpointStore, long partSize, int maxConcurrentParts, boolean serverSideCopy,
+                                boolean syncDeleteDryRun, int connectorCacheSize) {
         this.executorService = executorService;
         this.monitor = monitor;
         this.vault = vault;
         this.typeManager = typeManager;
+        this.clientRegistry = clientRegistry;
+        this.apiClient = apiClient;
+        this.memoryBudget = memoryBudget;
+        this.bufferPool = bufferPool;
+        this.diskStaging = diskStaging;
+        this.checkpointStore = checkpointStore;
+        this.partSize = partSize;
+        this.maxConcurrentParts = maxConcurrentParts;
+        this.serverSideCopy = serverSideCopy;
+        this.syncDeleteDryRun = syncDeleteDryRun;
+        this.connectorCache = new SinkConnectorCache(connectorCacheSize, Clock.systemUTC());
     }
 
     @Override
@@ -64,9 +96,10 @@ public class IonosDataSinkFactory implements DataSinkFactory {
 
     @Override
     public DataSink createSink(DataFlowStartMessage request) {
+        var source = request.getSourceDataAddress();
         var destination = request.getDestinationDataAddress();
 
-        var secret = vault.resolveSecret(request.getDestinationDataAddress().getKeyName());
+        var secret = vault.resolveSecret(destination.getKeyName());
         if (secret == null) {
             throw new EdcException("Missing destination temporary token");
         }
@@ -75,12 +108,25 @@ public class IonosDataSinkFactory implements DataSinkFactory {
         var endpoint = destination.getStringProperty(IonosBucketSchema.ENDPOINT);
         var maxFiles = Integer.parseInt(destination.getStringProperty(MAX_FILES));
 
-        var s3Connector = new S3ConnectorImpl(token.getAccessKey(), token.getSecretKey(), maxFiles);
+        var s3Connector = connectorCache.getConnector(token, maxFiles,
+                temporaryToken -> new S3ConnectorImpl(temporaryToken.getAccessKey(), temporaryToken.getSecretKey(), maxFiles, clientRegistry, apiClient,
+                        memoryBudget, bufferPool, diskStaging));
 
         return IonosDataSink.Builder.newInstance()
                 .endpoint(endpoint)
                 .bucketName(destination.getStringProperty(IonosBucketSchema.BUCKET_NAME))
                 .path(destination.getStringProperty(IonosBucketSchema.PATH))
+                .partSize(partSize)
+                .maxConcurrentParts(maxConcurrentParts)
+                .serverSideCopy(serverSideCopy)
+                .sync(Boolean.parseBoolean(destination.getStringProperty(IonosBucketSchema.SYNC)))
+                .syncDelete(Boolean.parseBoolean(destination.getStringProperty(IonosBucketSchema.SYNC_DELETE)))
+                .syncDeleteDryRun(syncDeleteDryRun)
+                .sourceBlobName(source.getStringProperty(IonosBucketSchema.BLOB_NAME))
+                .sourceFilterIncludes(source.getStringProperty(IonosBucketSchema.FILTER_INCLUDES))
+                .sourceFilterExcludes(source.getStringProperty(IonosBucketSchema.FILTER_EXCLUDES))
+                .checkpointStore(checkpointStore)
+                .processId(request.getProcessId())
                 .requestId(request.getId())
                 .executorService(executorService)
                 .monitor(monitor)
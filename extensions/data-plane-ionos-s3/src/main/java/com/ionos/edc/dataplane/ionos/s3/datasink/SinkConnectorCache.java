@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.datasink;
+
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.types.IonosToken;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the connectors built from the temporary tokens by access key until the tokens expire, the provisioner reusing
+ * the temporary keys across transfers. When the cache is full the connectors expiring first are dropped.
+ */
+class SinkConnectorCache {
+
+    private record ConnectorKey(String accessKey, int maxFiles) {}
+
+    private record Entry(S3Connector connector, long expiration) {}
+
+    private final int maxSize;
+    private final Clock clock;
+
+    private final Map<ConnectorKey, Entry> connectors = new ConcurrentHashMap<>();
+
+    SinkConnectorCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    S3Connector getConnector(IonosToken token, int maxFiles, Function<IonosToken, S3Connector> factory) {
+        var now = clock.millis();
+        var key = new ConnectorKey(token.getAccessKey(), maxFiles);
+        var entry = connectors.get(key);
+        if (entry != null && entry.expiration() > now) {
+            return entry.connector();
+        }
+
+        var connector = factory.apply(token);
+        put(key, new Entry(connector, token.getExpiration()), now);
+        return connector;
+    }
+
+    int size() {
+        return connectors.size();
+    }
+
+    private void put(ConnectorKey key, Entry entry, long now) {
+        if (maxSize <= 0) {
+            return;
+        }
+        connectors.put(key, entry);
+        if (connectors.size() > maxSize) {
+            connectors.values().removeIf(existing -> existing.expiration() <= now);
+        }
+        while (connectors.size() > maxSize) {
+            connectors.entrySet().stream()
+                    .min(Comparator.comparingLong(existing -> existing.getValue().expiration()))
+                    .ifPresent(oldest -> connectors.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+}
@@ -14,20 +14,32 @@
 
 package com.ionos.edc.dataplane.ionos.s3.datasource;
 
+import com.ionos.edc.dataplane.ionos.s3.util.ChunkSizeStrategy;
 import com.ionos.edc.dataplane.ionos.s3.util.FileTransferHelper;
+import com.ionos.edc.dataplane.ionos.s3.util.ParallelRangeInputStream;
+import com.ionos.edc.dataplane.ionos.s3.util.RegexPrefixHelper;
+import com.ionos.edc.dataplane.ionos.s3.util.ScalingChunkSizeStrategy;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import com.ionos.edc.extension.s3.types.S3Object;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamFailure;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult;
-import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.util.string.StringUtils;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.eclipse.edc.connector.dataplane.spi.pipeline.StreamFailure.Reason.NOT_FOUND;
 import static org.eclipse.edc.connector.dataplane.spi.pipeline.StreamResult.success;
@@ -41,6 +53,11 @@ public class IonosDataSource implements DataSource {
     private String blobName;
     private Pattern filterIncludes;
     private Pattern filterExcludes;
+    private ChunkSizeStrategy chunkSizeStrategy;
+    private int rangeParallelism = 1;
+    private ExecutorService executorService;
+    private MemoryBudget memoryBudget;
+    private BufferPool bufferPool;
 
     private IonosDataSource() {
     }
@@ -48,36 +65,83 @@ public class IonosDataSource implements DataSource {
     @Override
     public StreamResult<Stream<Part>> openPartStream() {
 
-        var objects = s3Connector.listObjects(bucketName, regionId, blobName);
-
-        if (objects.isEmpty()) {
-            return failure(new StreamFailure(
-                    List.of("No files found in bucket " + bucketName + " with blobName " + blobName), NOT_FOUND)
-            );
-        }
+        var objects = listObjects();
 
         if (this.filterIncludes != null) {
-            objects = objects.stream()
-                    .filter(this::applyFilterIncludes)
-                    .collect(Collectors.toList());
+            objects = objects.filter(this::applyFilterIncludes);
         }
 
         if (this.filterExcludes != null) {
-            objects = objects.stream()
-                    .filter(this::applyFilterExcludes)
-                    .collect(Collectors.toList());
+            objects = objects.filter(this::applyFilterExcludes);
         }
 
-        if (objects.isEmpty()) {
+        // Only the first page of keys is fetched here, the rest is listed while the parts are consumed
+        var iterator = objects.iterator();
+        if (!iterator.hasNext()) {
+            objects.close();
             return failure(new StreamFailure(
                     List.of("No files found in bucket " + bucketName + " with blobName " + blobName), NOT_FOUND)
             );
         }
 
-        List<Part> parts = objects.stream()
-                .map(object -> new S3Part(s3Connector, regionId, bucketName, object.objectName(), object.isDirectory(), object.size()))
-                .collect(Collectors.toList());
-        return success(parts.stream());
+        Stream<Part> parts = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(objects::close)
+                .map(object -> new S3Part(s3Connector, regionId, bucketName, object.objectName(), object.isDirectory(), object.size(), object.etag(), chunkSizeStrategy,
+                        rangeParallelism, executorService, memoryBudget, bufferPool));
+        return success(parts);
+    }
+
+    /**
+     * Lists the objects under the blob name. With an include filter, only the key prefixes derived from it are
+     * listed, and directories that cannot contain matching objects are skipped.
+     */
+    private Stream<S3Object> listObjects() {
+        if (filterIncludes == null)
+            return s3Connector.streamObjects(bucketName, regionId, blobName);
+
+        var keyPrefixes = new TreeSet<String>();
+        var rootObjects = new ArrayList<S3Object>();
+        var literalPrefixes = RegexPrefixHelper.literalPrefixes(filterIncludes);
+        if (literalPrefixes.equals(List.of(""))) {
+            keyPrefixes.add(blobName);
+        } else {
+            // The root object is not covered by the narrowed prefixes
+            rootObjects.addAll(findRootObjects());
+            for (var literalPrefix : literalPrefixes) {
+                if (blobName.isEmpty() || blobName.endsWith("/")) {
+                    keyPrefixes.add(blobName + literalPrefix);
+                } else {
+                    keyPrefixes.add(blobName + "/" + literalPrefix);
+                    keyPrefixes.add(blobName + literalPrefix);
+                }
+            }
+        }
+
+        var listedPrefixes = new ArrayList<String>();
+        for (var keyPrefix : keyPrefixes) {
+            if (listedPrefixes.isEmpty() || !keyPrefix.startsWith(listedPrefixes.get(listedPrefixes.size() - 1)))
+                listedPrefixes.add(keyPrefix);
+        }
+
+        var iterator = new PrunedObjectIterator(s3Connector, bucketName, regionId, blobName, filterIncludes, listedPrefixes,
+                Math.max(s3Connector.getMaxFiles(), 1));
+        var prunedObjects = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+        return Stream.concat(rootObjects.stream(), prunedObjects);
+    }
+
+    private List<S3Object> findRootObjects() {
+        var candidates = (blobName.isEmpty() || blobName.endsWith("/")) ? List.of(blobName) : List.of(blobName, blobName + "/");
+
+        var rootObjects = new ArrayList<S3Object>();
+        for (var candidate : candidates) {
+            try (var objects = s3Connector.streamObjects(bucketName, regionId, candidate)) {
+                objects.findFirst()
+                        .filter(object -> object.objectName().equals(candidate))
+                        .ifPresent(rootObjects::add);
+            }
+        }
+        return rootObjects;
     }
 
     boolean applyFilterIncludes(S3Object object) {
@@ -105,11 +169,19 @@ public class IonosDataSource implements DataSource {
         private final String blobName;
         private final boolean isDirectory;
         private final long fileSize;
+        private final String etag;
+        private final ChunkSizeStrategy chunkSizeStrategy;
+        private final int rangeParallelism;
+        private final ExecutorService executorService;
+        private final MemoryBudget memoryBudget;
+        private final BufferPool bufferPool;
 
         private boolean isOpened = true;
         private long currentOffset = 0;
 
-        S3Part(S3Connector s3Connector, String regionId, String bucketName, String blobName, boolean isDirectory, long fileSize) {
+        S3Part(S3Connector s3Connector, String regionId, String bucketName, String blobName, boolean isDirectory, long fileSize, String etag,
+               ChunkSizeStrategy chunkSizeStrategy, int rangeParallelism, ExecutorService executorService, MemoryBudget memoryBudget,
+               BufferPool bufferPool) {
             super();
             this.s3Connector = s3Connector;
             this.regionId = regionId;
@@ -117,6 +189,12 @@ public class IonosDataSource implements DataSource {
             this.blobName = blobName;
             this.isDirectory = isDirectory;
             this.fileSize = fileSize;
+            this.etag = etag;
+            this.chunkSizeStrategy = chunkSizeStrategy;
+            this.rangeParallelism = rangeParallelism;
+            this.executorService = executorService;
+            this.memoryBudget = memoryBudget;
+            this.bufferPool = bufferPool;
         }
 
         @Override
@@ -129,8 +207,26 @@ public class IonosDataSource implements DataSource {
             return fileSize;
         }
 
+        public String bucketName() {
+            return bucketName;
+        }
+
+        /**
+         * ETag of the object as listed, null if unknown.
+         */
+        public String etag() {
+            return etag;
+        }
+
+        /**
+         * Endpoint of the region storing the object, for copies that do not go through the data plane.
+         */
+        public String endpoint() {
+            return s3Connector.getEndpoint((regionId != null) ? regionId : s3Connector.getDefaultRegionId());
+        }
+
         private long chunkSize() {
-            return FileTransferHelper.calculateChunkSize(fileSize);
+            return chunkSizeStrategy.chunkSize(fileSize);
         }
 
         @Override
@@ -139,27 +235,77 @@ public class IonosDataSource implements DataSource {
             if (isOpened && (isDirectory || (currentOffset >= fileSize)))
                 return null;
 
+            // The chunk size may change between chunks, only a part not read yet can be streamed whole
+            var chunkSize = chunkSize();
             InputStream stream;
-            if (isDirectory || (fileSize <= chunkSize())) {
-                stream = s3Connector.getObject(bucketName, regionId, blobName);
+            if (isDirectory || ((currentOffset == 0) && (fileSize <= chunkSize))) {
+                stream = s3Connector.streamObject(bucketName, regionId, blobName);
+                currentOffset = fileSize;
+            } else if ((currentOffset == 0) && (rangeParallelism > 0) && (executorService != null)) {
+                // Fetch the next ranges while the current one is read, returned as a single stream
+                stream = new ParallelRangeInputStream(
+                        (offset, length) -> new MeasuredInputStream(s3Connector.streamObject(bucketName, regionId, blobName, offset, length), chunkSizeStrategy),
+                        executorService, fileSize, chunkSize, rangeParallelism, memoryBudget, bufferPool);
+                currentOffset = fileSize;
+                return stream;
             } else {
-                stream = s3Connector.getObject(bucketName, regionId, blobName, currentOffset, chunkSize());
-            }
-
-            if (!isDirectory) {
-                int responseSize;
-                try {
-                    responseSize = stream.available();
-                } catch (Exception e) {
-                    throw new EdcException("Error reading response size", e);
-                }
-
-                currentOffset += responseSize;
+                var length = Math.min(chunkSize, fileSize - currentOffset);
+                stream = s3Connector.streamObject(bucketName, regionId, blobName, currentOffset, length);
+                currentOffset += length;
             }
 
             if (!isOpened)
                 isOpened = true;
-            return stream;
+            return new MeasuredInputStream(stream, chunkSizeStrategy);
+        }
+    }
+
+    /**
+     * Reports the bytes read and the time taken back to the chunk size strategy when the chunk is closed.
+     */
+    private static class MeasuredInputStream extends FilterInputStream {
+
+        private final ChunkSizeStrategy chunkSizeStrategy;
+        private final long startTime = System.nanoTime();
+        private long bytesRead = 0;
+        private boolean closed = false;
+
+        MeasuredInputStream(InputStream stream, ChunkSizeStrategy chunkSizeStrategy) {
+            super(stream);
+            this.chunkSizeStrategy = chunkSizeStrategy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var read = super.read();
+            if (read != -1)
+                bytesRead++;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = super.read(buffer, offset, length);
+            if (read > 0)
+                bytesRead += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes are still downloaded
+            var skipped = super.skip(n);
+            bytesRead += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                chunkSizeStrategy.recordTransfer(bytesRead, System.nanoTime() - startTime);
+            }
+            super.close();
         }
     }
 
@@ -206,7 +352,38 @@ public class IonosDataSource implements DataSource {
             return this;
         }
 
+        public Builder chunkSizeStrategy(ChunkSizeStrategy chunkSizeStrategy) {
+            source.chunkSizeStrategy = chunkSizeStrategy;
+            return this;
+        }
+
+        public Builder rangeParallelism(int rangeParallelism) {
+            source.rangeParallelism = rangeParallelism;
+            return this;
+        }
+
+        public Builder executorService(ExecutorService executorService) {
+            source.executorService = executorService;
+            return this;
+        }
+
+        public Builder memoryBudget(MemoryBudget memoryBudget) {
+            source.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        public Builder bufferPool(BufferPool bufferPool) {
+            source.bufferPool = bufferPool;
+            return this;
+        }
+
         public IonosDataSource build() {
+            if (source.chunkSizeStrategy == null)
+                source.chunkSizeStrategy = new ScalingChunkSizeStrategy(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE);
+            if (source.memoryBudget == null)
+                source.memoryBudget = new MemoryBudget(Long.MAX_VALUE);
+            if (source.bufferPool == null)
+                source.bufferPool = new BufferPool(0);
             return source;
         }
     }
@@ -14,20 +14,52 @@
 
 package com.ionos.edc.dataplane.ionos.s3.datasource;
 
+import com.ionos.edc.dataplane.ionos.s3.util.AdaptiveChunkSizeStrategy;
+import com.ionos.edc.dataplane.ionos.s3.util.ChunkSizeStrategy;
+import com.ionos.edc.dataplane.ionos.s3.util.FileTransferHelper;
+import com.ionos.edc.dataplane.ionos.s3.util.FixedChunkSizeStrategy;
+import com.ionos.edc.dataplane.ionos.s3.util.ScalingChunkSizeStrategy;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSourceFactory;
 import org.eclipse.edc.spi.result.Result;
+import org.eclipse.edc.spi.types.domain.DataAddress;
 import org.eclipse.edc.spi.types.domain.transfer.DataFlowStartMessage;
+import org.eclipse.edc.util.string.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
 public class IonosDataSourceFactory implements DataSourceFactory {
 
     private final S3Connector s3Connector;
-    
-    public IonosDataSourceFactory(S3Connector s3Connector) {
+    private final ChunkSizeStrategy defaultChunkSizeStrategy;
+    private final boolean adaptiveChunkSize;
+    private final long adaptiveChunkDuration;
+    private final int rangeParallelism;
+    private final ExecutorService executorService;
+    private final MemoryBudget memoryBudget;
+    private final BufferPool bufferPool;
+
+    private final Map<String, ChunkSizeStrategy> regionChunkSizeStrategies = new ConcurrentHashMap<>();
+
+    public IonosDataSourceFactory(S3Connector s3Connector, long minChunkSize, boolean adaptiveChunkSize, long adaptiveChunkDuration,
+                                  int rangeParallelism, ExecutorService executorService, MemoryBudget memoryBudget,
+                                  BufferPool bufferPool) {
         this.s3Connector = s3Connector;
+        this.defaultChunkSizeStrategy = new ScalingChunkSizeStrategy(minChunkSize);
+        this.adaptiveChunkSize = adaptiveChunkSize;
+        this.adaptiveChunkDuration = adaptiveChunkDuration;
+        this.rangeParallelism = rangeParallelism;
+        this.executorService = executorService;
+        this.memoryBudget = memoryBudget;
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -37,7 +69,18 @@ public class IonosDataSourceFactory implements DataSourceFactory {
 
     @Override
     public @NotNull Result<Void> validateRequest(DataFlowStartMessage request) {
-        return Result.success();
+        var chunkSize = request.getSourceDataAddress().getStringProperty(IonosBucketSchema.CHUNK_SIZE);
+        if (StringUtils.isNullOrBlank(chunkSize))
+            return Result.success();
+
+        try {
+            var size = Long.parseLong(chunkSize);
+            if (size > 0 && size <= FileTransferHelper.MAX_CHUNK_SIZE)
+                return Result.success();
+        } catch (NumberFormatException e) {
+            // Handled below
+        }
+        return Result.failure("'%s' must be a positive number of bytes, up to %d".formatted(IonosBucketSchema.CHUNK_SIZE, FileTransferHelper.MAX_CHUNK_SIZE));
     }
 
     @Override
@@ -51,7 +94,25 @@ public class IonosDataSourceFactory implements DataSourceFactory {
                 .blobName(source.getStringProperty(IonosBucketSchema.BLOB_NAME))
                 .filterIncludes(source.getStringProperty(IonosBucketSchema.FILTER_INCLUDES))
                 .filterExcludes(source.getStringProperty(IonosBucketSchema.FILTER_EXCLUDES))
+                .chunkSizeStrategy(chunkSizeStrategy(source))
+                .rangeParallelism(rangeParallelism)
+                .executorService(executorService)
+                .memoryBudget(memoryBudget)
+                .bufferPool(bufferPool)
                 .build();
     }
 
+    private ChunkSizeStrategy chunkSizeStrategy(DataAddress source) {
+        var chunkSize = source.getStringProperty(IonosBucketSchema.CHUNK_SIZE);
+        if (!StringUtils.isNullOrBlank(chunkSize))
+            return new FixedChunkSizeStrategy(Long.parseLong(chunkSize));
+
+        if (!adaptiveChunkSize)
+            return defaultChunkSizeStrategy;
+
+        var regionId = Objects.requireNonNullElse(source.getStringProperty(IonosBucketSchema.REGION_ID), s3Connector.getDefaultRegionId());
+        return regionChunkSizeStrategies.computeIfAbsent(regionId,
+                key -> new AdaptiveChunkSizeStrategy(defaultChunkSizeStrategy, adaptiveChunkDuration));
+    }
+
 }
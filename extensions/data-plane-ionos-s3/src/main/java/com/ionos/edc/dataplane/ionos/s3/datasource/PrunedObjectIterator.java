@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.datasource;
+
+import com.ionos.edc.dataplane.ionos.s3.util.RegexPrefixHelper;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.types.S3Object;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Lists the objects under a set of key prefixes, one after the other, skipping the directories that cannot contain
+ * objects matching the include filter. Once {@code skipThreshold} consecutive objects of such directory are seen, the
+ * listing is restarted after the directory instead of paging through the rest of it.
+ */
+class PrunedObjectIterator implements Iterator<S3Object>, AutoCloseable {
+
+    // Sorts after any key inside the directory
+    private static final String SKIP_SUFFIX = "\uFFFF";
+
+    private final S3Connector s3Connector;
+    private final String bucketName;
+    private final String regionId;
+    private final String blobName;
+    private final Pattern filterIncludes;
+    private final int skipThreshold;
+    private final Deque<String> keyPrefixes;
+
+    private String currentPrefix;
+    private Stream<S3Object> stream;
+    private Iterator<S3Object> iterator;
+    private S3Object next;
+
+    private String prunedDirectory;
+    private int prunedCount = 0;
+
+    PrunedObjectIterator(S3Connector s3Connector, String bucketName, String regionId, String blobName, Pattern filterIncludes,
+                         Collection<String> keyPrefixes, int skipThreshold) {
+        this.s3Connector = s3Connector;
+        this.bucketName = bucketName;
+        this.regionId = regionId;
+        this.blobName = blobName;
+        this.filterIncludes = filterIncludes;
+        this.keyPrefixes = new ArrayDeque<>(keyPrefixes);
+        this.skipThreshold = skipThreshold;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if ((iterator == null) || !iterator.hasNext()) {
+                close();
+                currentPrefix = keyPrefixes.poll();
+                if (currentPrefix == null)
+                    return false;
+
+                open(null);
+                continue;
+            }
+
+            var object = iterator.next();
+            var directory = prunableDirectory(object);
+            if (directory == null) {
+                next = object;
+                prunedDirectory = null;
+                prunedCount = 0;
+                continue;
+            }
+
+            if (directory.equals(prunedDirectory)) {
+                prunedCount++;
+            } else {
+                prunedDirectory = directory;
+                prunedCount = 1;
+            }
+
+            if (prunedCount >= skipThreshold) {
+                close();
+                open(directory + SKIP_SUFFIX);
+                prunedDirectory = null;
+                prunedCount = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public S3Object next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        var result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+            iterator = null;
+        }
+    }
+
+    private void open(String startAfter) {
+        stream = s3Connector.streamObjects(bucketName, regionId, currentPrefix, startAfter);
+        iterator = stream.iterator();
+    }
+
+    /**
+     * Returns the outermost directory of the object that cannot contain objects matching the include filter.
+     */
+    private String prunableDirectory(S3Object object) {
+        if (object.isRootObject(blobName))
+            return null;
+
+        var objectName = object.objectName();
+        if ((prunedDirectory != null) && objectName.startsWith(prunedDirectory))
+            return prunedDirectory;
+
+        var shortObjectName = object.shortObjectName(blobName);
+        var offset = objectName.length() - shortObjectName.length();
+        for (var index = shortObjectName.indexOf('/'); index != -1; index = shortObjectName.indexOf('/', index + 1)) {
+            if (RegexPrefixHelper.cannotMatchWithPrefix(filterIncludes, shortObjectName.substring(0, index + 1)))
+                return objectName.substring(0, offset + index + 1);
+        }
+        return null;
+    }
+}
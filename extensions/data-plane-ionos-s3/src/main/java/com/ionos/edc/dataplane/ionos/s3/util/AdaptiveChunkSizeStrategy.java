@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the chunks so each one takes about the target duration at the throughput measured for the endpoint, never
+ * going below the chunk size of the base strategy.
+ */
+public class AdaptiveChunkSizeStrategy implements ChunkSizeStrategy {
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+    private static final long MAX_ADAPTIVE_CHUNK_SIZE = 512 * FileTransferHelper.MEGABYTE;
+
+    private final ChunkSizeStrategy baseStrategy;
+    private final long targetDurationNanos;
+
+    // Bytes per second, 0 until the first measurement
+    private volatile double throughput = 0;
+
+    public AdaptiveChunkSizeStrategy(ChunkSizeStrategy baseStrategy, long targetDurationMillis) {
+        this.baseStrategy = baseStrategy;
+        this.targetDurationNanos = TimeUnit.MILLISECONDS.toNanos(targetDurationMillis);
+    }
+
+    @Override
+    public long chunkSize(long fileSize) {
+        var baseChunkSize = baseStrategy.chunkSize(fileSize);
+        if (throughput == 0)
+            return baseChunkSize;
+
+        var adaptiveChunkSize = Math.min((long) (throughput * targetDurationNanos / TimeUnit.SECONDS.toNanos(1)), MAX_ADAPTIVE_CHUNK_SIZE);
+        return Math.max(baseChunkSize, FileTransferHelper.roundUpToMegabyte(adaptiveChunkSize));
+    }
+
+    @Override
+    public synchronized void recordTransfer(long bytes, long durationNanos) {
+        if ((bytes <= 0) || (durationNanos <= 0))
+            return;
+
+        var measured = (double) bytes * TimeUnit.SECONDS.toNanos(1) / durationNanos;
+        throughput = (throughput == 0) ? measured : (SMOOTHING_FACTOR * measured) + ((1 - SMOOTHING_FACTOR) * throughput);
+    }
+}
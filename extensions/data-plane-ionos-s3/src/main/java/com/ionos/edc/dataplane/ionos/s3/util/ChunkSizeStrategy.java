@@ -0,0 +1,29 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+/**
+ * Decides the size of the ranges used to fetch an object.
+ */
+public interface ChunkSizeStrategy {
+
+    long chunkSize(long fileSize);
+
+    /**
+     * Informs the strategy about a fetched chunk, so it can adapt to the measured throughput.
+     */
+    default void recordTransfer(long bytes, long durationNanos) {
+    }
+}
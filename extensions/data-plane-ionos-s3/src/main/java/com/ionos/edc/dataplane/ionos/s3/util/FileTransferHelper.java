@@ -1,37 +1,33 @@
 package com.ionos.edc.dataplane.ionos.s3.util;
 
-import org.eclipse.edc.spi.EdcException;
-
 public class FileTransferHelper {
 
-    private static final long MEGABYTE = 1048576;
+    public static final long MEGABYTE = 1048576;
+    public static final long DEFAULT_MIN_CHUNK_SIZE = 8 * MEGABYTE;
+    public static final int MAX_CHUNKS = 10000; // S3 multipart upload limit
+    public static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE - 8; // Chunks are buffered in arrays, below the S3 part limit of 5 GiB
 
     public static long calculateChunkSize(long fileSize) {
+        return calculateChunkSize(fileSize, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the smallest chunk size, in whole megabytes and not below {@code minChunkSize}, that splits the file in
+     * at most {@link #MAX_CHUNKS} chunks. A chunk size not smaller than the file means it is fetched at once.
+     */
+    public static long calculateChunkSize(long fileSize, long minChunkSize) {
         if (fileSize == 0)
             return 0;
 
-        if (fileSize <= MEGABYTE) {
-            return MEGABYTE;
-        }
+        var chunkSize = Math.max(ceilDiv(fileSize, MAX_CHUNKS), Math.max(minChunkSize, MEGABYTE));
+        return roundUpToMegabyte(chunkSize);
+    }
 
-        var fileSizeMB = fileSize / MEGABYTE;
+    public static long roundUpToMegabyte(long size) {
+        return ceilDiv(size, MEGABYTE) * MEGABYTE;
+    }
 
-        if ((fileSizeMB >= 1) && (fileSizeMB <= 20)) {
-            return MEGABYTE;
-        } else if ((fileSizeMB > 20) && (fileSizeMB <= 40)) {
-            return 2 * MEGABYTE;
-        } else if ((fileSizeMB > 40) && (fileSizeMB <= 60)) {
-            return 3 * MEGABYTE;
-        } else if ((fileSizeMB > 60) && (fileSizeMB <= 80)) {
-            return 4 * MEGABYTE;
-        } else if ((fileSizeMB > 80) && (fileSizeMB <= 100)) {
-            return 5 * MEGABYTE;
-        } else if ((fileSizeMB > 100) && (fileSizeMB <= 200)) {
-            return 10 * MEGABYTE;
-        } else if ((fileSizeMB > 200) && (fileSizeMB <= 300)) {
-            return 15 * MEGABYTE;
-        } else {
-            throw new EdcException("Unsupported file size: " + fileSize + " bytes");
-        }
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
     }
-}
\ No newline at end of file
+}
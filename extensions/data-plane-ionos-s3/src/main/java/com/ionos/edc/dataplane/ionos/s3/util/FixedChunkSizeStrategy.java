@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+/**
+ * Uses the chunk size configured for an asset, raised when needed to keep the number of chunks within the S3 limit.
+ */
+public class FixedChunkSizeStrategy implements ChunkSizeStrategy {
+
+    private final long chunkSize;
+
+    public FixedChunkSizeStrategy(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long chunkSize(long fileSize) {
+        if (fileSize == 0)
+            return 0;
+
+        var minChunkSize = FileTransferHelper.calculateChunkSize(fileSize, FileTransferHelper.MEGABYTE);
+        return Math.min(Math.max(chunkSize, minChunkSize), FileTransferHelper.MAX_CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Reads an object by fetching up to {@code parallelism} consecutive ranges at the same time and returning them in
+ * order. Besides the range being read, at most {@code parallelism} ranges are held in memory, reserved from the
+ * memory budget. The ranges fetched ahead are skipped while the budget is exhausted, only the range needed to go on
+ * reading is always fetched. The range buffers are taken from the buffer pool and given back once read.
+ * <p>
+ * Closing the stream cancels the ranges fetched ahead, aborting the requests still in progress. Skipping bytes
+ * does not fetch the ranges skipped entirely.
+ */
+public class ParallelRangeInputStream extends InputStream {
+
+    @FunctionalInterface
+    public interface RangeFetcher {
+        InputStream fetch(long offset, long length);
+    }
+
+    private final RangeFetcher fetcher;
+    private final ExecutorService executorService;
+    private final long size;
+    private final long rangeSize;
+    private final int parallelism;
+    private final MemoryBudget memoryBudget;
+    private final BufferPool bufferPool;
+
+    private record Content(byte[] buffer, int length) {}
+
+    private record Range(Future<Content> content, long offset, long length) {}
+
+    private final Deque<Range> pending = new ArrayDeque<>();
+    private final Set<InputStream> fetching = ConcurrentHashMap.newKeySet();
+    private long nextOffset = 0;
+    private byte[] current;
+    private long currentOffset = 0;
+    private int currentEnd = 0;
+    private long currentLength = 0;
+    private int position = 0;
+    private volatile boolean closed = false;
+
+    public ParallelRangeInputStream(RangeFetcher fetcher, ExecutorService executorService, long size, long rangeSize, int parallelism,
+                                    MemoryBudget memoryBudget, BufferPool bufferPool) {
+        this.fetcher = fetcher;
+        this.executorService = executorService;
+        this.size = size;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.memoryBudget = memoryBudget;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var single = new byte[1];
+        var read = read(single, 0, 1);
+        return (read == -1) ? -1 : (single[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+        if (length == 0)
+            return 0;
+
+        while ((current == null) || (position >= currentEnd)) {
+            if (!nextRange())
+                return -1;
+        }
+
+        var read = Math.min(length, currentEnd - position);
+        System.arraycopy(current, position, buffer, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+        if (n <= 0)
+            return 0;
+
+        if ((current != null) && (n <= currentEnd - position)) {
+            position += (int) n;
+            return n;
+        }
+
+        var offset = offset();
+        var target = Math.min(offset + n, size);
+        releaseCurrent();
+        // Ranges fetched ahead before the target are dropped, the following ones are kept
+        while (!pending.isEmpty() && (pending.peek().offset() + pending.peek().length() <= target)) {
+            discard(pending.poll());
+        }
+        if (pending.isEmpty()) {
+            nextOffset = Math.max(nextOffset, target);
+        } else if (pending.peek().offset() < target && nextRange()) {
+            position = (int) Math.min(target - currentOffset, currentEnd);
+        }
+        return target - offset;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        releaseCurrent();
+        pending.forEach(this::discard);
+        pending.clear();
+        fetching.forEach(ParallelRangeInputStream::abort);
+    }
+
+    /**
+     * Offset in the object of the next byte to read.
+     */
+    private long offset() {
+        if (current != null)
+            return currentOffset + position;
+        return pending.isEmpty() ? nextOffset : pending.peek().offset();
+    }
+
+    private void discard(Range range) {
+        // Ranges already fetched give their buffer back, the aborted fetches give theirs back when failing
+        if (!range.content().cancel(true)) {
+            try {
+                bufferPool.release(range.content().get().buffer());
+            } catch (Exception e) {
+                // Failed fetch, no buffer to give back
+            }
+        }
+        memoryBudget.release(range.length());
+    }
+
+    private boolean nextRange() throws IOException {
+        releaseCurrent();
+        fillPending();
+
+        var next = pending.poll();
+        if (next == null)
+            return false;
+
+        try {
+            var content = next.content().get();
+            current = content.buffer();
+            currentOffset = next.offset();
+            currentEnd = content.length();
+            currentLength = next.length();
+            position = 0;
+        } catch (InterruptedException e) {
+            memoryBudget.release(next.length());
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching range", e);
+        } catch (ExecutionException | CancellationException e) {
+            memoryBudget.release(next.length());
+            throw new IOException("Error fetching range", e);
+        }
+
+        fillPending();
+        return true;
+    }
+
+    private void releaseCurrent() {
+        if (current != null) {
+            bufferPool.release(current);
+            current = null;
+            memoryBudget.release(currentLength);
+        }
+    }
+
+    private void fillPending() throws IOException {
+        while ((pending.size() < parallelism) && (nextOffset < size)) {
+            var offset = nextOffset;
+            var length = Math.min(rangeSize, size - offset);
+            if ((current == null) && pending.isEmpty()) {
+                // The reader cannot go on without this range, do not wait while the caller may hold other buffers
+                reserve(length);
+            } else if (!memoryBudget.tryAcquire(length)) {
+                return;
+            }
+            pending.add(new Range(executorService.submit(() -> fetch(offset, length)), offset, length));
+            nextOffset += length;
+        }
+    }
+
+    private Content fetch(long offset, long length) throws IOException {
+        var buffer = bufferPool.acquire((int) length);
+        InputStream stream = null;
+        try {
+            stream = fetcher.fetch(offset, length);
+            fetching.add(stream);
+            // Closed while the request was sent, the stream may have missed it
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            return new Content(buffer, stream.readNBytes(buffer, 0, (int) length));
+        } catch (IOException | RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        } finally {
+            if (stream != null) {
+                fetching.remove(stream);
+                stream.close();
+            }
+        }
+    }
+
+    private static void abort(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // The fetch fails anyway
+        }
+    }
+
+    private void reserve(long length) throws IOException {
+        try {
+            memoryBudget.acquire(length, () -> false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted reserving memory", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a {@link DataSource.Part} as a single stream. Parts fetched in chunks return a new stream on every
+ * {@link DataSource.Part#openStream()} call until they are exhausted, these chunks are read one after the other
+ * without buffering them.
+ */
+public class PartInputStream extends InputStream {
+
+    private final DataSource.Part part;
+    private final boolean chunked;
+
+    private InputStream current;
+    private boolean finished = false;
+
+    public PartInputStream(DataSource.Part part, boolean chunked) {
+        this.part = part;
+        this.chunked = chunked;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var single = new byte[1];
+        var read = read(single, 0, 1);
+        return (read == -1) ? -1 : (single[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0)
+            return 0;
+
+        while (true) {
+            if ((current == null) && !nextChunk())
+                return -1;
+
+            var read = current.read(buffer, offset, length);
+            if (read >= 0)
+                return read;
+
+            current.close();
+            current = null;
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        var skipped = 0L;
+        while (skipped < n) {
+            if ((current == null) && !nextChunk())
+                break;
+
+            var count = current.skip(n - skipped);
+            if (count > 0) {
+                skipped += count;
+            } else if (current.read() >= 0) {
+                // Streams may skip nothing before their end
+                skipped++;
+            } else {
+                current.close();
+                current = null;
+            }
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private boolean nextChunk() {
+        if (finished)
+            return false;
+
+        current = part.openStream();
+        if (!chunked || (current == null))
+            finished = true;
+
+        return current != null;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+public class RegexPrefixHelper {
+
+    private static final String META_CHARACTERS = ".[]{}()*+?^$|";
+    private static final String OPTIONAL_QUANTIFIERS = "*?{";
+
+    /**
+     * Returns the literal prefixes that every string fully matching the pattern starts with, one for each top level
+     * alternative, without prefixes covered by shorter ones. Returns a single empty prefix when no literal prefix can
+     * be derived.
+     */
+    public static List<String> literalPrefixes(Pattern pattern) {
+        if (pattern.flags() != 0)
+            return List.of("");
+
+        var prefixes = new TreeSet<String>();
+        for (var alternative : splitAlternatives(pattern.pattern())) {
+            var prefix = literalPrefix(alternative);
+            if (prefix.isEmpty())
+                return List.of("");
+            prefixes.add(prefix);
+        }
+
+        var result = new ArrayList<String>();
+        for (var prefix : prefixes) {
+            if (result.isEmpty() || !prefix.startsWith(result.get(result.size() - 1)))
+                result.add(prefix);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true when no string starting with the given prefix can fully match the pattern.
+     */
+    public static boolean cannotMatchWithPrefix(Pattern pattern, String prefix) {
+        var matcher = pattern.matcher(prefix);
+        return !matcher.matches() && !matcher.hitEnd();
+    }
+
+    static List<String> splitAlternatives(String regex) {
+        var alternatives = new ArrayList<String>();
+        var depth = 0;
+        var inClass = false;
+        var start = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            var c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']')
+                    inClass = false;
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if ((c == '|') && (depth == 0)) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    static String literalPrefix(String regex) {
+        var prefix = new StringBuilder();
+        var i = regex.startsWith("^") ? 1 : 0;
+
+        while (i < regex.length()) {
+            var c = regex.charAt(i);
+            String literal;
+            if (c == '\\') {
+                if (i + 1 >= regex.length())
+                    break;
+
+                var escaped = regex.charAt(i + 1);
+                if (escaped == 'Q') {
+                    var end = regex.indexOf("\\E", i + 2);
+                    var quoted = (end == -1) ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                    i = (end == -1) ? regex.length() : end + 2;
+                    if ((i < regex.length()) && (OPTIONAL_QUANTIFIERS.indexOf(regex.charAt(i)) >= 0)) {
+                        prefix.append(quoted, 0, Math.max(quoted.length() - 1, 0));
+                        break;
+                    }
+                    prefix.append(quoted);
+                    continue;
+                }
+                if (Character.isLetterOrDigit(escaped))
+                    break;
+
+                literal = String.valueOf(escaped);
+                i += 2;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = String.valueOf(c);
+                i++;
+            }
+
+            // The literal may not be present if it is optional
+            if ((i < regex.length()) && (OPTIONAL_QUANTIFIERS.indexOf(regex.charAt(i)) >= 0))
+                break;
+
+            prefix.append(literal);
+        }
+        return prefix.toString();
+    }
+}
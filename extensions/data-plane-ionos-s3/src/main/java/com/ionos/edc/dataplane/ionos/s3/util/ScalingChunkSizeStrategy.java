@@ -0,0 +1,32 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+/**
+ * Grows the chunk size with the file size, keeping it above a minimum and the number of chunks within the S3 limit.
+ */
+public class ScalingChunkSizeStrategy implements ChunkSizeStrategy {
+
+    private final long minChunkSize;
+
+    public ScalingChunkSizeStrategy(long minChunkSize) {
+        this.minChunkSize = minChunkSize;
+    }
+
+    @Override
+    public long chunkSize(long fileSize) {
+        return FileTransferHelper.calculateChunkSize(fileSize, minChunkSize);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CheckpointSweeperTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+    private static final long MAX_AGE = 3600000;
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private TransferCheckpointStore store;
+
+    private CheckpointSweeper sweeper;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        sweeper = new CheckpointSweeper(monitor, store, null, 1000, MAX_AGE, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void sweep_deletesExpiredCheckpoints() {
+        doReturn(List.of(new TransferCheckpointStore.ExpiredUpload("process1", "object1", "upload1")))
+                .when(store).deleteExpired(anyLong());
+
+        sweeper.sweep();
+
+        verify(store).deleteExpired(NOW.toEpochMilli() - MAX_AGE);
+        verify(monitor).warning(contains("upload1"));
+    }
+
+    @Test
+    public void sweep_nothingExpired_nothingReported() {
+        doReturn(List.of()).when(store).deleteExpired(anyLong());
+
+        sweeper.sweep();
+
+        verify(monitor, never()).warning(any(String.class));
+    }
+
+    @Test
+    public void sweep_storeFails_reported() {
+        doThrow(new EdcException("Connection refused")).when(store).deleteExpired(anyLong());
+
+        sweeper.sweep();
+
+        verify(monitor).warning(contains("expired transfer checkpoints"), any(EdcException.class));
+    }
+}
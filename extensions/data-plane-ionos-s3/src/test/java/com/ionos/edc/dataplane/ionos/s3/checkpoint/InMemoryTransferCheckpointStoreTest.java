@@ -0,0 +1,85 @@
+package com.ionos.edc.dataplane.ionos.s3.checkpoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryTransferCheckpointStoreTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final InMemoryTransferCheckpointStore store = new InMemoryTransferCheckpointStore(clock);
+
+    @BeforeEach
+    public void setup() {
+        when(clock.millis()).thenReturn(1000L);
+    }
+
+    @Test
+    public void findUpload_returnsUploadedParts() {
+        var checkpoint = new ObjectUploadCheckpoint(store, "process", "object", "source-etag", 1000);
+        assertNull(checkpoint.previousUpload());
+
+        checkpoint.uploadStarted("upload", 100);
+        checkpoint.partUploaded(2, "etag2");
+        checkpoint.partUploaded(1, "etag1");
+
+        var upload = checkpoint.previousUpload();
+        assertEquals("upload", upload.uploadId());
+        assertEquals(100, upload.partSize());
+        assertEquals("source-etag", upload.sourceEtag());
+        assertEquals(1000, upload.sourceSize());
+        assertEquals(Map.of(1, "etag1", 2, "etag2"), upload.parts());
+    }
+
+    @Test
+    public void uploadAborted_ignoresLateParts() {
+        var checkpoint = new ObjectUploadCheckpoint(store, "process", "object", "source-etag", 1000);
+        checkpoint.uploadStarted("upload", 100);
+        checkpoint.uploadAborted();
+        checkpoint.partUploaded(1, "etag1");
+
+        assertNull(checkpoint.previousUpload());
+    }
+
+    @Test
+    public void objectCompleted_dropsUpload() {
+        store.uploadStarted("process", "object", "upload", 100, "source-etag", 1000);
+        store.objectCompleted("process", "object");
+        store.objectCompleted("other", "object2");
+
+        assertNull(store.findUpload("process", "object"));
+        assertEquals(Set.of("object"), store.completedObjects("process"));
+
+        store.delete("process");
+        assertTrue(store.completedObjects("process").isEmpty());
+        assertEquals(Set.of("object2"), store.completedObjects("other"));
+    }
+
+    @Test
+    public void deleteExpired_deletesCheckpointsWithoutProgress() {
+        store.uploadStarted("process1", "object", "upload1", 100, "source-etag", 1000);
+        store.objectCompleted("process2", "object1");
+        store.uploadStarted("process3", "object", "upload3", 100, "source-etag", 1000);
+
+        when(clock.millis()).thenReturn(5000L);
+        store.objectCompleted("process2", "object2");
+        store.partUploaded("process3", "object", 1, "etag1");
+
+        var expiredUploads = store.deleteExpired(3000);
+
+        assertEquals(List.of(new TransferCheckpointStore.ExpiredUpload("process1", "object", "upload1")), expiredUploads);
+        assertNull(store.findUpload("process1", "object"));
+        assertEquals(Set.of("object1", "object2"), store.completedObjects("process2"));
+        assertEquals(Map.of(1, "etag1"), store.findUpload("process3", "object").parts());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ionos.edc.dataplane.ionos.s3.datasink;
+
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import com.ionos.edc.extension.s3.api.S3ApiClient;
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import com.ionos.edc.extension.s3.connector.MinioClientRegistry;
+import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
+import com.ionos.edc.extension.s3.types.IonosToken;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.security.Vault;
+import org.eclipse.edc.spi.types.TypeManager;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.eclipse.edc.spi.types.domain.transfer.DataFlowStartMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IonosDataSinkFactoryTest {
+
+    private final Vault vault = mock(Vault.class);
+    private final TypeManager typeManager = mock(TypeManager.class);
+
+    private final IonosDataSinkFactory factory = new IonosDataSinkFactory(mock(ExecutorService.class), mock(Monitor.class),
+            vault, typeManager, mock(MinioClientRegistry.class), mock(S3ApiClient.class), new MemoryBudget(Long.MAX_VALUE),
+            new BufferPool(0), null, mock(TransferCheckpointStore.class), 8388608, 4, true, false, 10);
+
+    @Test
+    public void createSink_missingToken_fails() {
+        assertThrows(EdcException.class, () -> factory.createSink(request("key-1")));
+    }
+
+    @Test
+    public void createSink_resolvesTokenOfEachTransfer() {
+        // The provisioner hands the same temporary key to transfers stored under their own key names
+        when(vault.resolveSecret("key-1")).thenReturn("token-1");
+        when(vault.resolveSecret("key-2")).thenReturn("token-2");
+        when(typeManager.readValue("token-1", IonosToken.class)).thenReturn(new IonosToken("access", "secret", Long.MAX_VALUE));
+        when(typeManager.readValue("token-2", IonosToken.class)).thenReturn(new IonosToken("access", "secret", Long.MAX_VALUE));
+
+        assertNotNull(factory.createSink(request("key-1")));
+        assertNotNull(factory.createSink(request("key-2")));
+
+        verify(vault).resolveSecret("key-1");
+        verify(vault).resolveSecret("key-2");
+    }
+
+    private static DataFlowStartMessage request(String keyName) {
+        var destination = DataAddress.Builder.newInstance()
+                .type(IonosBucketSchema.TYPE)
+                .keyName(keyName)
+                .property(IonosBucketSchema.BUCKET_NAME, "bucket")
+                .property(IonosBucketSchema.ENDPOINT, "s3-eu-central-1.ionoscloud.com")
+                .property(IonosBucketSchema.MAX_FILES, "1000")
+                .build();
+        var request = mock(DataFlowStartMessage.class);
+        when(request.getSourceDataAddress()).thenReturn(DataAddress.Builder.newInstance().type(IonosBucketSchema.TYPE).build());
+        when(request.getDestinationDataAddress()).thenReturn(destination);
+        when(request.getProcessId()).thenReturn("process");
+        when(request.getId()).thenReturn("request");
+        return request;
+    }
+}
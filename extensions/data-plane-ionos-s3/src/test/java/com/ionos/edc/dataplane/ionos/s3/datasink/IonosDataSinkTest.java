@@ -0,0 +1,288 @@
+package com.ionos.edc.dataplane.ionos.s3.datasink;
+
+import com.ionos.edc.dataplane.ionos.s3.checkpoint.TransferCheckpointStore;
+import com.ionos.edc.dataplane.ionos.s3.datasource.IonosDataSource;
+import com.ionos.edc.extension.s3.connector.S3AsyncConnector;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.types.S3Object;
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class IonosDataSinkTest {
+
+    private static final String ENDPOINT = "https://s3.de.example";
+    private static final String SOURCE_BUCKET = "source";
+    private static final String SOURCE_REGION = "de";
+    private static final String BUCKET = "destination";
+    private static final String FOLDER = "devices/";
+    private static final String BACKUP = "backup/";
+    private static final String FILE_1 = FOLDER + "device1-data.csv";
+    private static final String FILE_2 = FOLDER + "device2-data.csv";
+    private static final String PROCESS_ID = "process1";
+
+    @Mock
+    private S3Connector sourceConnector;
+    @Mock
+    private S3Connector s3Connector;
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private TransferCheckpointStore checkpointStore;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        doReturn(ENDPOINT).when(sourceConnector).getEndpoint(SOURCE_REGION);
+        doReturn(true).when(s3Connector).supportsServerSideCopy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void transferParts_sameEndpoint_copiesObjects() {
+        var sink = sinkBuilder().serverSideCopy(true).build();
+
+        assertTrue(sink.transferParts(sourceParts(new S3Object(FILE_1, 1024, "etag1"))).succeeded());
+
+        verify(s3Connector).copyObject(SOURCE_BUCKET, FILE_1, BUCKET, ENDPOINT, FILE_1, 1024, 4, Map.of());
+        verify(s3Connector, never()).uploadObject(anyString(), anyString(), anyString(), any(), anyLong(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    public void transferParts_otherEndpoint_streamsObjects() {
+        doReturn("https://s3.fr.example").when(sourceConnector).getEndpoint(SOURCE_REGION);
+        var sink = sinkBuilder().serverSideCopy(true).build();
+
+        assertTrue(sink.transferParts(sourceParts(new S3Object(FILE_1, 1024, "etag1"))).succeeded());
+
+        verify(s3Connector, never()).copyObject(anyString(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyInt(), any());
+        // Object size known to size the parts
+        verify(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(FILE_1), any(), eq(1024L), eq(5242880L), anyInt(), any(), any());
+    }
+
+    @Test
+    public void build_withoutEndpoint_fails() {
+        assertThrows(NullPointerException.class, () -> sinkBuilder().endpoint(null).build());
+    }
+
+    @Test
+    public void transferParts_copyNotSupported_streamsObjects() {
+        doReturn(false).when(s3Connector).supportsServerSideCopy();
+        var sink = sinkBuilder().serverSideCopy(true).build();
+
+        assertTrue(sink.transferParts(sourceParts(new S3Object(FILE_1, 1024, "etag1"))).succeeded());
+
+        verify(s3Connector, never()).copyObject(anyString(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyInt(), any());
+        verify(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(FILE_1), any(), anyLong(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    public void transferParts_copyFails_fallsBackToStreaming() {
+        doThrow(new EdcException("Access denied"))
+                .when(s3Connector).copyObject(anyString(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyInt(), any());
+        var sink = sinkBuilder().serverSideCopy(true).build();
+
+        var parts = sourceParts(new S3Object(FILE_1, 1024, "etag1"), new S3Object(FILE_2, 2048, "etag2"));
+        assertTrue(sink.transferParts(parts).succeeded());
+
+        // Not tried again for the next objects
+        verify(s3Connector, times(1)).copyObject(anyString(), anyString(), anyString(), anyString(), anyString(), anyLong(), anyInt(), any());
+        verify(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(FILE_1), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        verify(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(FILE_2), any(), anyLong(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    public void transfer_syncDelete_deletesObjectsMissingFromSource() {
+        var asyncConnector = destinationObjects(new S3Object(BACKUP + FILE_1, 1024, "etag1"), new S3Object(BACKUP + FOLDER + "old.csv", 512, "etag0"));
+        var sink = sinkBuilder().path(BACKUP).sync(true).syncDelete(true).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"), new S3Object(FILE_2, 2048, "etag2"))).join();
+
+        assertTrue(result.succeeded());
+        // Unchanged object skipped
+        verify(s3Connector, never()).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(BACKUP + FILE_1), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        verify(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(BACKUP + FILE_2), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        verify(asyncConnector).deleteObject(BUCKET, ENDPOINT, BACKUP + FOLDER + "old.csv");
+        verify(asyncConnector, never()).deleteObject(BUCKET, ENDPOINT, BACKUP + FILE_1);
+    }
+
+    @Test
+    public void transfer_syncDeleteDryRun_deletesNothing() {
+        var asyncConnector = destinationObjects(new S3Object(BACKUP + FOLDER + "old.csv", 512, "etag0"));
+        var sink = sinkBuilder().path(BACKUP).sync(true).syncDelete(true).syncDeleteDryRun(true).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.succeeded());
+        verify(asyncConnector, never()).deleteObject(anyString(), anyString(), anyString());
+        verify(monitor).info(contains(BACKUP + FOLDER + "old.csv"));
+    }
+
+    @Test
+    public void transfer_syncDeletePathNotFolder_deletesNothing() {
+        // Listed with the path as prefix, objects of other folders included
+        var asyncConnector = destinationObjects("backup", new S3Object("backup-old/" + FILE_1, 1024, "etag1"));
+        var sink = sinkBuilder().path("backup").sync(true).syncDelete(true).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.succeeded());
+        verify(asyncConnector, never()).deleteObject(anyString(), anyString(), anyString());
+        verify(monitor).warning(contains("not a folder"));
+    }
+
+    @Test
+    public void transfer_syncDelete_keepsObjectsExcludedInSource() {
+        var asyncConnector = destinationObjects(new S3Object(BACKUP + FOLDER + "old.csv", 512, "etag0"),
+                new S3Object(BACKUP + FOLDER + "device1-data.tmp", 512, "etag0"));
+        var sink = sinkBuilder().path(BACKUP).sync(true).syncDelete(true)
+                .sourceBlobName(FOLDER).sourceFilterExcludes(".*\\.tmp").build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.succeeded());
+        verify(asyncConnector).deleteObject(BUCKET, ENDPOINT, BACKUP + FOLDER + "old.csv");
+        verify(asyncConnector, never()).deleteObject(BUCKET, ENDPOINT, BACKUP + FOLDER + "device1-data.tmp");
+    }
+
+    @Test
+    public void transfer_syncDelete_keepsObjectsNotIncludedInSource() {
+        var asyncConnector = destinationObjects(new S3Object(BACKUP + FOLDER + "device3-data.csv", 512, "etag0"),
+                new S3Object(BACKUP + FOLDER + "readme.txt", 512, "etag0"));
+        var sink = sinkBuilder().path(BACKUP).sync(true).syncDelete(true)
+                .sourceBlobName(FOLDER).sourceFilterIncludes("device.*").build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.succeeded());
+        verify(asyncConnector).deleteObject(BUCKET, ENDPOINT, BACKUP + FOLDER + "device3-data.csv");
+        verify(asyncConnector, never()).deleteObject(BUCKET, ENDPOINT, BACKUP + FOLDER + "readme.txt");
+    }
+
+    @Test
+    public void transfer_failedPartWay_deletesNothing() {
+        var asyncConnector = destinationObjects(new S3Object(BACKUP + FOLDER + "old.csv", 512, "etag0"));
+        doThrow(new EdcException("Connection reset"))
+                .when(s3Connector).uploadObject(eq(BUCKET), eq(ENDPOINT), eq(BACKUP + FILE_2), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        var sink = sinkBuilder().path(BACKUP).sync(true).syncDelete(true).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"), new S3Object(FILE_2, 2048, "etag2"))).join();
+
+        assertTrue(result.failed());
+        verify(asyncConnector, never()).deleteObject(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void transfer_failed_deletesCheckpoints() {
+        doThrow(new EdcException("Connection reset"))
+                .when(s3Connector).uploadObject(anyString(), anyString(), anyString(), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        var sink = sinkBuilder().checkpointStore(checkpointStore).processId(PROCESS_ID).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.failed());
+        verify(checkpointStore).delete(PROCESS_ID);
+    }
+
+    @Test
+    public void transfer_interrupted_keepsCheckpoints() {
+        doAnswer(invocation -> {
+            // Like the upload interrupted by the data plane stopping
+            Thread.currentThread().interrupt();
+            throw new EdcException("Upload interrupted");
+        }).when(s3Connector).uploadObject(anyString(), anyString(), anyString(), any(), anyLong(), anyLong(), anyInt(), any(), any());
+        var sink = sinkBuilder().checkpointStore(checkpointStore).processId(PROCESS_ID).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.failed());
+        verify(checkpointStore, never()).delete(anyString());
+    }
+
+    @Test
+    public void transfer_completed_deletesCheckpoints() {
+        var sink = sinkBuilder().checkpointStore(checkpointStore).processId(PROCESS_ID).build();
+
+        var result = sink.transfer(dataSource(new S3Object(FILE_1, 1024, "etag1"))).join();
+
+        assertTrue(result.succeeded());
+        verify(checkpointStore).objectCompleted(PROCESS_ID, FILE_1);
+        verify(checkpointStore).delete(PROCESS_ID);
+    }
+
+    private IonosDataSink.Builder sinkBuilder() {
+        return IonosDataSink.Builder.newInstance()
+                .s3Connector(s3Connector)
+                .endpoint(ENDPOINT)
+                .bucketName(BUCKET)
+                .partSize(5242880)
+                .maxConcurrentParts(4)
+                .requestId("request1")
+                .executorService(executorService)
+                .monitor(monitor);
+    }
+
+    private List<DataSource.Part> sourceParts(S3Object... objects) {
+        return dataSource(objects).openPartStream().getContent().collect(Collectors.toList());
+    }
+
+    private IonosDataSource dataSource(S3Object... objects) {
+        doAnswer(invocation -> Stream.of(objects))
+                .when(sourceConnector).streamObjects(any(String.class), any(String.class), any(String.class));
+
+        return IonosDataSource.Builder.newInstance()
+                .client(sourceConnector)
+                .bucketName(SOURCE_BUCKET)
+                .regionId(SOURCE_REGION)
+                .blobName(FOLDER)
+                .build();
+    }
+
+    private S3AsyncConnector destinationObjects(S3Object... objects) {
+        return destinationObjects(BACKUP, objects);
+    }
+
+    private S3AsyncConnector destinationObjects(String prefix, S3Object... objects) {
+        var asyncConnector = mock(S3AsyncConnector.class);
+        doReturn(CompletableFuture.completedFuture(List.of(objects))).when(asyncConnector).listEndpointObjects(BUCKET, ENDPOINT, prefix);
+        doReturn(CompletableFuture.completedFuture(Map.of())).when(asyncConnector).getUserMetadata(anyString(), anyString(), anyString());
+        doReturn(CompletableFuture.completedFuture(null)).when(asyncConnector).deleteObject(anyString(), anyString(), anyString());
+        doReturn(asyncConnector).when(s3Connector).async();
+        return asyncConnector;
+    }
+}
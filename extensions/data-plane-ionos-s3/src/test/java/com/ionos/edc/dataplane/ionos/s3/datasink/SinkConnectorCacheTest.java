@@ -0,0 +1,107 @@
+package com.ionos.edc.dataplane.ionos.s3.datasink;
+
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.types.IonosToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SinkConnectorCacheTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final AtomicInteger created = new AtomicInteger();
+    private final Function<IonosToken, S3Connector> factory = token -> {
+        created.incrementAndGet();
+        return mock(S3Connector.class);
+    };
+
+    @BeforeEach
+    public void setup() {
+        when(clock.millis()).thenReturn(0L);
+    }
+
+    @Test
+    public void getConnector_sameAccessKey_reused() {
+        var cache = new SinkConnectorCache(10, clock);
+
+        var connector = cache.getConnector(token("key1", 1000), 1000, factory);
+
+        // Another transfer getting the same temporary key from the pool
+        assertSame(connector, cache.getConnector(token("key1", 1000), 1000, factory));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void getConnector_otherAccessKeyOrMaxFiles_created() {
+        var cache = new SinkConnectorCache(10, clock);
+
+        var connector = cache.getConnector(token("key1", 1000), 1000, factory);
+
+        assertNotSame(connector, cache.getConnector(token("key2", 1000), 1000, factory));
+        assertNotSame(connector, cache.getConnector(token("key1", 1000), 500, factory));
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    public void getConnector_expired_created() {
+        var cache = new SinkConnectorCache(10, clock);
+        var connector = cache.getConnector(token("key1", 1000), 1000, factory);
+
+        when(clock.millis()).thenReturn(1000L);
+
+        assertNotSame(connector, cache.getConnector(token("key1", 2000), 1000, factory));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void getConnector_full_evictsExpiringFirst() {
+        var cache = new SinkConnectorCache(2, clock);
+        var connector1 = cache.getConnector(token("key1", 3000), 1000, factory);
+        cache.getConnector(token("key2", 1000), 1000, factory);
+
+        cache.getConnector(token("key3", 2000), 1000, factory);
+
+        assertEquals(2, cache.size());
+        assertSame(connector1, cache.getConnector(token("key1", 3000), 1000, factory));
+        cache.getConnector(token("key2", 1000), 1000, factory);
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    public void getConnector_full_evictsExpired() {
+        var cache = new SinkConnectorCache(2, clock);
+        cache.getConnector(token("key1", 1000), 1000, factory);
+        var connector2 = cache.getConnector(token("key2", 3000), 1000, factory);
+
+        when(clock.millis()).thenReturn(1500L);
+        var connector3 = cache.getConnector(token("key3", 2000), 1000, factory);
+
+        assertEquals(2, cache.size());
+        assertSame(connector2, cache.getConnector(token("key2", 3000), 1000, factory));
+        assertSame(connector3, cache.getConnector(token("key3", 2000), 1000, factory));
+    }
+
+    @Test
+    public void getConnector_sizeZero_notCached() {
+        var cache = new SinkConnectorCache(0, clock);
+
+        cache.getConnector(token("key1", 1000), 1000, factory);
+        cache.getConnector(token("key1", 1000), 1000, factory);
+
+        assertEquals(0, cache.size());
+        assertEquals(2, created.get());
+    }
+
+    private static IonosToken token(String accessKey, long expiration) {
+        return new IonosToken(accessKey, "secret", expiration);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ionos.edc.dataplane.ionos.s3.datasource;
+
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
+import org.eclipse.edc.spi.types.domain.DataAddress;
+import org.eclipse.edc.spi.types.domain.transfer.DataFlowStartMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IonosDataSourceFactoryTest {
+
+    private final IonosDataSourceFactory factory = new IonosDataSourceFactory(mock(S3Connector.class), 8388608, false, 2000, 1,
+            mock(ExecutorService.class), new MemoryBudget(Long.MAX_VALUE), new BufferPool(0));
+
+    @Test
+    public void validateRequest_noChunkSize() {
+        assertTrue(factory.validateRequest(request(null)).succeeded());
+    }
+
+    @Test
+    public void validateRequest_chunkSize() {
+        assertTrue(factory.validateRequest(request("16777216")).succeeded());
+        assertTrue(factory.validateRequest(request(String.valueOf(Integer.MAX_VALUE - 8))).succeeded());
+    }
+
+    @Test
+    public void validateRequest_invalidChunkSize() {
+        assertTrue(factory.validateRequest(request("0")).failed());
+        assertTrue(factory.validateRequest(request("-1")).failed());
+        assertTrue(factory.validateRequest(request("8MB")).failed());
+    }
+
+    @Test
+    public void validateRequest_chunkSizeTooLarge() {
+        // Chunks are buffered in arrays
+        assertTrue(factory.validateRequest(request(String.valueOf(Integer.MAX_VALUE))).failed());
+        // Over the S3 part limit of 5 GiB
+        assertTrue(factory.validateRequest(request("6442450944")).failed());
+    }
+
+    private static DataFlowStartMessage request(String chunkSize) {
+        var source = DataAddress.Builder.newInstance().type(IonosBucketSchema.TYPE);
+        if (chunkSize != null) {
+            source.property(IonosBucketSchema.CHUNK_SIZE, chunkSize);
+        }
+        var request = mock(DataFlowStartMessage.class);
+        when(request.getSourceDataAddress()).thenReturn(source.build());
+        return request;
+    }
+}
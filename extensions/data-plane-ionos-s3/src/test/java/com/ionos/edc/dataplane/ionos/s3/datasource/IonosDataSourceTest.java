@@ -3,6 +3,8 @@
  */
 package com.ionos.edc.dataplane.ionos.s3.datasource;
 
+import com.ionos.edc.dataplane.ionos.s3.util.ChunkSizeStrategy;
+import com.ionos.edc.dataplane.ionos.s3.util.PartInputStream;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import com.ionos.edc.extension.s3.types.S3Object;
 import org.eclipse.edc.connector.dataplane.spi.pipeline.StreamFailure;
@@ -11,13 +13,22 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 class IonosDataSourceTest {
@@ -48,8 +59,8 @@ class IonosDataSourceTest {
     @Test
     public void openPartStream_empty() {
 
-        doReturn(List.of())
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(Stream.empty())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -67,8 +78,8 @@ class IonosDataSourceTest {
     public void openPartStream_singleFile() {
 
         var s3Objects = List.of(new S3Object(TEST_FILE_1_NAME, TEST_FILE_1_SIZE));
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -96,8 +107,8 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_2_NAME, TEST_FILE_2_SIZE),
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -137,8 +148,7 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_2_NAME, TEST_FILE_2_SIZE),
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        mockListing(s3Objects);
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -175,8 +185,8 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_2_NAME, TEST_FILE_2_SIZE),
                 new S3Object(TEST_FOLDER_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -210,8 +220,8 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME, 0),
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -256,8 +266,7 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME, 0),
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        mockListing(s3Objects);
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -295,8 +304,8 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME, 0),
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -339,8 +348,7 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE),
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_4_NAME, TEST_FILE_4_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        mockListing(s3Objects);
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -378,8 +386,8 @@ class IonosDataSourceTest {
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_3_NAME, TEST_FILE_3_SIZE),
                 new S3Object(TEST_FOLDER_NAME + TEST_SUB_FOLDER_1_NAME + TEST_FILE_4_NAME, TEST_FILE_4_SIZE)
         );
-        doReturn(s3Objects)
-                .when(s3Connector).listObjects(any(String.class), any(String.class), any(String.class));
+        doReturn(s3Objects.stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
 
         var dataSource = IonosDataSource.Builder.newInstance()
                 .client(s3Connector)
@@ -412,4 +420,61 @@ class IonosDataSourceTest {
         assertEquals(TEST_FILE_3_SIZE, partFile3.size());
     }
 
+    @Test
+    public void openStream_chunkSizeGrowsDuringObject() throws IOException {
+        var data = new byte[TEST_FILE_1_SIZE];
+        new Random(42).nextBytes(data);
+        doReturn(List.of(new S3Object(TEST_FILE_1_NAME, TEST_FILE_1_SIZE)).stream())
+                .when(s3Connector).streamObjects(any(String.class), any(String.class), any(String.class));
+        doAnswer(invocation -> new ByteArrayInputStream(data))
+                .when(s3Connector).streamObject(any(), any(), any());
+        doAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(3);
+            int length = (int) (long) invocation.getArgument(4);
+            return new ByteArrayInputStream(Arrays.copyOfRange(data, offset, offset + length));
+        }).when(s3Connector).streamObject(any(), any(), any(), anyLong(), anyLong());
+
+        // Grows past the object size once the first chunk is fetched
+        var chunkSizeStrategy = new ChunkSizeStrategy() {
+            private long chunkSize = 256;
+
+            @Override
+            public long chunkSize(long fileSize) {
+                return chunkSize;
+            }
+
+            @Override
+            public void recordTransfer(long bytes, long durationNanos) {
+                chunkSize = 2 * TEST_FILE_1_SIZE;
+            }
+        };
+
+        var dataSource = IonosDataSource.Builder.newInstance()
+                .client(s3Connector)
+                .bucketName(TEST_BUCKET)
+                .regionId(TEST_REGION)
+                .blobName(TEST_FILE_1_NAME)
+                .chunkSizeStrategy(chunkSizeStrategy)
+                .rangeParallelism(0)
+                .build();
+
+        var part = dataSource.openPartStream().getContent().findFirst().orElseThrow();
+        try (var stream = new PartInputStream(part, true)) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    private void mockListing(List<S3Object> s3Objects) {
+        doAnswer(invocation -> listing(s3Objects, invocation.getArgument(2), null))
+                .when(s3Connector).streamObjects(any(), any(), any());
+        doAnswer(invocation -> listing(s3Objects, invocation.getArgument(2), invocation.getArgument(3)))
+                .when(s3Connector).streamObjects(any(), any(), any(), any());
+    }
+
+    private static Stream<S3Object> listing(List<S3Object> s3Objects, String prefix, String startAfter) {
+        return s3Objects.stream()
+                .filter(object -> object.objectName().startsWith(prefix))
+                .filter(object -> (startAfter == null) || (object.objectName().compareTo(startAfter) > 0))
+                .sorted(Comparator.comparing(S3Object::objectName));
+    }
 }
@@ -1,13 +1,19 @@
 package com.ionos.edc.dataplane.ionos.s3.util;
 
-import org.eclipse.edc.spi.EdcException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.stream.LongStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FileTransferHelperTest {
 
+    private static final long MEGABYTE = FileTransferHelper.MEGABYTE;
+    private static final long TERABYTE = 1024 * 1024 * MEGABYTE;
+    private static final long MAX_OBJECT_SIZE = 5 * TERABYTE;
+
     @Test
     public void calculateChunkSize_0Bytes() {
         var chunkSize = FileTransferHelper.calculateChunkSize(0);
@@ -15,134 +21,89 @@ public class FileTransferHelperTest {
     }
 
     @Test
-    public void calculateChunkSize_1MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(1048576);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_2MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(2097152);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_3MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(3145728);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_4MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(4194304);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_5MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(5242880);
-        assertEquals(1048576, chunkSize);
+    public void calculateChunkSize_1Byte() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(1);
+        assertEquals(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_6MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(6291456);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_7MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(7340032);
-        assertEquals(1048576, chunkSize);
-    }
-
-    @Test
-    public void calculateChunkSize_8MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(8388608);
-        assertEquals(1048576, chunkSize);
+    public void calculateChunkSize_100MB() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(100 * MEGABYTE);
+        assertEquals(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_9MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(9437184);
-        assertEquals(1048576, chunkSize);
+    public void calculateChunkSize_10GB() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(10240 * MEGABYTE);
+        assertEquals(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_10MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(10485760);
-        assertEquals(1048576, chunkSize);
+    public void calculateChunkSize_1TB() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(TERABYTE);
+        assertEquals(105 * MEGABYTE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_20MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(20971520);
-        assertEquals(1048576, chunkSize);
+    public void calculateChunkSize_5TB() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(MAX_OBJECT_SIZE);
+        assertEquals(525 * MEGABYTE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_30MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(31457280);
-        assertEquals(2097152, chunkSize);
+    public void calculateChunkSize_minChunkSize() {
+        var chunkSize = FileTransferHelper.calculateChunkSize(100 * MEGABYTE, 3 * MEGABYTE + 1);
+        assertEquals(4 * MEGABYTE, chunkSize);
     }
 
     @Test
-    public void calculateChunkSize_40MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(41943040);
-        assertEquals(2097152, chunkSize);
-    }
+    public void calculateChunkSize_properties() {
+        var random = new Random(42);
+        var sizes = LongStream.concat(
+                LongStream.of(1, MEGABYTE - 1, MEGABYTE, MEGABYTE + 1, FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE * FileTransferHelper.MAX_CHUNKS,
+                        FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE * FileTransferHelper.MAX_CHUNKS + 1, MAX_OBJECT_SIZE),
+                random.longs(10000, 1, MAX_OBJECT_SIZE + 1));
 
-    @Test
-    public void calculateChunkSize_50MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(52428800);
-        assertEquals(3145728, chunkSize);
-    }
+        sizes.forEach(fileSize -> {
+            var minChunkSize = MEGABYTE * (1 + random.nextInt(64));
+            var chunkSize = FileTransferHelper.calculateChunkSize(fileSize, minChunkSize);
 
-    @Test
-    public void calculateChunkSize_60MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(62914560);
-        assertEquals(3145728, chunkSize);
+            assertTrue(chunkSize >= minChunkSize, "chunk size below minimum for " + fileSize);
+            assertEquals(0, chunkSize % MEGABYTE, "chunk size not in whole megabytes for " + fileSize);
+            assertTrue(chunks(fileSize, chunkSize) <= FileTransferHelper.MAX_CHUNKS, "too many chunks for " + fileSize);
+            assertTrue(chunkSize <= FileTransferHelper.calculateChunkSize(fileSize + MEGABYTE, minChunkSize),
+                    "chunk size not monotonic for " + fileSize);
+            if (chunkSize > minChunkSize) {
+                assertTrue(chunks(fileSize, chunkSize - MEGABYTE) > FileTransferHelper.MAX_CHUNKS,
+                        "chunk size not minimal for " + fileSize);
+            }
+        });
     }
 
     @Test
-    public void calculateChunkSize_70MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(73400320);
-        assertEquals(4194304, chunkSize);
-    }
+    public void fixedChunkSizeStrategy_respectsChunkLimit() {
+        var strategy = new FixedChunkSizeStrategy(MEGABYTE);
 
-    @Test
-    public void calculateChunkSize_80MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(83886080);
-        assertEquals(4194304, chunkSize);
+        assertEquals(MEGABYTE, strategy.chunkSize(100 * MEGABYTE));
+        assertTrue(chunks(MAX_OBJECT_SIZE, strategy.chunkSize(MAX_OBJECT_SIZE)) <= FileTransferHelper.MAX_CHUNKS);
     }
 
     @Test
-    public void calculateChunkSize_90MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(94371840);
-        assertEquals(5242880, chunkSize);
-    }
+    public void adaptiveChunkSizeStrategy_followsThroughput() {
+        var baseStrategy = new ScalingChunkSizeStrategy(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE);
+        var strategy = new AdaptiveChunkSizeStrategy(baseStrategy, 1000);
 
-    @Test
-    public void calculateChunkSize_100MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(104857600);
-        assertEquals(5242880, chunkSize);
-    }
+        assertEquals(FileTransferHelper.DEFAULT_MIN_CHUNK_SIZE, strategy.chunkSize(TERABYTE / 1024));
 
-    @Test
-    public void calculateChunkSize_200MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(209715200);
-        assertEquals(10485760, chunkSize);
-    }
+        // 64 MB per second
+        strategy.recordTransfer(64 * MEGABYTE, 1_000_000_000L);
+        assertEquals(64 * MEGABYTE, strategy.chunkSize(TERABYTE / 1024));
 
-    @Test
-    public void calculateChunkSize_300MB() {
-        var chunkSize = FileTransferHelper.calculateChunkSize(209715200);
-        assertEquals(10485760, chunkSize);
+        // Never below the base strategy
+        assertEquals(baseStrategy.chunkSize(MAX_OBJECT_SIZE), strategy.chunkSize(MAX_OBJECT_SIZE));
     }
 
-    @Test
-    public void calculateChunkSize_UnsupportedSize() {
-        assertThrows(EdcException.class,
-            ()-> FileTransferHelper.calculateChunkSize(10737418240L));
+    private static long chunks(long fileSize, long chunkSize) {
+        return (fileSize + chunkSize - 1) / chunkSize;
     }
 }
@@ -0,0 +1,164 @@
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import com.ionos.edc.extension.s3.connector.BufferPool;
+import com.ionos.edc.extension.s3.connector.MemoryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelRangeInputStreamTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final MemoryBudget memoryBudget = new MemoryBudget(Long.MAX_VALUE);
+    private final BufferPool bufferPool = new BufferPool(Long.MAX_VALUE);
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void read_reassemblesRangesInOrder() throws IOException {
+        var data = new byte[10000];
+        new Random(42).nextBytes(data);
+
+        var random = new Random(7);
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) -> {
+            try {
+                // Complete the ranges out of order
+                Thread.sleep(random.nextInt(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ByteArrayInputStream(Arrays.copyOfRange(data, (int) offset, (int) (offset + length)));
+        };
+
+        try (var stream = new ParallelRangeInputStream(fetcher, executorService, data.length, 333, 4, memoryBudget, bufferPool)) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void read_failedRange() {
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) -> {
+            throw new IllegalStateException("Range not available");
+        };
+
+        try (var stream = new ParallelRangeInputStream(fetcher, executorService, 1000, 100, 2, memoryBudget, bufferPool)) {
+            assertThrows(IOException.class, stream::readAllBytes);
+        }
+        assertEquals(0, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void read_readsAheadWithinBudget() throws IOException {
+        var data = new byte[1000];
+        new Random(42).nextBytes(data);
+        var budget = new MemoryBudget(250);
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) ->
+                new ByteArrayInputStream(Arrays.copyOfRange(data, (int) offset, (int) (offset + length)));
+
+        try (var stream = new ParallelRangeInputStream(fetcher, executorService, data.length, 100, 4, budget, bufferPool)) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+        assertEquals(200, budget.usage().peak());
+        assertEquals(0, budget.usage().used());
+    }
+
+    @Test
+    public void read_reusesRangeBuffers() throws IOException {
+        var data = new byte[10000];
+        new Random(42).nextBytes(data);
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) ->
+                new ByteArrayInputStream(Arrays.copyOfRange(data, (int) offset, (int) (offset + length)));
+
+        try (var stream = new ParallelRangeInputStream(fetcher, executorService, data.length, 100, 4, memoryBudget, bufferPool)) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+        // Never more than the range being read and the ones fetched ahead
+        assertTrue(bufferPool.statistics().allocations() <= 5);
+        assertEquals(100, bufferPool.statistics().allocations() + bufferPool.statistics().reuses());
+    }
+
+    @Test
+    public void skip_doesNotFetchSkippedRanges() throws IOException {
+        var data = new byte[1000];
+        new Random(42).nextBytes(data);
+        var fetched = ConcurrentHashMap.<Long>newKeySet();
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) -> {
+            fetched.add(offset);
+            return new ByteArrayInputStream(Arrays.copyOfRange(data, (int) offset, (int) (offset + length)));
+        };
+
+        try (var stream = new ParallelRangeInputStream(fetcher, executorService, data.length, 100, 1, memoryBudget, bufferPool)) {
+            assertArrayEquals(Arrays.copyOfRange(data, 0, 50), stream.readNBytes(50));
+            assertEquals(20, stream.skip(20));
+            assertArrayEquals(Arrays.copyOfRange(data, 70, 80), stream.readNBytes(10));
+            assertEquals(400, stream.skip(400));
+            assertArrayEquals(Arrays.copyOfRange(data, 480, data.length), stream.readAllBytes());
+            assertEquals(0, stream.skip(10));
+        }
+        assertFalse(fetched.contains(200L));
+        assertFalse(fetched.contains(300L));
+        assertEquals(0, memoryBudget.usage().used());
+    }
+
+    @Test
+    public void close_abortsRangesFetchedAhead() throws Exception {
+        var started = new CountDownLatch(2);
+        var aborted = new CountDownLatch(2);
+        ParallelRangeInputStream.RangeFetcher fetcher = (offset, length) -> {
+            if (offset == 0)
+                return new ByteArrayInputStream(new byte[(int) length]);
+
+            started.countDown();
+            return new InputStream() {
+                private final CountDownLatch closed = new CountDownLatch(1);
+
+                @Override
+                public int read() throws IOException {
+                    while (true) {
+                        try {
+                            // Like socket reads, not interrupted by the cancellation
+                            closed.await();
+                            throw new IOException("Aborted");
+                        } catch (InterruptedException e) {
+                            // Keep waiting
+                        }
+                    }
+                }
+
+                @Override
+                public void close() {
+                    if (closed.getCount() > 0)
+                        aborted.countDown();
+                    closed.countDown();
+                }
+            };
+        };
+
+        var stream = new ParallelRangeInputStream(fetcher, executorService, 300, 100, 2, memoryBudget, bufferPool);
+        assertEquals(100, stream.readNBytes(100).length);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stream.close();
+
+        assertTrue(aborted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, memoryBudget.usage().used());
+    }
+}
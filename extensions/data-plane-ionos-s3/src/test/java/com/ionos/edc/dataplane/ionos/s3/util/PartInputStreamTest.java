@@ -0,0 +1,102 @@
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import org.eclipse.edc.connector.dataplane.spi.pipeline.DataSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PartInputStreamTest {
+
+    private final DataSource.Part part = mock(DataSource.Part.class);
+
+    @Test
+    public void read_chunked_readsChunksInOrder() throws IOException {
+        when(part.openStream()).thenReturn(stream("abc"), stream(""), stream("de"), null);
+
+        try (var stream = new PartInputStream(part, true)) {
+            assertArrayEquals("abcde".getBytes(), stream.readAllBytes());
+            assertEquals(-1, stream.read());
+        }
+        verify(part, times(4)).openStream();
+    }
+
+    @Test
+    public void read_notChunked_opensSingleStream() throws IOException {
+        when(part.openStream()).thenReturn(stream("abc"), stream("de"));
+
+        try (var stream = new PartInputStream(part, false)) {
+            assertArrayEquals("abc".getBytes(), stream.readAllBytes());
+            assertEquals(-1, stream.read());
+        }
+        verify(part).openStream();
+    }
+
+    @Test
+    public void read_singleBytes() throws IOException {
+        when(part.openStream()).thenReturn(stream("a"), new ByteArrayInputStream(new byte[] { (byte) 0xFF }), null);
+
+        try (var stream = new PartInputStream(part, true)) {
+            assertEquals('a', stream.read());
+            // Not sign-extended
+            assertEquals(0xFF, stream.read());
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void skip_acrossChunks() throws IOException {
+        when(part.openStream()).thenReturn(stream("abc"), stream("def"), stream("gh"), null);
+
+        try (var stream = new PartInputStream(part, true)) {
+            assertEquals(4, stream.skip(4));
+            assertEquals('e', stream.read());
+            // Only up to the end of the last chunk
+            assertEquals(3, stream.skip(10));
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void skip_streamSkippingNothing_readsInstead() throws IOException {
+        var chunk = new ByteArrayInputStream("abc".getBytes()) {
+            @Override
+            public synchronized long skip(long n) {
+                return 0;
+            }
+        };
+        when(part.openStream()).thenReturn(chunk, stream("d"), null);
+
+        try (var stream = new PartInputStream(part, true)) {
+            assertEquals(3, stream.skip(3));
+            assertEquals('d', stream.read());
+        }
+    }
+
+    @Test
+    public void close_closesCurrentChunk() throws IOException {
+        var chunk = spy(stream("abc"));
+        when(part.openStream()).thenReturn(chunk, stream("def"));
+
+        var stream = new PartInputStream(part, true);
+        assertEquals('a', stream.read());
+        stream.close();
+
+        verify(chunk).close();
+        assertEquals(-1, stream.read());
+        verify(part).openStream();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+}
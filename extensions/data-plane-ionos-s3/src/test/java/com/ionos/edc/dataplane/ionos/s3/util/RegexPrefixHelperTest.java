@@ -0,0 +1,58 @@
+package com.ionos.edc.dataplane.ionos.s3.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegexPrefixHelperTest {
+
+    @Test
+    public void literalPrefixes_characterClass() {
+        assertEquals(List.of("device"), RegexPrefixHelper.literalPrefixes(Pattern.compile("device[1-2]-data.csv")));
+    }
+
+    @Test
+    public void literalPrefixes_subFolder() {
+        assertEquals(List.of("device1/device"), RegexPrefixHelper.literalPrefixes(Pattern.compile("device1/device[3-4]-data.csv")));
+    }
+
+    @Test
+    public void literalPrefixes_escapedAndQuoted() {
+        assertEquals(List.of("v1.0/data"), RegexPrefixHelper.literalPrefixes(Pattern.compile("v1\\.0/data.*")));
+        assertEquals(List.of("a+b/c"), RegexPrefixHelper.literalPrefixes(Pattern.compile("\\Qa+b\\E/c\\d+")));
+    }
+
+    @Test
+    public void literalPrefixes_optionalCharacter() {
+        assertEquals(List.of("dat"), RegexPrefixHelper.literalPrefixes(Pattern.compile("data?/.*")));
+        assertEquals(List.of("data"), RegexPrefixHelper.literalPrefixes(Pattern.compile("data+/.*")));
+    }
+
+    @Test
+    public void literalPrefixes_alternatives() {
+        assertEquals(List.of("a/", "b/"), RegexPrefixHelper.literalPrefixes(Pattern.compile("b/.*|a/x|a/.*")));
+        assertEquals(List.of("x/"), RegexPrefixHelper.literalPrefixes(Pattern.compile("x/(a|b)")));
+    }
+
+    @Test
+    public void literalPrefixes_none() {
+        assertEquals(List.of(""), RegexPrefixHelper.literalPrefixes(Pattern.compile(".*\\.csv")));
+        assertEquals(List.of(""), RegexPrefixHelper.literalPrefixes(Pattern.compile("a/.*|[bc]/.*")));
+        assertEquals(List.of(""), RegexPrefixHelper.literalPrefixes(Pattern.compile("(?i)data/.*")));
+        assertEquals(List.of(""), RegexPrefixHelper.literalPrefixes(Pattern.compile("data/.*", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void cannotMatchWithPrefix() {
+        var pattern = Pattern.compile("device1/device[3-4]-data.csv");
+
+        assertTrue(RegexPrefixHelper.cannotMatchWithPrefix(pattern, "device2/"));
+        assertFalse(RegexPrefixHelper.cannotMatchWithPrefix(pattern, "device1/"));
+        assertFalse(RegexPrefixHelper.cannotMatchWithPrefix(Pattern.compile(".*\\.csv"), "any/"));
+    }
+}
@@ -9,6 +9,7 @@ val metaModelVersion: String by project
 val extensionsGroup: String by project
 val extensionsVersion: String by project
 val junitVersion: String by project
+val mockitoVersion: String by project
 
 val gitHubPkgsName: String by project
 val gitHubPkgsUrl: String by project
@@ -25,6 +26,7 @@ dependencies {
     testImplementation("${edcGroup}:junit:${edcVersion}")
     testImplementation("org.junit.jupiter:junit-jupiter-api:${junitVersion}")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:${junitVersion}")
+    testImplementation("org.mockito:mockito-core:${mockitoVersion}")
 }
 
 java {
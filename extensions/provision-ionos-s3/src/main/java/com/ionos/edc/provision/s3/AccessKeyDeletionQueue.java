@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes access keys in the background, at most {@code batchSize} every {@code interval} to spare the IONOS API.
+ * A key queued several times is deleted once. Failed deletions are retried in the next batches up to
+ * {@link #MAX_ATTEMPTS} times, keys still not deleted are left to the {@link OrphanKeySweeper}.
+ * <p>
+ * The queue is only kept in memory, the future returned when queuing a key completes once the key is deleted, so the
+ * deprovisioning is only reported after the deletion and is retried by the transfer process otherwise.
+ */
+public class AccessKeyDeletionQueue {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final Monitor monitor;
+    private final S3Connector s3Connector;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final long interval;
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, CompletableFuture<Void>> queued = new ConcurrentHashMap<>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    public AccessKeyDeletionQueue(Monitor monitor, S3Connector s3Connector, ScheduledExecutorService scheduler, int batchSize, long interval) {
+        this.monitor = monitor;
+        this.s3Connector = s3Connector;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.interval = interval;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::deleteBatch, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a future completed once the key is deleted, or failed when the key was not deleted after
+     * {@link #MAX_ATTEMPTS} attempts.
+     */
+    public CompletableFuture<Void> enqueue(String keyId) {
+        return queued.computeIfAbsent(keyId, id -> {
+            queue.add(id);
+            return new CompletableFuture<>();
+        });
+    }
+
+    public boolean isQueued(String keyId) {
+        return queued.containsKey(keyId);
+    }
+
+    /**
+     * Deletes the keys still queued, without rate limiting.
+     */
+    public void shutdown() {
+        String keyId;
+        while ((keyId = queue.poll()) != null) {
+            if (!delete(keyId)) {
+                queue.add(keyId);
+            }
+        }
+    }
+
+    void deleteBatch() {
+        // The failed keys are queued again after the batch, so they are not retried right away
+        var failed = new ArrayList<String>();
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                var keyId = queue.poll();
+                if (keyId == null) {
+                    return;
+                }
+                if (!delete(keyId)) {
+                    failed.add(keyId);
+                }
+            }
+        } finally {
+            queue.addAll(failed);
+        }
+    }
+
+    /**
+     * Returns false when the deletion failed and is to be retried.
+     */
+    private boolean delete(String keyId) {
+        try {
+            s3Connector.deleteAccessKey(keyId);
+            attempts.remove(keyId);
+            complete(keyId, null);
+            return true;
+        } catch (Exception e) {
+            var attempt = attempts.merge(keyId, 1, Integer::sum);
+            if (attempt < MAX_ATTEMPTS) {
+                return false;
+            }
+            monitor.warning("[IonosS3Provisioner] Temporary key " + keyId + " not deleted after " + attempt + " attempts", e);
+            attempts.remove(keyId);
+            complete(keyId, new EdcException("Temporary key " + keyId + " not deleted after " + attempt + " attempts", e));
+            return true;
+        }
+    }
+
+    private void complete(String keyId, Exception failure) {
+        var result = queued.remove(keyId);
+        if (result == null) {
+            return;
+        }
+        if (failure == null) {
+            result.complete(null);
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.provision.s3;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers for {@code ttl} the buckets known to exist. Concurrent checks of the same bucket share the same check, and
+ * failed checks are not remembered.
+ */
+class BucketExistenceCache {
+
+    private record Entry(CompletableFuture<Void> check, long expiresAt) {}
+
+    private final long ttl;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    BucketExistenceCache(long ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the check of the bucket, starting it with {@code bucketCheck} if the bucket is not known to exist.
+     */
+    CompletableFuture<Void> ensureExists(String bucketName, String regionId, Supplier<CompletableFuture<Void>> bucketCheck) {
+        var now = clock.millis();
+        entries.values().removeIf(current -> now >= current.expiresAt());
+
+        var entry = entries.compute(bucketName + "@" + regionId, (key, current) -> {
+            if ((current != null) && (now < current.expiresAt()) && !current.check().isCompletedExceptionally()) {
+                return current;
+            }
+            return new Entry(bucketCheck.get(), now + ttl);
+        });
+        return entry.check();
+    }
+}
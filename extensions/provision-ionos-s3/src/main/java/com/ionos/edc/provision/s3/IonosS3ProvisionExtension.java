@@ -14,14 +14,15 @@
 
 package com.ionos.edc.provision.s3;
 
+import com.ionos.edc.extension.s3.api.S3AccessKey;
 import com.ionos.edc.extension.s3.connector.S3Connector;
 import com.ionos.edc.extension.s3.types.IonosToken;
 import com.ionos.edc.provision.s3.resource.IonosS3ConsumerResourceDefinitionGenerator;
 import com.ionos.edc.provision.s3.resource.IonosS3ProvisionedResource;
 import com.ionos.edc.provision.s3.resource.IonosS3ResourceDefinition;
-import dev.failsafe.RetryPolicy;
 import org.eclipse.edc.connector.controlplane.transfer.spi.provision.ProvisionManager;
 import org.eclipse.edc.connector.controlplane.transfer.spi.provision.ResourceManifestGenerator;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
 import org.eclipse.edc.runtime.metamodel.annotation.Extension;
 import org.eclipse.edc.runtime.metamodel.annotation.Inject;
 import org.eclipse.edc.spi.security.Vault;
@@ -29,7 +30,28 @@ import org.eclipse.edc.spi.system.ServiceExtension;
 import org.eclipse.edc.spi.system.ServiceExtensionContext;
 import org.eclipse.edc.spi.types.TypeManager;
 
+import java.time.Clock;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.TYPE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_BUCKET_CACHE_TTL;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_BUCKET_CACHE_TTL_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_DELETION_BATCH_SIZE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_DELETION_BATCH_SIZE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_DELETION_INTERVAL;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_DELETION_INTERVAL_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_MAX_AGE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_MAX_AGE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_REFILL_INTERVAL;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_REFILL_INTERVAL_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_SIZE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_POOL_SIZE_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_SWEEPER_INTERVAL;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_SWEEPER_INTERVAL_DEFAULT;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_SWEEPER_MAX_AGE;
+import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_SWEEPER_MAX_AGE_DEFAULT;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_VALIDATION_ATTEMPTS;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_VALIDATION_ATTEMPTS_DEFAULT;
 import static com.ionos.edc.extension.s3.schema.IonosSettingsSchema.IONOS_KEY_VALIDATION_DELAY;
@@ -42,15 +64,29 @@ public class IonosS3ProvisionExtension implements ServiceExtension {
 
     private static final String LOG_CONTEXT = "IonosProvisionExtension";
 
+    // Threads running the IONOS API calls of the temporary keys, they never wait between calls
+    private static final int KEY_SCHEDULER_THREADS = 4;
+    // Time given on shutdown to the key deletions already scheduled
+    private static final long KEY_SCHEDULER_SHUTDOWN_TIMEOUT = 10000;
+
     @Inject
     private Vault vault;
 
     @Inject
     private TypeManager typeManager;
 
+    @Inject
+    private TransferProcessStore transferProcessStore;
+
     @Inject(required = false)
     private S3Connector s3Connector;
 
+    private ScheduledExecutorService keyScheduler;
+    private TemporaryKeyFactory keyFactory;
+    private TemporaryKeyPool keyPool;
+    private AccessKeyDeletionQueue deletionQueue;
+    private OrphanKeySweeper orphanKeySweeper;
+
     @Override
     public String name() {
         return NAME;
@@ -69,12 +105,33 @@ public class IonosS3ProvisionExtension implements ServiceExtension {
         contextMonitor.debug("Loading configurations");
         var keyValidationAttempts =  context.getSetting(IONOS_KEY_VALIDATION_ATTEMPTS, IONOS_KEY_VALIDATION_ATTEMPTS_DEFAULT);
         var keyValidationDelay =  context.getSetting(IONOS_KEY_VALIDATION_DELAY, IONOS_KEY_VALIDATION_DELAY_DEFAULT);
+        var keyPoolSize = context.getSetting(IONOS_KEY_POOL_SIZE, IONOS_KEY_POOL_SIZE_DEFAULT);
+        var keyPoolRefillInterval = context.getSetting(IONOS_KEY_POOL_REFILL_INTERVAL, IONOS_KEY_POOL_REFILL_INTERVAL_DEFAULT);
+        var keyPoolMaxAge = context.getSetting(IONOS_KEY_POOL_MAX_AGE, IONOS_KEY_POOL_MAX_AGE_DEFAULT);
+        var bucketCacheTtl = context.getSetting(IONOS_BUCKET_CACHE_TTL, IONOS_BUCKET_CACHE_TTL_DEFAULT);
+        var keyDeletionBatchSize = context.getSetting(IONOS_KEY_DELETION_BATCH_SIZE, IONOS_KEY_DELETION_BATCH_SIZE_DEFAULT);
+        var keyDeletionInterval = context.getSetting(IONOS_KEY_DELETION_INTERVAL, IONOS_KEY_DELETION_INTERVAL_DEFAULT);
+        var keySweeperInterval = context.getSetting(IONOS_KEY_SWEEPER_INTERVAL, IONOS_KEY_SWEEPER_INTERVAL_DEFAULT);
+        var keySweeperMaxAge = context.getSetting(IONOS_KEY_SWEEPER_MAX_AGE, IONOS_KEY_SWEEPER_MAX_AGE_DEFAULT);
 
         contextMonitor.debug("Initializing provisioner");
         var provisionManager = context.getService(ProvisionManager.class);
-        var retryPolicy = context.getService(RetryPolicy.class);
 
-        var s3BucketProvisioner = new IonosS3Provisioner(monitor, retryPolicy, s3Connector, keyValidationAttempts, keyValidationDelay);
+        var scheduler = new ScheduledThreadPoolExecutor(KEY_SCHEDULER_THREADS);
+        // The delayed polls of the keys being validated are dropped on shutdown, their keys are deleted by the factory
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        keyScheduler = scheduler;
+        // Tells the keys of this connector apart from the ones of the other connectors of the account
+        var keyDescription = S3AccessKey.TEMPORARY_KEY_DESCRIPTION + " " + context.getParticipantId();
+        keyFactory = new TemporaryKeyFactory(monitor, s3Connector, keyScheduler, keyDescription, keyValidationAttempts, keyValidationDelay, Clock.systemUTC());
+        keyPool = new TemporaryKeyPool(monitor, s3Connector, keyFactory, keyScheduler,
+                keyPoolSize, keyPoolRefillInterval, keyPoolMaxAge, Clock.systemUTC());
+
+        deletionQueue = new AccessKeyDeletionQueue(monitor, s3Connector, keyScheduler, keyDeletionBatchSize, keyDeletionInterval);
+        orphanKeySweeper = new OrphanKeySweeper(monitor, s3Connector, transferProcessStore, keyPool, deletionQueue, keyScheduler, keyDescription,
+                keySweeperInterval, keySweeperMaxAge, Clock.systemUTC());
+
+        var s3BucketProvisioner = new IonosS3Provisioner(monitor, s3Connector, keyFactory, keyPool, deletionQueue, bucketCacheTtl);
         provisionManager.register(s3BucketProvisioner);
 
         contextMonitor.debug("Registering manifest generators");
@@ -87,6 +144,36 @@ public class IonosS3ProvisionExtension implements ServiceExtension {
         contextMonitor.info("Provision extension initialized !");
     }
 
+    @Override
+    public void start() {
+        if (keyPool != null) {
+            keyPool.start();
+            deletionQueue.start();
+            orphanKeySweeper.start();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (keyPool != null) {
+            keyPool.shutdown();
+            keyFactory.shutdown();
+            deletionQueue.shutdown();
+        }
+        if (keyScheduler != null) {
+            // Lets the deletions already submitted run
+            keyScheduler.shutdown();
+            try {
+                if (!keyScheduler.awaitTermination(KEY_SCHEDULER_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    keyScheduler.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                keyScheduler.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private void registerTypes(TypeManager typeManager) {
         typeManager.registerTypes(IonosS3ProvisionedResource.class, IonosS3ResourceDefinition.class, IonosToken.class);
     }
@@ -20,37 +20,39 @@ import com.ionos.edc.extension.s3.types.IonosToken;
 import com.ionos.edc.extension.s3.api.S3AccessKey;
 import com.ionos.edc.provision.s3.resource.IonosS3ProvisionedResource;
 import com.ionos.edc.provision.s3.resource.IonosS3ResourceDefinition;
-import dev.failsafe.RetryPolicy;
 import org.eclipse.edc.connector.controlplane.transfer.spi.provision.Provisioner;
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.DeprovisionedResource;
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.ProvisionResponse;
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.ProvisionedResource;
 import org.eclipse.edc.connector.controlplane.transfer.spi.types.ResourceDefinition;
 import org.eclipse.edc.policy.model.Policy;
-import org.eclipse.edc.spi.EdcException;
 import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.response.ResponseStatus;
 import org.eclipse.edc.spi.response.StatusResult;
 
+import java.time.Clock;
 import java.time.OffsetDateTime;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import static dev.failsafe.Failsafe.with;
 
 public class IonosS3Provisioner implements Provisioner<IonosS3ResourceDefinition, IonosS3ProvisionedResource> {
 
     private final Monitor monitor;
-    private final RetryPolicy<Object> retryPolicy;
     private final S3Connector s3Connector;
-    private final Integer keyValidationAttempts;
-    private final Long keyValidationDelay;
+    private final TemporaryKeyFactory keyFactory;
+    private final TemporaryKeyPool keyPool;
+    private final AccessKeyDeletionQueue deletionQueue;
+    private final BucketExistenceCache bucketCache;
 
-    public IonosS3Provisioner(Monitor monitor, RetryPolicy<Object> retryPolicy, S3Connector s3Connector, int keyValidationAttempts, long keyValidationDelay) {
+    public IonosS3Provisioner(Monitor monitor, S3Connector s3Connector, TemporaryKeyFactory keyFactory, TemporaryKeyPool keyPool,
+                              AccessKeyDeletionQueue deletionQueue, long bucketCacheTtl) {
 
         this.monitor = monitor;
-        this.retryPolicy = retryPolicy;
         this.s3Connector = s3Connector;
-        this.keyValidationAttempts = keyValidationAttempts;
-        this.keyValidationDelay = keyValidationDelay;
+        this.keyFactory = keyFactory;
+        this.keyPool = keyPool;
+        this.deletionQueue = deletionQueue;
+        this.bucketCache = new BucketExistenceCache(bucketCacheTtl, Clock.systemUTC());
     }
 
     @Override
@@ -69,20 +71,43 @@ public class IonosS3Provisioner implements Provisioner<IonosS3ResourceDefinition
         var bucketName = resourceDefinition.getBucketName();
         var regionId = Objects.requireNonNullElse(resourceDefinition.getRegionId(), s3Connector.getDefaultRegionId());
 
-        if (!s3Connector.bucketExists(bucketName, regionId)) {
-            s3Connector.createBucket(bucketName, regionId);
-        }
+        // The steps are independent, run them concurrently
+        var bucketCheck = bucketCache.ensureExists(bucketName, regionId, () -> ensureBucket(bucketName, regionId));
+        var endpointLookup = s3Connector.async().getEndpoint(regionId);
+        var temporaryKey = createTemporaryKey();
 
-        var endpoint = s3Connector.getEndpoint(regionId);
+        var result = CompletableFuture.allOf(bucketCheck, endpointLookup, temporaryKey)
+                .thenApply(empty -> provisionResponse(resourceDefinition, endpointLookup.join(), temporaryKey.join()));
 
-        var temporaryKey = createTemporaryKey();
+        result.whenComplete((response, error) -> {
+            if (error != null) {
+                // Do not leave behind the temporary key when another step failed
+                temporaryKey.thenAccept(accessKey -> deletionQueue.enqueue(accessKey.getId()));
+            }
+        });
+        return result;
+    }
 
+    @Override
+    public CompletableFuture<StatusResult<DeprovisionedResource>> deprovision(IonosS3ProvisionedResource provisionedResource, Policy policy) {
+        // Reported once the key is deleted, the deprovisioning is retried when the deletion failed or did not happen before a restart
+        return deletionQueue.enqueue(provisionedResource.getAccessKeyID())
+                .handle((empty, error) -> {
+                    if (error != null) {
+                        return StatusResult.failure(ResponseStatus.ERROR_RETRY, "Temporary key " + provisionedResource.getAccessKeyID()
+                                + " not deleted: " + error.getMessage());
+                    }
+                    return StatusResult.success(DeprovisionedResource.Builder.newInstance().provisionedResourceId(provisionedResource.getId()).build());
+                });
+    }
+
+    private StatusResult<ProvisionResponse> provisionResponse(IonosS3ResourceDefinition resourceDefinition, String endpoint, S3AccessKey temporaryKey) {
         String resourceName = resourceDefinition.getKeyName();
         var resourceBuilder = IonosS3ProvisionedResource.Builder.newInstance()
                 .id(resourceDefinition.getId())
                 .resourceName(resourceName)
                 .endpoint(endpoint)
-                .bucketName(bucketName)
+                .bucketName(resourceDefinition.getBucketName())
                 .maxFiles(String.valueOf(s3Connector.getMaxFiles()))
                 .resourceDefinitionId(resourceDefinition.getId())
                 .accessKeyID(temporaryKey.getId())
@@ -91,6 +116,12 @@ public class IonosS3Provisioner implements Provisioner<IonosS3ResourceDefinition
         if (resourceDefinition.getPath() != null) {
             resourceBuilder = resourceBuilder.path(resourceDefinition.getPath());
         }
+        if (resourceDefinition.getSync() != null) {
+            resourceBuilder = resourceBuilder.sync(resourceDefinition.getSync());
+        }
+        if (resourceDefinition.getSyncDelete() != null) {
+            resourceBuilder = resourceBuilder.syncDelete(resourceDefinition.getSyncDelete());
+        }
         var resource = resourceBuilder.build();
 
         var expiryTime = OffsetDateTime.now().plusHours(1);
@@ -99,51 +130,22 @@ public class IonosS3Provisioner implements Provisioner<IonosS3ResourceDefinition
                 expiryTime.toInstant().toEpochMilli());
         var response = ProvisionResponse.Builder.newInstance().resource(resource).secretToken(secretToken).build();
 
-        return CompletableFuture.completedFuture(StatusResult.success(response));
-    }
-
-    @Override
-    public CompletableFuture<StatusResult<DeprovisionedResource>> deprovision(IonosS3ProvisionedResource provisionedResource, Policy policy) {
-        return with(retryPolicy).runAsync(() -> s3Connector.deleteAccessKey(provisionedResource.getAccessKeyID()))
-                .thenApply(empty ->
-                        StatusResult.success(DeprovisionedResource.Builder.newInstance().provisionedResourceId(provisionedResource.getId()).build())
-                );
+        return StatusResult.success(response);
     }
 
-    private S3AccessKey createTemporaryKey() {
-        var accessKey = s3Connector.createAccessKey();
-
-        // Validate the temporary key
-        var validated = false;
-        int attempts = 0;
-        while(attempts <= keyValidationAttempts) {
-            attempts++;
-            if (validateKey(accessKey)) {
-                validated = true;
-                break;
-            }
-        }
-
-        if (validated) {
-            monitor.debug("[IonosS3Provisioner] Temporary key validated after " + attempts + " attempts of " + keyValidationDelay + " ms");
-            return accessKey;
-        } else {
-            // Delete the not validated temporary key
-            s3Connector.deleteAccessKey(accessKey.getId());
-            throw new EdcException("Temporary key not validated after " + attempts + " attempts of " + keyValidationDelay + " ms");
-        }
+    private CompletableFuture<Void> ensureBucket(String bucketName, String regionId) {
+        var asyncConnector = s3Connector.async();
+        return asyncConnector.bucketExists(bucketName, regionId)
+                .thenCompose(exists -> exists ? CompletableFuture.<Void>completedFuture(null) : asyncConnector.createBucket(bucketName, regionId));
     }
 
-    private boolean validateKey(S3AccessKey accessKey) {
-        try {
-            // Wait the validation delay
-            Thread.sleep(keyValidationDelay);
-        } catch (InterruptedException e) {
-            throw new EdcException("Error waiting delay to validate temporary key", e);
+    private CompletableFuture<S3AccessKey> createTemporaryKey() {
+        var pooledKey = keyPool.take();
+        if (pooledKey.isPresent()) {
+            return CompletableFuture.completedFuture(pooledKey.get());
         }
 
-        // Validate the key status
-        var retrievedAccessKey = s3Connector.retrieveAccessKey(accessKey.getId());
-        return (retrievedAccessKey.getMetadata().getStatus().equals(S3AccessKey.AVAILABLE_STATUS));
+        monitor.debug("[IonosS3Provisioner] Temporary key pool is empty, creating a new key");
+        return keyFactory.create();
     }
 }
@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.provision.s3.resource.IonosS3ProvisionedResource;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.DeprovisionedResource;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcess;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcessStates;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.Criterion;
+import org.eclipse.edc.spi.query.QuerySpec;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically deletes the temporary keys left behind, for example when the connector stopped before deprovisioning
+ * a transfer. A key is deleted when it has the temporary key description of this connector, was created more than
+ * {@code maxAge} ago, is not in the key pool and is not used by any transfer process still running.
+ */
+public class OrphanKeySweeper {
+
+    private static final int TRANSFER_PROCESSES_PAGE_SIZE = 500;
+
+    // The transfer stops using its key once completed or terminated, the deprovisioning then queues it for deletion
+    static final List<Integer> ACTIVE_STATES = Arrays.stream(TransferProcessStates.values())
+            .filter(state -> (state.code() < TransferProcessStates.COMPLETED.code()) || (state == TransferProcessStates.TERMINATING))
+            .map(TransferProcessStates::code)
+            .collect(Collectors.toList());
+
+    private final Monitor monitor;
+    private final S3Connector s3Connector;
+    private final TransferProcessStore transferProcessStore;
+    private final TemporaryKeyPool keyPool;
+    private final AccessKeyDeletionQueue deletionQueue;
+    private final ScheduledExecutorService scheduler;
+    private final String keyDescription;
+    private final long interval;
+    private final long maxAge;
+    private final Clock clock;
+
+    public OrphanKeySweeper(Monitor monitor, S3Connector s3Connector, TransferProcessStore transferProcessStore,
+                            TemporaryKeyPool keyPool, AccessKeyDeletionQueue deletionQueue, ScheduledExecutorService scheduler,
+                            String keyDescription, long interval, long maxAge, Clock clock) {
+        this.monitor = monitor;
+        this.s3Connector = s3Connector;
+        this.transferProcessStore = transferProcessStore;
+        this.keyPool = keyPool;
+        this.deletionQueue = deletionQueue;
+        this.scheduler = scheduler;
+        this.keyDescription = keyDescription;
+        this.interval = interval;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public void start() {
+        if (interval <= 0) {
+            return;
+        }
+        if (!s3Connector.supportsAccessKeyListing()) {
+            monitor.warning("[IonosS3Provisioner] Orphan temporary keys not swept, listing the access keys not supported by " +
+                    s3Connector.getClass().getName());
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void sweep() {
+        try {
+            var now = clock.millis();
+            var candidates = s3Connector.listAccessKeys().stream()
+                    .filter(this::isTemporaryKey)
+                    .filter(accessKey -> isOlderThan(accessKey, now - maxAge))
+                    .filter(accessKey -> !keyPool.contains(accessKey.getId()) && !deletionQueue.isQueued(accessKey.getId()))
+                    .collect(Collectors.toList());
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            var activeKeys = activeKeyIds();
+            var orphans = candidates.stream()
+                    .map(S3AccessKey::getId)
+                    .filter(keyId -> !activeKeys.contains(keyId))
+                    .collect(Collectors.toList());
+
+            if (!orphans.isEmpty()) {
+                monitor.info("[IonosS3Provisioner] Deleting " + orphans.size() + " orphan temporary keys");
+                orphans.forEach(deletionQueue::enqueue);
+            }
+        } catch (Exception e) {
+            monitor.warning("[IonosS3Provisioner] Error sweeping orphan temporary keys", e);
+        }
+    }
+
+    private boolean isTemporaryKey(S3AccessKey accessKey) {
+        return (accessKey.getProperties() != null) &&
+                keyDescription.equals(accessKey.getProperties().getDescription());
+    }
+
+    private boolean isOlderThan(S3AccessKey accessKey, long threshold) {
+        if ((accessKey.getMetadata() == null) || (accessKey.getMetadata().getCreatedDate() == null)) {
+            return false;
+        }
+        try {
+            return OffsetDateTime.parse(accessKey.getMetadata().getCreatedDate()).toInstant().toEpochMilli() < threshold;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the keys of the provisioned resources not deprovisioned yet of the transfer processes still running.
+     */
+    private Set<String> activeKeyIds() {
+        var keyIds = new HashSet<String>();
+        var offset = 0;
+        while (true) {
+            var query = QuerySpec.Builder.newInstance()
+                    .filter(Criterion.criterion("state", "in", ACTIVE_STATES))
+                    .offset(offset)
+                    .limit(TRANSFER_PROCESSES_PAGE_SIZE)
+                    .build();
+            List<TransferProcess> transferProcesses;
+            try (var stream = transferProcessStore.findAll(query)) {
+                transferProcesses = stream.collect(Collectors.toList());
+            }
+
+            transferProcesses.forEach(transferProcess -> addActiveKeyIds(transferProcess, keyIds));
+            if (transferProcesses.size() < TRANSFER_PROCESSES_PAGE_SIZE) {
+                return keyIds;
+            }
+            offset += transferProcesses.size();
+        }
+    }
+
+    private void addActiveKeyIds(TransferProcess transferProcess, Set<String> keyIds) {
+        var resourceSet = transferProcess.getProvisionedResourceSet();
+        if (resourceSet == null) {
+            return;
+        }
+
+        var deprovisioned = transferProcess.getDeprovisionedResources().stream()
+                .map(DeprovisionedResource::getProvisionedResourceId)
+                .collect(Collectors.toSet());
+        resourceSet.getResources().stream()
+                .filter(resource -> resource instanceof IonosS3ProvisionedResource)
+                .filter(resource -> !deprovisioned.contains(resource.getId()))
+                .map(resource -> ((IonosS3ProvisionedResource) resource).getAccessKeyID())
+                .forEach(keyIds::add);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates temporary access keys with the given description, completing the returned future only once the key is available. The key status is
+ * polled on a scheduler, so no thread waits for the key.
+ * <p>
+ * The first poll is scheduled after the time keys recently took to become available, the next ones with a delay
+ * doubling from {@link #MIN_POLL_DELAY} up to {@code keyValidationDelay}. The key is deleted if it is not available
+ * after {@code keyValidationAttempts} times {@code keyValidationDelay}, or when the factory is shut down before it is.
+ */
+public class TemporaryKeyFactory {
+
+    static final long MIN_POLL_DELAY = 250;
+
+    private static final double ACTIVATION_SMOOTHING = 0.2;
+
+    private final Monitor monitor;
+    private final S3Connector s3Connector;
+    private final ScheduledExecutorService scheduler;
+    private final String keyDescription;
+    private final int keyValidationAttempts;
+    private final long keyValidationDelay;
+    private final Clock clock;
+
+    // Smoothed time keys take to become available
+    private volatile long expectedActivation;
+
+    // Keys created and not validated yet, whoever removes a key from here completes its future
+    private final Map<String, CompletableFuture<S3AccessKey>> validating = new ConcurrentHashMap<>();
+    private volatile boolean stopped = false;
+
+    public TemporaryKeyFactory(Monitor monitor, S3Connector s3Connector, ScheduledExecutorService scheduler, String keyDescription,
+                               int keyValidationAttempts, long keyValidationDelay, Clock clock) {
+        this.monitor = monitor;
+        this.s3Connector = s3Connector;
+        this.scheduler = scheduler;
+        this.keyDescription = keyDescription;
+        this.keyValidationAttempts = keyValidationAttempts;
+        this.keyValidationDelay = keyValidationDelay;
+        this.clock = clock;
+        this.expectedActivation = keyValidationDelay;
+    }
+
+    public CompletableFuture<S3AccessKey> create() {
+        var result = new CompletableFuture<S3AccessKey>();
+        try {
+            scheduler.execute(() -> createAndValidate(result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new EdcException("Temporary key creation cancelled", e));
+        }
+        return result;
+    }
+
+    /**
+     * Deletes the keys still being validated, failing their futures. Keys created afterwards are deleted right away.
+     */
+    public void shutdown() {
+        stopped = true;
+        validating.keySet().forEach(keyId -> abandon(keyId, "Temporary key validation cancelled", null));
+    }
+
+    private void createAndValidate(CompletableFuture<S3AccessKey> result) {
+        try {
+            var accessKey = s3Connector.createAccessKey(keyDescription);
+            var createdAt = clock.millis();
+            var deadline = createdAt + keyValidationAttempts * keyValidationDelay;
+            validating.put(accessKey.getId(), result);
+            if (stopped) {
+                abandon(accessKey.getId(), "Temporary key validation cancelled", null);
+                return;
+            }
+            schedulePoll(accessKey, createdAt, deadline, 1, Math.max(expectedActivation, MIN_POLL_DELAY), result);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void schedulePoll(S3AccessKey accessKey, long createdAt, long deadline, int attempt, long delay,
+                              CompletableFuture<S3AccessKey> result) {
+        try {
+            scheduler.schedule(() -> poll(accessKey, createdAt, deadline, attempt, result), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            abandon(accessKey.getId(), "Temporary key validation cancelled", e);
+        }
+    }
+
+    private void poll(S3AccessKey accessKey, long createdAt, long deadline, int attempt, CompletableFuture<S3AccessKey> result) {
+        if (!validating.containsKey(accessKey.getId())) {
+            // Already deleted by the shutdown
+            return;
+        }
+
+        try {
+            var retrievedAccessKey = s3Connector.retrieveAccessKey(accessKey.getId());
+            if (S3AccessKey.AVAILABLE_STATUS.equals(retrievedAccessKey.getMetadata().getStatus())) {
+                var activation = clock.millis() - createdAt;
+                // The key may have been available earlier when the first poll succeeds, so probe earlier next time
+                var observed = (attempt == 1) ? activation - MIN_POLL_DELAY : activation;
+                expectedActivation = (long) (ACTIVATION_SMOOTHING * observed + (1 - ACTIVATION_SMOOTHING) * expectedActivation);
+                if (validating.remove(accessKey.getId()) == null) {
+                    return;
+                }
+                monitor.debug("[IonosS3Provisioner] Temporary key validated after " + attempt + " attempts in " + activation + " ms");
+                result.complete(accessKey);
+                return;
+            }
+        } catch (Exception e) {
+            monitor.warning("[IonosS3Provisioner] Error validating temporary key " + accessKey.getId(), e);
+        }
+
+        var now = clock.millis();
+        if (now >= deadline) {
+            abandon(accessKey.getId(), "Temporary key not validated after " + attempt + " attempts in " + (now - createdAt) + " ms", null);
+            return;
+        }
+
+        var nextDelay = Math.min(MIN_POLL_DELAY << Math.min(attempt - 1, 16), keyValidationDelay);
+        schedulePoll(accessKey, createdAt, deadline, attempt + 1, Math.min(nextDelay, deadline - now), result);
+    }
+
+    /**
+     * Deletes a key not validated and fails its future, unless it was already completed.
+     */
+    private void abandon(String keyId, String message, Exception cause) {
+        var result = validating.remove(keyId);
+        if (result == null) {
+            return;
+        }
+        try {
+            s3Connector.deleteAccessKey(keyId);
+        } catch (Exception e) {
+            monitor.warning("[IonosS3Provisioner] Error deleting not validated temporary key " + keyId, e);
+        }
+        result.completeExceptionally(new EdcException(message, cause));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2024 IONOS
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *      IONOS
+ *
+ */
+
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.monitor.Monitor;
+
+import java.time.Clock;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps up to {@code targetSize} temporary keys that are already available, starting the creation of one every
+ * {@code refillInterval} while the pool, including the keys being validated, is not full. Keys older than
+ * {@code maxAge} are deleted instead of handed out.
+ */
+public class TemporaryKeyPool {
+
+    private record PooledKey(S3AccessKey key, long createdAt) {}
+
+    private final Monitor monitor;
+    private final S3Connector s3Connector;
+    private final TemporaryKeyFactory keyFactory;
+    private final ScheduledExecutorService scheduler;
+    private final int targetSize;
+    private final long refillInterval;
+    private final long maxAge;
+    private final Clock clock;
+
+    private final Deque<PooledKey> keys = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean stopped = false;
+
+    public TemporaryKeyPool(Monitor monitor, S3Connector s3Connector, TemporaryKeyFactory keyFactory, ScheduledExecutorService scheduler,
+                            int targetSize, long refillInterval, long maxAge, Clock clock) {
+        this.monitor = monitor;
+        this.s3Connector = s3Connector;
+        this.keyFactory = keyFactory;
+        this.scheduler = scheduler;
+        this.targetSize = targetSize;
+        this.refillInterval = refillInterval;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    public void start() {
+        if (targetSize > 0) {
+            scheduler.scheduleWithFixedDelay(this::refill, 0, refillInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Takes the oldest key of the pool, if any.
+     */
+    public Optional<S3AccessKey> take() {
+        PooledKey pooled;
+        while ((pooled = keys.pollFirst()) != null) {
+            if (!isExpired(pooled)) {
+                return Optional.of(pooled.key());
+            }
+            var expired = pooled;
+            scheduler.execute(() -> delete(expired));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stops refilling the pool and deletes the keys that were not handed out.
+     */
+    public void shutdown() {
+        stopped = true;
+
+        PooledKey pooled;
+        while ((pooled = keys.pollFirst()) != null) {
+            delete(pooled);
+        }
+    }
+
+    public boolean contains(String keyId) {
+        return keys.stream().anyMatch(pooled -> pooled.key().getId().equals(keyId));
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    void refill() {
+        try {
+            // Keys are added in creation order, so the expired ones are at the head
+            PooledKey oldest;
+            while (((oldest = keys.peekFirst()) != null) && isExpired(oldest)) {
+                if (keys.removeFirstOccurrence(oldest)) {
+                    delete(oldest);
+                }
+            }
+
+            if (stopped || (keys.size() + pending.get() >= targetSize)) {
+                return;
+            }
+
+            pending.incrementAndGet();
+            keyFactory.create().whenComplete((key, error) -> {
+                pending.decrementAndGet();
+                if (error != null) {
+                    monitor.warning("[IonosS3Provisioner] Error refilling the temporary key pool", error);
+                } else if (stopped) {
+                    delete(new PooledKey(key, clock.millis()));
+                } else {
+                    keys.addLast(new PooledKey(key, clock.millis()));
+                }
+            });
+        } catch (Exception e) {
+            monitor.warning("[IonosS3Provisioner] Error refilling the temporary key pool", e);
+        }
+    }
+
+    private boolean isExpired(PooledKey pooled) {
+        return clock.millis() - pooled.createdAt() >= maxAge;
+    }
+
+    private void delete(PooledKey pooled) {
+        try {
+            s3Connector.deleteAccessKey(pooled.key().getId());
+        } catch (Exception e) {
+            monitor.warning("[IonosS3Provisioner] Error deleting pooled temporary key " + pooled.key().getId(), e);
+        }
+    }
+}
@@ -50,6 +50,8 @@ public class IonosS3ConsumerResourceDefinitionGenerator implements ConsumerResou
                 .regionId(destination.getStringProperty(IonosBucketSchema.REGION_ID))
                 .bucketName(destination.getStringProperty(IonosBucketSchema.BUCKET_NAME))
                 .path(path)
+                .sync(destination.getStringProperty(IonosBucketSchema.SYNC))
+                .syncDelete(destination.getStringProperty(IonosBucketSchema.SYNC_DELETE))
                 .build();
     }
 
@@ -25,6 +25,8 @@ import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.BUCKET_NAME;
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.ENDPOINT;
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.MAX_FILES;
 import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.PATH;
+import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.SYNC;
+import static com.ionos.edc.extension.s3.schema.IonosBucketSchema.SYNC_DELETE;
 
 @JsonDeserialize(builder = IonosS3ProvisionedResource.Builder.class)
 @JsonTypeName("dataspaceconnector:ionoss3provisionedresource")
@@ -68,6 +70,16 @@ public class IonosS3ProvisionedResource extends ProvisionedDataDestinationResour
             return this;
         }
 
+        public Builder sync(String sync) {
+            dataAddressBuilder.property(SYNC, sync);
+            return this;
+        }
+
+        public Builder syncDelete(String syncDelete) {
+            dataAddressBuilder.property(SYNC_DELETE, syncDelete);
+            return this;
+        }
+
         public Builder accessKeyID(String accessKeyID) {
             provisionedResource.accessKeyID = accessKeyID;
             return this;
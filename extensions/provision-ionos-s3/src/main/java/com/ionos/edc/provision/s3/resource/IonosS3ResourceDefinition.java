@@ -27,6 +27,8 @@ public class IonosS3ResourceDefinition extends ResourceDefinition {
     private String regionId;
     private String bucketName;
     private String path;
+    private String sync;
+    private String syncDelete;
 
     public IonosS3ResourceDefinition() {
     }
@@ -43,6 +45,12 @@ public class IonosS3ResourceDefinition extends ResourceDefinition {
     public String getPath() {
         return path;
     }
+    public String getSync() {
+        return sync;
+    }
+    public String getSyncDelete() {
+        return syncDelete;
+    }
 
     @Override
     public Builder toBuilder() {
@@ -50,7 +58,9 @@ public class IonosS3ResourceDefinition extends ResourceDefinition {
                 .keyName(keyName)
                 .regionId(regionId)
                 .bucketName(bucketName)
-                .path(path);
+                .path(path)
+                .sync(sync)
+                .syncDelete(syncDelete);
     }
 
     public static class Builder extends ResourceDefinition.Builder<IonosS3ResourceDefinition, Builder> {
@@ -79,6 +89,14 @@ public class IonosS3ResourceDefinition extends ResourceDefinition {
             resourceDefinition.path = path;
             return this;
         }
+        public Builder sync(String sync) {
+            resourceDefinition.sync = sync;
+            return this;
+        }
+        public Builder syncDelete(String syncDelete) {
+            resourceDefinition.syncDelete = syncDelete;
+            return this;
+        }
 
         @Override
         protected void verify() {
@@ -0,0 +1,123 @@
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AccessKeyDeletionQueueTest {
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private S3Connector s3Connector;
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private AccessKeyDeletionQueue deletionQueue;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        deletionQueue = new AccessKeyDeletionQueue(monitor, s3Connector, scheduler, 2, 1000);
+    }
+
+    @Test
+    public void deleteBatch_deletesAtMostBatchSize() {
+        deletionQueue.enqueue("key1");
+        deletionQueue.enqueue("key2");
+        deletionQueue.enqueue("key3");
+
+        deletionQueue.deleteBatch();
+
+        verify(s3Connector).deleteAccessKey("key1");
+        verify(s3Connector).deleteAccessKey("key2");
+        verify(s3Connector, never()).deleteAccessKey("key3");
+        assertFalse(deletionQueue.isQueued("key1"));
+        assertTrue(deletionQueue.isQueued("key3"));
+    }
+
+    @Test
+    public void enqueue_completedOnceDeleted() {
+        var deleted = deletionQueue.enqueue("key1");
+        assertFalse(deleted.isDone());
+
+        deletionQueue.deleteBatch();
+
+        assertTrue(deleted.isDone());
+        assertFalse(deleted.isCompletedExceptionally());
+    }
+
+    @Test
+    public void enqueue_deletesKeyQueuedTwiceOnce() {
+        var deleted = deletionQueue.enqueue("key1");
+        assertSame(deleted, deletionQueue.enqueue("key1"));
+
+        deletionQueue.deleteBatch();
+        deletionQueue.deleteBatch();
+
+        verify(s3Connector).deleteAccessKey("key1");
+    }
+
+    @Test
+    public void deleteBatch_retriesFailedKeyInNextBatch() {
+        doThrow(new EdcException("API error")).doNothing().when(s3Connector).deleteAccessKey("key1");
+        deletionQueue.enqueue("key1");
+
+        deletionQueue.deleteBatch();
+
+        // Not retried in the same batch, although the batch is not full
+        verify(s3Connector, times(1)).deleteAccessKey("key1");
+        assertTrue(deletionQueue.isQueued("key1"));
+
+        deletionQueue.deleteBatch();
+
+        verify(s3Connector, times(2)).deleteAccessKey("key1");
+        assertFalse(deletionQueue.isQueued("key1"));
+    }
+
+    @Test
+    public void deleteBatch_givesUpAfterMaxAttempts() {
+        doThrow(new EdcException("API error")).when(s3Connector).deleteAccessKey("key1");
+        var deleted = deletionQueue.enqueue("key1");
+
+        for (int i = 0; i < AccessKeyDeletionQueue.MAX_ATTEMPTS + 1; i++) {
+            deletionQueue.deleteBatch();
+        }
+
+        verify(s3Connector, times(AccessKeyDeletionQueue.MAX_ATTEMPTS)).deleteAccessKey("key1");
+        verify(monitor).warning(anyString(), any(EdcException.class));
+        assertFalse(deletionQueue.isQueued("key1"));
+        assertTrue(deleted.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shutdown_deletesAllQueuedKeys() {
+        doThrow(new EdcException("API error")).when(s3Connector).deleteAccessKey("key2");
+        deletionQueue.enqueue("key1");
+        deletionQueue.enqueue("key2");
+        deletionQueue.enqueue("key3");
+
+        deletionQueue.shutdown();
+
+        verify(s3Connector).deleteAccessKey("key1");
+        verify(s3Connector, times(AccessKeyDeletionQueue.MAX_ATTEMPTS)).deleteAccessKey("key2");
+        verify(s3Connector).deleteAccessKey("key3");
+        assertFalse(deletionQueue.isQueued("key2"));
+    }
+}
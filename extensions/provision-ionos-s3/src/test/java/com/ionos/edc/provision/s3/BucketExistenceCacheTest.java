@@ -0,0 +1,85 @@
+package com.ionos.edc.provision.s3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class BucketExistenceCacheTest {
+
+    private static final long TTL = 1000;
+
+    private final Clock clock = mock(Clock.class);
+    private final BucketExistenceCache bucketCache = new BucketExistenceCache(TTL, clock);
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        doReturn(0L).when(clock).millis();
+    }
+
+    @Test
+    public void ensureExists_known_notCheckedAgain() {
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        doReturn(TTL - 1).when(clock).millis();
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    public void ensureExists_expired_checkedAgain() {
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        doReturn(TTL).when(clock).millis();
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        assertEquals(2, checks.get());
+    }
+
+    @Test
+    public void ensureExists_concurrent_shareCheck() {
+        var pending = new CompletableFuture<Void>();
+
+        var first = bucketCache.ensureExists("bucket", "de", check(pending));
+        var second = bucketCache.ensureExists("bucket", "de", check(new CompletableFuture<>()));
+
+        assertSame(first, second);
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    public void ensureExists_failed_checkedAgain() {
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.failedFuture(new RuntimeException("API error"))));
+
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        assertEquals(2, checks.get());
+    }
+
+    @Test
+    public void ensureExists_otherRegion_checked() {
+        bucketCache.ensureExists("bucket", "de", check(CompletableFuture.completedFuture(null)));
+
+        bucketCache.ensureExists("bucket", "eu-central-2", check(CompletableFuture.completedFuture(null)));
+
+        assertEquals(2, checks.get());
+    }
+
+    private Supplier<CompletableFuture<Void>> check(CompletableFuture<Void> result) {
+        return () -> {
+            checks.incrementAndGet();
+            return result;
+        };
+    }
+}
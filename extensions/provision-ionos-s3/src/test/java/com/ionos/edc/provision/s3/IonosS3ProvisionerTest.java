@@ -0,0 +1,222 @@
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3AsyncConnector;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.extension.s3.schema.IonosBucketSchema;
+import com.ionos.edc.extension.s3.types.IonosToken;
+import com.ionos.edc.provision.s3.resource.IonosS3ProvisionedResource;
+import com.ionos.edc.provision.s3.resource.IonosS3ResourceDefinition;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.response.ResponseStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class IonosS3ProvisionerTest {
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private S3Connector s3Connector;
+    @Mock
+    private S3AsyncConnector asyncConnector;
+    @Mock
+    private TemporaryKeyFactory keyFactory;
+    @Mock
+    private TemporaryKeyPool keyPool;
+    @Mock
+    private AccessKeyDeletionQueue deletionQueue;
+
+    private IonosS3Provisioner provisioner;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        doReturn(asyncConnector).when(s3Connector).async();
+        doReturn("de").when(s3Connector).getDefaultRegionId();
+        doReturn(1000).when(s3Connector).getMaxFiles();
+        doReturn(Optional.empty()).when(keyPool).take();
+        provisioner = new IonosS3Provisioner(monitor, s3Connector, keyFactory, keyPool, deletionQueue, 60000);
+    }
+
+    @Test
+    public void provision_stepsRunConcurrently() {
+        var bucketExists = new CompletableFuture<Boolean>();
+        var endpoint = new CompletableFuture<String>();
+        var temporaryKey = new CompletableFuture<S3AccessKey>();
+        doReturn(bucketExists).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(endpoint).when(asyncConnector).getEndpoint("de");
+        doReturn(temporaryKey).when(keyFactory).create();
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build());
+
+        // All the steps are started before any of them completes
+        verify(asyncConnector).bucketExists("bucket", "de");
+        verify(asyncConnector).getEndpoint("de");
+        verify(keyFactory).create();
+
+        bucketExists.complete(true);
+        endpoint.complete("s3-eu-central-1.ionoscloud.com");
+        assertFalse(result.isDone());
+        temporaryKey.complete(accessKey("key1"));
+
+        var response = result.join().getContent();
+        var resource = (IonosS3ProvisionedResource) response.getResource();
+        assertEquals("s3-eu-central-1.ionoscloud.com", resource.getDataAddress().getStringProperty(IonosBucketSchema.ENDPOINT));
+        assertEquals("key1", resource.getAccessKeyID());
+        assertEquals("access", ((IonosToken) response.getSecretToken()).getAccessKey());
+        verify(asyncConnector, never()).createBucket(anyString(), anyString());
+    }
+
+    @Test
+    public void provision_bucketMissing_created() {
+        doReturn(CompletableFuture.completedFuture(false)).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.completedFuture(null)).when(asyncConnector).createBucket("bucket", "de");
+        doReturn(CompletableFuture.completedFuture("s3-eu-central-1.ionoscloud.com")).when(asyncConnector).getEndpoint("de");
+        doReturn(CompletableFuture.completedFuture(accessKey("key1"))).when(keyFactory).create();
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build()).join();
+
+        assertTrue(result.succeeded());
+        verify(asyncConnector).createBucket("bucket", "de");
+    }
+
+    @Test
+    public void provision_bucketKnown_notCheckedAgain() {
+        doReturn(CompletableFuture.completedFuture(true)).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.completedFuture("s3-eu-central-1.ionoscloud.com")).when(asyncConnector).getEndpoint("de");
+        doReturn(CompletableFuture.completedFuture(accessKey("key1")), CompletableFuture.completedFuture(accessKey("key2")))
+                .when(keyFactory).create();
+
+        provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build()).join();
+        provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build()).join();
+
+        verify(asyncConnector).bucketExists("bucket", "de");
+    }
+
+    @Test
+    public void provision_pooledKey_used() {
+        var pooledKey = accessKey("key1");
+        doReturn(Optional.of(pooledKey)).when(keyPool).take();
+        doReturn(CompletableFuture.completedFuture(true)).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.completedFuture("s3-eu-central-1.ionoscloud.com")).when(asyncConnector).getEndpoint("de");
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build()).join();
+
+        assertEquals("key1", ((IonosS3ProvisionedResource) result.getContent().getResource()).getAccessKeyID());
+        verify(keyFactory, never()).create();
+    }
+
+    @Test
+    public void provision_stepFails_deletesTemporaryKey() {
+        doReturn(CompletableFuture.completedFuture(true)).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.failedFuture(new EdcException("Unknown region"))).when(asyncConnector).getEndpoint("de");
+        doReturn(CompletableFuture.completedFuture(accessKey("key1"))).when(keyFactory).create();
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build());
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(deletionQueue).enqueue("key1");
+    }
+
+    @Test
+    public void provision_keyCompletedAfterFailure_deleted() {
+        var temporaryKey = new CompletableFuture<S3AccessKey>();
+        doReturn(CompletableFuture.failedFuture(new EdcException("Bucket not created"))).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.completedFuture("s3-eu-central-1.ionoscloud.com")).when(asyncConnector).getEndpoint("de");
+        doReturn(temporaryKey).when(keyFactory).create();
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build());
+
+        temporaryKey.complete(accessKey("key1"));
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(deletionQueue).enqueue("key1");
+    }
+
+    @Test
+    public void provision_keyCreationFails_nothingDeleted() {
+        doReturn(CompletableFuture.completedFuture(true)).when(asyncConnector).bucketExists("bucket", "de");
+        doReturn(CompletableFuture.completedFuture("s3-eu-central-1.ionoscloud.com")).when(asyncConnector).getEndpoint("de");
+        doReturn(CompletableFuture.failedFuture(new EdcException("Temporary key not validated"))).when(keyFactory).create();
+
+        var result = provisioner.provision(resourceDefinition("bucket"), Policy.Builder.newInstance().build());
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(deletionQueue, never()).enqueue(anyString());
+    }
+
+    @Test
+    public void deprovision_completedOnceKeyDeleted() {
+        var deleted = new CompletableFuture<Void>();
+        doReturn(deleted).when(deletionQueue).enqueue("key1");
+
+        var result = provisioner.deprovision(provisionedResource("key1"), Policy.Builder.newInstance().build());
+
+        // Not reported while the key is waiting in the queue
+        assertFalse(result.isDone());
+
+        deleted.complete(null);
+
+        var status = result.join();
+        assertTrue(status.succeeded());
+        assertEquals("resource", status.getContent().getProvisionedResourceId());
+    }
+
+    @Test
+    public void deprovision_keyNotDeleted_retried() {
+        doReturn(CompletableFuture.failedFuture(new EdcException("Temporary key key1 not deleted after 3 attempts")))
+                .when(deletionQueue).enqueue("key1");
+
+        var status = provisioner.deprovision(provisionedResource("key1"), Policy.Builder.newInstance().build()).join();
+
+        assertTrue(status.failed());
+        assertEquals(ResponseStatus.ERROR_RETRY, status.getFailure().status());
+    }
+
+    private static IonosS3ResourceDefinition resourceDefinition(String bucketName) {
+        return IonosS3ResourceDefinition.Builder.newInstance()
+                .id("definition")
+                .transferProcessId("process")
+                .keyName("key-name")
+                .bucketName(bucketName)
+                .build();
+    }
+
+    private static S3AccessKey accessKey(String keyId) {
+        var properties = mock(S3AccessKey.Properties.class);
+        doReturn("access").when(properties).getAccessKey();
+        doReturn("secret").when(properties).getSecretKey();
+        var accessKey = mock(S3AccessKey.class);
+        doReturn(keyId).when(accessKey).getId();
+        doReturn(properties).when(accessKey).getProperties();
+        return accessKey;
+    }
+
+    private static IonosS3ProvisionedResource provisionedResource(String accessKeyId) {
+        return IonosS3ProvisionedResource.Builder.newInstance()
+                .id("resource")
+                .resourceName("resource")
+                .resourceDefinitionId("definition")
+                .transferProcessId("process")
+                .bucketName("bucket")
+                .accessKeyID(accessKeyId)
+                .build();
+    }
+}
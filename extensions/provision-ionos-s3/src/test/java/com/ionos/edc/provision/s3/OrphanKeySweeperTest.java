@@ -0,0 +1,208 @@
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import com.ionos.edc.provision.s3.resource.IonosS3ProvisionedResource;
+import org.eclipse.edc.connector.controlplane.transfer.spi.store.TransferProcessStore;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.DeprovisionedResource;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.ProvisionedResourceSet;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcess;
+import org.eclipse.edc.connector.controlplane.transfer.spi.types.TransferProcessStates;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.query.QuerySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class OrphanKeySweeperTest {
+
+    private static final String KEY_DESCRIPTION = "EDC IONOS S3 temporary key participant";
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+    private static final long MAX_AGE = 3600000;
+    private static final String OLD = "2024-06-01T10:00:00Z";
+    private static final String RECENT = "2024-06-01T11:30:00Z";
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private S3Connector s3Connector;
+    @Mock
+    private TransferProcessStore transferProcessStore;
+    @Mock
+    private TemporaryKeyPool keyPool;
+    @Mock
+    private AccessKeyDeletionQueue deletionQueue;
+
+    private OrphanKeySweeper sweeper;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        doReturn(Stream.empty()).when(transferProcessStore).findAll(any());
+
+        sweeper = sweeper(null);
+    }
+
+    @Test
+    public void sweep_deletesOldKeyOfThisConnector() {
+        doReturn(List.of(accessKey("key1", KEY_DESCRIPTION, OLD))).when(s3Connector).listAccessKeys();
+
+        sweeper.sweep();
+
+        verify(deletionQueue).enqueue("key1");
+    }
+
+    @Test
+    public void sweep_keepsKeysOfOtherConnectors() {
+        doReturn(List.of(
+                accessKey("key1", S3AccessKey.TEMPORARY_KEY_DESCRIPTION, OLD),
+                accessKey("key2", S3AccessKey.TEMPORARY_KEY_DESCRIPTION + " other", OLD),
+                accessKey("key3", "Manually created key", OLD)))
+                .when(s3Connector).listAccessKeys();
+
+        sweeper.sweep();
+
+        verify(deletionQueue, never()).enqueue(anyString());
+    }
+
+    @Test
+    public void sweep_keepsRecentKeys() {
+        doReturn(List.of(accessKey("key1", KEY_DESCRIPTION, RECENT), accessKey("key2", KEY_DESCRIPTION, null)))
+                .when(s3Connector).listAccessKeys();
+
+        sweeper.sweep();
+
+        verify(deletionQueue, never()).enqueue(anyString());
+    }
+
+    @Test
+    public void sweep_keepsPooledAndQueuedKeys() {
+        doReturn(List.of(accessKey("key1", KEY_DESCRIPTION, OLD), accessKey("key2", KEY_DESCRIPTION, OLD)))
+                .when(s3Connector).listAccessKeys();
+        doReturn(true).when(keyPool).contains("key1");
+        doReturn(true).when(deletionQueue).isQueued("key2");
+
+        sweeper.sweep();
+
+        verify(deletionQueue, never()).enqueue(anyString());
+    }
+
+    @Test
+    public void sweep_keepsKeysOfRunningTransfers() {
+        doReturn(List.of(accessKey("key1", KEY_DESCRIPTION, OLD), accessKey("key2", KEY_DESCRIPTION, OLD)))
+                .when(s3Connector).listAccessKeys();
+        var transferProcess = transferProcess(List.of(provisionedResource("resource1", "key1"), provisionedResource("resource2", "key2")),
+                List.of("resource2"));
+        doReturn(Stream.of(transferProcess)).when(transferProcessStore).findAll(any());
+
+        sweeper.sweep();
+
+        verify(deletionQueue, never()).enqueue("key1");
+        // Its resource was already deprovisioned
+        verify(deletionQueue).enqueue("key2");
+    }
+
+    @Test
+    public void sweep_queriesOnlyRunningTransfers() {
+        doReturn(List.of(accessKey("key1", KEY_DESCRIPTION, OLD))).when(s3Connector).listAccessKeys();
+
+        sweeper.sweep();
+
+        var query = ArgumentCaptor.forClass(QuerySpec.class);
+        verify(transferProcessStore).findAll(query.capture());
+        var criterion = query.getValue().getFilterExpression().get(0);
+        assertEquals("state", criterion.getOperandLeft());
+        assertEquals("in", criterion.getOperator());
+        var states = (List<?>) criterion.getOperandRight();
+        assertTrue(states.contains(TransferProcessStates.STARTED.code()));
+        assertTrue(states.contains(TransferProcessStates.TERMINATING.code()));
+        assertFalse(states.contains(TransferProcessStates.COMPLETED.code()));
+        assertFalse(states.contains(TransferProcessStates.TERMINATED.code()));
+        assertFalse(states.contains(TransferProcessStates.DEPROVISIONED.code()));
+    }
+
+    @Test
+    public void start_schedulesSweeps() {
+        doReturn(true).when(s3Connector).supportsAccessKeyListing();
+        var scheduler = mock(ScheduledExecutorService.class);
+
+        sweeper(scheduler).start();
+
+        verify(scheduler).scheduleWithFixedDelay(any(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void start_listingNotSupported_notScheduled() {
+        var scheduler = mock(ScheduledExecutorService.class);
+
+        sweeper(scheduler).start();
+
+        verify(scheduler, never()).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any());
+        verify(monitor).warning(contains("not supported"));
+    }
+
+    private OrphanKeySweeper sweeper(ScheduledExecutorService scheduler) {
+        return new OrphanKeySweeper(monitor, s3Connector, transferProcessStore, keyPool, deletionQueue, scheduler,
+                KEY_DESCRIPTION, 1000, MAX_AGE, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private S3AccessKey accessKey(String keyId, String description, String createdDate) {
+        var metadata = mock(S3AccessKey.Metadata.class);
+        doReturn(createdDate).when(metadata).getCreatedDate();
+        var properties = mock(S3AccessKey.Properties.class);
+        doReturn(description).when(properties).getDescription();
+
+        var accessKey = mock(S3AccessKey.class);
+        doReturn(keyId).when(accessKey).getId();
+        doReturn(metadata).when(accessKey).getMetadata();
+        doReturn(properties).when(accessKey).getProperties();
+        return accessKey;
+    }
+
+    private IonosS3ProvisionedResource provisionedResource(String resourceId, String keyId) {
+        var resource = mock(IonosS3ProvisionedResource.class);
+        doReturn(resourceId).when(resource).getId();
+        doReturn(keyId).when(resource).getAccessKeyID();
+        return resource;
+    }
+
+    private TransferProcess transferProcess(List<IonosS3ProvisionedResource> resources, List<String> deprovisionedResourceIds) {
+        var resourceSet = mock(ProvisionedResourceSet.class);
+        doReturn(resources).when(resourceSet).getResources();
+        var deprovisioned = deprovisionedResourceIds.stream()
+                .map(resourceId -> {
+                    var deprovisionedResource = mock(DeprovisionedResource.class);
+                    doReturn(resourceId).when(deprovisionedResource).getProvisionedResourceId();
+                    return deprovisionedResource;
+                })
+                .toList();
+
+        var transferProcess = mock(TransferProcess.class);
+        doReturn(resourceSet).when(transferProcess).getProvisionedResourceSet();
+        doReturn(deprovisioned).when(transferProcess).getDeprovisionedResources();
+        return transferProcess;
+    }
+}
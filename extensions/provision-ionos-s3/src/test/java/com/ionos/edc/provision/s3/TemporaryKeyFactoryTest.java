@@ -0,0 +1,134 @@
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.EdcException;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TemporaryKeyFactoryTest {
+
+    private static final String KEY_ID = "key1";
+    private static final String KEY_DESCRIPTION = "EDC IONOS S3 temporary key participant";
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private S3Connector s3Connector;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void create_pollsUntilAvailable() throws Exception {
+        var accessKey = accessKey("IN_PROGRESS");
+        doReturn(accessKey).when(s3Connector).createAccessKey(KEY_DESCRIPTION);
+        doReturn(accessKey("IN_PROGRESS"), accessKey("IN_PROGRESS"), accessKey(S3AccessKey.AVAILABLE_STATUS))
+                .when(s3Connector).retrieveAccessKey(KEY_ID);
+
+        var keyFactory = new TemporaryKeyFactory(monitor, s3Connector, scheduler, KEY_DESCRIPTION, 10, 300, Clock.systemUTC());
+
+        assertSame(accessKey, keyFactory.create().get(5, TimeUnit.SECONDS));
+        verify(s3Connector, times(3)).retrieveAccessKey(KEY_ID);
+    }
+
+    @Test
+    public void create_deletesKeyNotValidated() {
+        var accessKey = accessKey("IN_PROGRESS");
+        doReturn(accessKey).when(s3Connector).createAccessKey(KEY_DESCRIPTION);
+        doReturn(accessKey("IN_PROGRESS")).when(s3Connector).retrieveAccessKey(KEY_ID);
+
+        var keyFactory = new TemporaryKeyFactory(monitor, s3Connector, scheduler, KEY_DESCRIPTION, 2, 300, Clock.systemUTC());
+
+        var exception = assertThrows(ExecutionException.class, () -> keyFactory.create().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EdcException.class, exception.getCause());
+        verify(s3Connector).deleteAccessKey(KEY_ID);
+    }
+
+    @Test
+    public void shutdown_deletesKeyBeingValidated() throws Exception {
+        var accessKey = accessKey("IN_PROGRESS");
+        var created = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            created.countDown();
+            return accessKey;
+        }).when(s3Connector).createAccessKey(KEY_DESCRIPTION);
+
+        // The first poll waits for the default validation delay
+        var keyFactory = new TemporaryKeyFactory(monitor, s3Connector, scheduler, KEY_DESCRIPTION, 10, 60000, Clock.systemUTC());
+        var result = keyFactory.create();
+        assertTrue(created.await(5, TimeUnit.SECONDS));
+        // Waits for the scheduling of the first poll
+        scheduler.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        keyFactory.shutdown();
+
+        var exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EdcException.class, exception.getCause());
+        verify(s3Connector).deleteAccessKey(KEY_ID);
+        verify(s3Connector, never()).retrieveAccessKey(KEY_ID);
+    }
+
+    @Test
+    public void create_deletesKeyWhenSchedulerStopped() throws Exception {
+        var accessKey = accessKey("IN_PROGRESS");
+        var singleUse = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(singleUse).execute(any());
+        doThrow(new RejectedExecutionException()).when(singleUse).schedule(any(Runnable.class), anyLong(), any());
+        doReturn(accessKey).when(s3Connector).createAccessKey(KEY_DESCRIPTION);
+
+        var keyFactory = new TemporaryKeyFactory(monitor, s3Connector, singleUse, KEY_DESCRIPTION, 10, 300, Clock.systemUTC());
+
+        var exception = assertThrows(ExecutionException.class, () -> keyFactory.create().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EdcException.class, exception.getCause());
+        verify(s3Connector).deleteAccessKey(KEY_ID);
+    }
+
+    private S3AccessKey accessKey(String status) {
+        var metadata = mock(S3AccessKey.Metadata.class);
+        doReturn(status).when(metadata).getStatus();
+
+        var accessKey = mock(S3AccessKey.class);
+        doReturn(KEY_ID).when(accessKey).getId();
+        doReturn(metadata).when(accessKey).getMetadata();
+        return accessKey;
+    }
+}
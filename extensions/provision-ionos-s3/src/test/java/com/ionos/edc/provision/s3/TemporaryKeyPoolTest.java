@@ -0,0 +1,160 @@
+package com.ionos.edc.provision.s3;
+
+import com.ionos.edc.extension.s3.api.S3AccessKey;
+import com.ionos.edc.extension.s3.connector.S3Connector;
+import org.eclipse.edc.spi.monitor.Monitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TemporaryKeyPoolTest {
+
+    private static final long MAX_AGE = 1000;
+
+    @Mock
+    private Monitor monitor;
+    @Mock
+    private S3Connector s3Connector;
+    @Mock
+    private TemporaryKeyFactory keyFactory;
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private Clock clock;
+
+    private TemporaryKeyPool keyPool;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        doReturn(0L).when(clock).millis();
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(scheduler).execute(any());
+
+        keyPool = new TemporaryKeyPool(monitor, s3Connector, keyFactory, scheduler, 2, 100, MAX_AGE, clock);
+    }
+
+    @Test
+    public void refill_fillsUpToTargetSize() {
+        doReturn(CompletableFuture.completedFuture(accessKey("key1")), CompletableFuture.completedFuture(accessKey("key2")))
+                .when(keyFactory).create();
+
+        keyPool.refill();
+        keyPool.refill();
+        keyPool.refill();
+
+        assertEquals(2, keyPool.size());
+        verify(keyFactory, times(2)).create();
+    }
+
+    @Test
+    public void refill_countsKeysBeingValidated() {
+        doReturn(new CompletableFuture<S3AccessKey>()).when(keyFactory).create();
+
+        keyPool.refill();
+        keyPool.refill();
+        keyPool.refill();
+
+        assertEquals(0, keyPool.size());
+        verify(keyFactory, times(2)).create();
+    }
+
+    @Test
+    public void take_returnsOldestKey() {
+        var first = accessKey("key1");
+        doReturn(CompletableFuture.completedFuture(first), CompletableFuture.completedFuture(accessKey("key2")))
+                .when(keyFactory).create();
+        keyPool.refill();
+        keyPool.refill();
+
+        assertSame(first, keyPool.take().orElseThrow());
+        assertFalse(keyPool.contains("key1"));
+        assertTrue(keyPool.contains("key2"));
+    }
+
+    @Test
+    public void take_deletesExpiredKeys() {
+        doReturn(CompletableFuture.completedFuture(accessKey("key1"))).when(keyFactory).create();
+        keyPool.refill();
+
+        doReturn(MAX_AGE).when(clock).millis();
+
+        assertTrue(keyPool.take().isEmpty());
+        verify(s3Connector).deleteAccessKey("key1");
+    }
+
+    @Test
+    public void refill_deletesExpiredKeys() {
+        doReturn(CompletableFuture.completedFuture(accessKey("key1")), CompletableFuture.completedFuture(accessKey("key2")))
+                .when(keyFactory).create();
+        keyPool.refill();
+
+        doReturn(MAX_AGE).when(clock).millis();
+        keyPool.refill();
+
+        assertFalse(keyPool.contains("key1"));
+        assertTrue(keyPool.contains("key2"));
+        verify(s3Connector).deleteAccessKey("key1");
+    }
+
+    @Test
+    public void shutdown_deletesPooledKeys() {
+        doReturn(CompletableFuture.completedFuture(accessKey("key1")), CompletableFuture.completedFuture(accessKey("key2")))
+                .when(keyFactory).create();
+        keyPool.refill();
+        keyPool.refill();
+
+        keyPool.shutdown();
+
+        assertEquals(0, keyPool.size());
+        verify(s3Connector).deleteAccessKey("key1");
+        verify(s3Connector).deleteAccessKey("key2");
+    }
+
+    @Test
+    public void shutdown_deletesKeysValidatedAfterwards() {
+        var validation = new CompletableFuture<S3AccessKey>();
+        doReturn(validation).when(keyFactory).create();
+        keyPool.refill();
+
+        keyPool.shutdown();
+        validation.complete(accessKey("key1"));
+
+        assertEquals(0, keyPool.size());
+        verify(s3Connector).deleteAccessKey("key1");
+    }
+
+    @Test
+    public void refill_afterShutdown_createsNoKey() {
+        keyPool.shutdown();
+
+        keyPool.refill();
+
+        verify(keyFactory, never()).create();
+    }
+
+    private S3AccessKey accessKey(String keyId) {
+        var accessKey = mock(S3AccessKey.class);
+        doReturn(keyId).when(accessKey).getId();
+        return accessKey;
+    }
+}
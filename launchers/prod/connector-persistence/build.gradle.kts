@@ -44,6 +44,8 @@ dependencies {
     implementation("${edcGroup}:edr-index-sql:$edcVersion")
     implementation("${edcGroup}:policy-definition-store-sql:$edcVersion")
     implementation("${edcGroup}:transfer-process-store-sql:$edcVersion")
+
+    implementation(project(":extensions:checkpoint-store-sql-ionos-s3"))
 }
 
 application {
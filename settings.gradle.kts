@@ -25,6 +25,7 @@ dependencyResolutionManagement {
 include(":extensions:data-plane-ionos-s3")
 include(":extensions:provision-ionos-s3")
 include(":extensions:core-ionos-s3")
+include(":extensions:checkpoint-store-sql-ionos-s3")
 
 include(":launchers:base:connector")
 include(":launchers:dev:connector-consumer")